@@ -0,0 +1,172 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * This class creates the reproducible game fields and fleets the benchmarks 
+ * operate on. All the randomness is driven by the seeds passed in.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+final class BenchmarkData {
+    
+    /**
+     * The number of random placements of a ship to try before giving up on
+     * the fleet.
+     */
+    private static final int MAXIMUM_SHIP_PLACEMENT_ATTEMPTS = 10_000;
+    
+    private BenchmarkData() {
+        
+    }
+    
+    /**
+     * Parses a dash separated list of ship lengths such as 
+     * {@code "2-3-3-4-5"}. Commas are not used, since JMH splits the values 
+     * of the {@code -p} option at commas.
+     * 
+     * @param fleet the textual fleet.
+     * 
+     * @return the ship lengths.
+     */
+    static int[] parseFleet(String fleet) {
+        String[] tokens = fleet.split("-");
+        int[] lengths = new int[tokens.length];
+        
+        for (int i = 0; i < tokens.length; i++) {
+            lengths[i] = Integer.parseInt(tokens[i].trim());
+        }
+        
+        return lengths;
+    }
+    
+    /**
+     * Creates a game field with a randomly placed fleet and {@code shots} 
+     * random shots that do not hit any ship.
+     * 
+     * @param width   the width of the game field.
+     * @param height  the height of the game field.
+     * @param lengths the lengths of the ships.
+     * @param shots   the number of missed shots.
+     * @param random  the random number generator.
+     * 
+     * @return the game field.
+     */
+    static GameField createGameField(int width, 
+                                     int height, 
+                                     int[] lengths, 
+                                     int shots,
+                                     Random random) {
+        
+        GameField gameField = new GameField(width, height);
+        
+        for (Ship ship : createFleet(width, height, lengths, random)) {
+            gameField.addShip(ship);
+        }
+        
+        for (int i = 0; i < shots; i++) {
+            int x = random.nextInt(width);
+            int y = random.nextInt(height);
+            
+            if (gameField.getShipAt(x, y) == null) {
+                gameField.shoot(x, y);
+            }
+        }
+        
+        return gameField;
+    }
+    
+    /**
+     * Creates a fleet of non-overlapping ships placed randomly on the game 
+     * field of size {@code width x height}.
+     * 
+     * @param width   the width of the game field.
+     * @param height  the height of the game field.
+     * @param lengths the lengths of the ships.
+     * @param random  the random number generator.
+     * 
+     * @return the fleet.
+     * 
+     * @throws IllegalArgumentException if some ship finds no free placement.
+     */
+    static List<Ship> createFleet(int width, 
+                                  int height, 
+                                  int[] lengths, 
+                                  Random random) {
+        
+        List<Ship> fleet = new ArrayList<>(lengths.length);
+        
+        for (int length : lengths) {
+            Ship ship = createShip(width, height, length, random);
+            int attempts = 1;
+            
+            while (ship.overlapsAny(fleet)) {
+                if (attempts++ == MAXIMUM_SHIP_PLACEMENT_ATTEMPTS) {
+                    throw new IllegalArgumentException(
+                            "Could not place a ship of length "
+                                    + length
+                                    + " on a game field of size "
+                                    + width
+                                    + " x "
+                                    + height
+                                    + ".");
+                }
+                
+                ship = createShip(width, height, length, random);
+            }
+            
+            fleet.add(ship);
+        }
+        
+        return fleet;
+    }
+    
+    /**
+     * Creates a ship placed randomly on the game field of size 
+     * {@code width x height}. The orientation is drawn among the ones the 
+     * ship fits in.
+     * 
+     * @param width  the width of the game field.
+     * @param height the height of the game field.
+     * @param length the length of the ship.
+     * @param random the random number generator.
+     * 
+     * @return the ship.
+     * 
+     * @throws IllegalArgumentException if the ship fits in no orientation.
+     */
+    static Ship createShip(int width, int height, int length, Random random) {
+        if (length > Math.max(width, height)) {
+            throw new IllegalArgumentException(
+                    "A ship of length "
+                            + length
+                            + " does not fit on a game field of size "
+                            + width
+                            + " x "
+                            + height
+                            + ".");
+        }
+        
+        boolean horizontal = length <= width;
+        
+        if (horizontal && length <= height) {
+            horizontal = random.nextBoolean();
+        }
+        
+        if (horizontal) {
+            Ship ship = new Ship(length, Ship.Orientation.HORIZONTAL);
+            ship.setLocation(random.nextInt(width - length + 1),
+                             random.nextInt(height));
+            return ship;
+        }
+        
+        Ship ship = new Ship(length, Ship.Orientation.VERTICAL);
+        ship.setLocation(random.nextInt(width),
+                         random.nextInt(height - length + 1));
+        return ship;
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.coderodde.game.ai.battleship;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This class runs the JMH benchmarks. It accepts the usual JMH command line
+ * options and always attaches the GC profiler so that the allocation rates
+ * are reported next to the timings.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class BenchmarkRunner {
+    
+    public static void main(String[] args) 
+            throws CommandLineOptionException, RunnerException {
+        
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        
+        new Runner(options).run();
+    }
+}
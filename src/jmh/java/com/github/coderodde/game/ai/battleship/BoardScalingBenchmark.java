@@ -0,0 +1,82 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks how the cost of a single move grows with the game 
+ * field area and the fleet size. The game fields of size 15x15 and up span 
+ * four or more bitboard words. {@link BenchmarkRunner} attaches the GC 
+ * profiler, so the allocated memory per move is reported next to the time.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BoardScalingBenchmark {
+    
+    /**
+     * The number of samples the Monte Carlo bot draws per move.
+     */
+    private static final long SAMPLE_BUDGET = 10_000L;
+    
+    @Param({ "10", "15", "20" })
+    private int size;
+    
+    @Param({ "2-3", "2-2-3" })
+    private String fleet;
+    
+    /**
+     * The percentage of the cells missed before the measured move.
+     */
+    @Param({ "25" })
+    private int shotPercentage;
+    
+    @Param({ "13" })
+    private long seed;
+    
+    private GameField gameField;
+    
+    @Setup
+    public void setup() {
+        gameField = BenchmarkData.createGameField(
+                size, 
+                size, 
+                BenchmarkData.parseFleet(fleet),
+                size * size * shotPercentage / 100,
+                new Random(seed));
+    }
+    
+    @Benchmark
+    public MatrixCoordinates bruteforceMove() {
+        return new BruteforceBattleshipAIBot(gameField, 0)
+                .computeNextShotLocation();
+    }
+    
+    @Benchmark
+    public MatrixCoordinates monteCarloMove() {
+        return new MonteCarloBattleshipAIBot(gameField, 
+                                             SAMPLE_BUDGET, 
+                                             1, 
+                                             new SplittableRandom(seed))
+                .computeNextShotLocation();
+    }
+}
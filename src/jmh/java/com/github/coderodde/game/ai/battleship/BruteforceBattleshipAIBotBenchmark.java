@@ -0,0 +1,61 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks the shot computation of 
+ * {@link BruteforceBattleshipAIBot} on several game field sizes and fleets.
+ * A fresh bot is created on each invocation, so that the frequency counter 
+ * matrix is always counted from scratch.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BruteforceBattleshipAIBotBenchmark {
+    
+    @Param({ "6", "8", "10" })
+    private int size;
+    
+    @Param({ "2-3", "2-3-3", "3-4-5" })
+    private String fleet;
+    
+    @Param({ "13" })
+    private long seed;
+    
+    private GameField gameField;
+    
+    @Setup
+    public void setup() {
+        gameField = BenchmarkData.createGameField(
+                size, 
+                size, 
+                BenchmarkData.parseFleet(fleet),
+                size,
+                new Random(seed));
+    }
+    
+    @Benchmark
+    public MatrixCoordinates computeNextShotLocation() {
+        return new BruteforceBattleshipAIBot(gameField, 0)
+                .computeNextShotLocation();
+    }
+}
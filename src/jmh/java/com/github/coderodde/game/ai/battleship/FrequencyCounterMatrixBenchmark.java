@@ -0,0 +1,61 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class benchmarks {@link FrequencyCounterMatrix#incrementFleet(List)},
+ * the call made once per counted fleet arrangement.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrequencyCounterMatrixBenchmark {
+    
+    @Param({ "10" })
+    private int size;
+    
+    @Param({ "2-3-3-4-5" })
+    private String fleet;
+    
+    @Param({ "13" })
+    private long seed;
+    
+    private FrequencyCounterMatrix frequencyCounterMatrix;
+    
+    private List<Ship> ships;
+    
+    @Setup
+    public void setup() {
+        frequencyCounterMatrix = new FrequencyCounterMatrix(size, size);
+        ships = BenchmarkData.createFleet(size, 
+                                          size, 
+                                          BenchmarkData.parseFleet(fleet), 
+                                          new Random(seed));
+    }
+    
+    @Benchmark
+    public FrequencyCounterMatrix incrementFleet() {
+        frequencyCounterMatrix.incrementFleet(ships);
+        return frequencyCounterMatrix;
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This class benchmarks {@link GameField#shipOccupiesClosedCell(Ship)} over 
+ * all the placements of a ship on a partially shot game field.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameFieldBenchmark {
+    
+    @Param({ "10" })
+    private int size;
+    
+    @Param({ "3" })
+    private int length;
+    
+    @Param({ "20" })
+    private int shots;
+    
+    @Param({ "13" })
+    private long seed;
+    
+    private GameField gameField;
+    
+    private Ship ship;
+    
+    @Setup
+    public void setup() {
+        gameField = BenchmarkData.createGameField(size, 
+                                                  size, 
+                                                  new int[]{ 2, 3 }, 
+                                                  shots, 
+                                                  new Random(seed));
+        
+        ship = new Ship(length, Ship.Orientation.HORIZONTAL);
+    }
+    
+    @Benchmark
+    public void shipOccupiesClosedCell(Blackhole blackhole) {
+        ship.setOrientation(Ship.Orientation.HORIZONTAL);
+        
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x <= size - length; x++) {
+                ship.setLocation(x, y);
+                blackhole.consume(gameField.shipOccupiesClosedCell(ship));
+            }
+        }
+        
+        ship.setOrientation(Ship.Orientation.VERTICAL);
+        
+        for (int y = 0; y <= size - length; y++) {
+            for (int x = 0; x < size; x++) {
+                ship.setLocation(x, y);
+                blackhole.consume(gameField.shipOccupiesClosedCell(ship));
+            }
+        }
+    }
+}
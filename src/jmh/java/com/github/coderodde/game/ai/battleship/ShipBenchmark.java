@@ -0,0 +1,112 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This class benchmarks the ship overlap tests. Each invocation tests a whole
+ * array of random ships, so that the branch predictor cannot learn a single 
+ * outcome. The {@code occupiedCells} benchmark tests the same probes against 
+ * the union mask of the fleet, as the search does.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShipBenchmark {
+    
+    private static final int PROBES = 256;
+    
+    @Param({ "10" })
+    private int size;
+    
+    @Param({ "2-3-3-4" })
+    private String fleet;
+    
+    @Param({ "13" })
+    private long seed;
+    
+    private Ship[] probes;
+    
+    private List<Ship> ships;
+    
+    private long[][] probeMasks;
+    
+    private long[] occupiedCells;
+    
+    @Setup
+    public void setup() {
+        Random random = new Random(seed);
+        
+        ships = BenchmarkData.createFleet(size, 
+                                          size, 
+                                          BenchmarkData.parseFleet(fleet), 
+                                          random);
+        
+        probes = new Ship[PROBES];
+        
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = BenchmarkData.createShip(size, 
+                                                 size, 
+                                                 1 + random.nextInt(5), 
+                                                 random);
+        }
+        
+        probeMasks = new long[PROBES][];
+        occupiedCells = BitBoard.create(size, size);
+        
+        for (int i = 0; i < PROBES; i++) {
+            probeMasks[i] = BitBoard.create(size, size);
+            BitBoard.loadShipMask(probes[i], size, probeMasks[i]);
+        }
+        
+        long[] shipMask = BitBoard.create(size, size);
+        
+        for (Ship ship : ships) {
+            BitBoard.loadShipMask(ship, size, shipMask);
+            BitBoard.or(occupiedCells, shipMask, occupiedCells);
+        }
+    }
+    
+    @Benchmark
+    public void overlap(Blackhole blackhole) {
+        Ship ship = ships.get(0);
+        
+        for (Ship probe : probes) {
+            blackhole.consume(probe.overlap(ship));
+        }
+    }
+    
+    @Benchmark
+    public void overlapsAny(Blackhole blackhole) {
+        for (Ship probe : probes) {
+            blackhole.consume(probe.overlapsAny(ships));
+        }
+    }
+    
+    @Benchmark
+    public void occupiedCells(Blackhole blackhole) {
+        for (long[] probeMask : probeMasks) {
+            blackhole.consume(BitBoard.intersects(probeMask, occupiedCells));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class compares the static ship ordering of {@link FleetEnumerator} 
+ * with the dynamic most-constrained-first ordering. Next to the time, the 
+ * number of search nodes visited per search is reported as the secondary 
+ * result {@code nodes}. The fleets are the ones of {@link Demo} and of the 
+ * unit tests.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ShipOrderingBenchmark {
+    
+    /**
+     * Reports the node count of the latest search in each iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SearchCounts {
+        
+        public long nodes;
+        
+        @Setup(Level.Iteration)
+        public void clear() {
+            nodes = 0L;
+        }
+    }
+    
+    @Param({ "6", "8" })
+    private int size;
+    
+    @Param({ "2-3", "2-3-3", "3-3-4-5" })
+    private String fleet;
+    
+    @Param({ "static", "dynamic" })
+    private String ordering;
+    
+    @Param({ "13" })
+    private long seed;
+    
+    private GameField gameField;
+    
+    @Setup
+    public void setup() {
+        gameField = BenchmarkData.createGameField(
+                size, 
+                size, 
+                BenchmarkData.parseFleet(fleet),
+                size,
+                new Random(seed));
+        
+        gameField.getSearchFleet().sort(Ship::compareTo);
+    }
+    
+    @Benchmark
+    public FrequencyCounterMatrix enumerate(SearchCounts searchCounts) {
+        FleetEnumerator enumerator = 
+                new FleetEnumerator(
+                        gameField, 
+                        PlacementTable.of(gameField), 
+                        FleetEnumerator.copyFleet(gameField.getSearchFleet()), 
+                        new FrequencyCounterMatrix(size, size));
+        
+        enumerator.setDynamicShipOrdering(ordering.equals("dynamic"));
+        enumerator.enumerate(0);
+        
+        SearchStatistics searchStatistics = new SearchStatistics();
+        enumerator.addSearchCountsTo(searchStatistics);
+        
+        // Each search visits the same nodes, so keep the last count:
+        searchCounts.nodes = searchStatistics.getNodes();
+
+        return enumerator.getFrequencyCounterMatrix();
+    }
+}
@@ -1,5 +1,7 @@
 package com.github.coderodde.game.ai.battleship;
 
+import java.time.Duration;
+
 /**
  * This class defines the interface for the Battleship game AI bots.
  * 
@@ -16,6 +18,20 @@ public interface BattleshipAIBot {
      */
     public MatrixCoordinates computeNextShotLocation();
     
+    /**
+     * Computes the most probable shot location within the time budget. If the
+     * budget expires before the search completes, the best shot found so far
+     * is returned. The default implementation does not support interrupting 
+     * the search and always reports a complete search.
+     * 
+     * @param timeBudget the time budget of the computation.
+     * 
+     * @return the shot result.
+     */
+    public default ShotResult computeNextShotLocation(Duration timeBudget) {
+        return new ShotResult(computeNextShotLocation(), true);
+    }
+    
     /**
      * Performs a shot.
      * 
@@ -0,0 +1,257 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.Arrays;
+
+/**
+ * This class provides the static methods for operating on bitboards. A
+ * bitboard is a {@code long} array in which the bit number
+ * {@code y * width + x} is set if and only if the cell {@code (x, y)} belongs
+ * to the set represented by the bitboard. The default 10x10 game field fits
+ * into two {@code long}s, and a game field of any size fits into 
+ * {@code ceil(width * height / 64)} of them. A ship covers at most 
+ * {@code length} consecutive words, so the operations on ship masks may be 
+ * restricted to that word range.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class BitBoard {
+    
+    /**
+     * The number of bits in a bitboard word.
+     */
+    private static final int BITS_PER_WORD = Long.SIZE;
+    
+    /**
+     * The binary logarithm of {@link #BITS_PER_WORD}.
+     */
+    private static final int WORD_INDEX_SHIFT = 6;
+    
+    private BitBoard() {
+        
+    }
+    
+    /**
+     * Returns the number of {@code long} words needed to represent
+     * {@code cells} cells.
+     * 
+     * @param cells the number of cells.
+     * 
+     * @return the number of words.
+     */
+    public static int words(int cells) {
+        return (cells + BITS_PER_WORD - 1) >>> WORD_INDEX_SHIFT;
+    }
+    
+    /**
+     * Returns the index of the word holding the bit of the cell 
+     * {@code cellIndex}.
+     * 
+     * @param cellIndex the index of the cell.
+     * 
+     * @return the word index.
+     */
+    public static int getWordIndex(int cellIndex) {
+        return cellIndex >>> WORD_INDEX_SHIFT;
+    }
+    
+    /**
+     * Creates an empty bitboard for the game field of size
+     * {@code width x height}.
+     * 
+     * @param width  the width of the game field.
+     * @param height the height of the game field.
+     * 
+     * @return an empty bitboard.
+     */
+    public static long[] create(int width, int height) {
+        return new long[words(width * height)];
+    }
+    
+    /**
+     * Sets the bit of the cell with the index {@code cellIndex}.
+     * 
+     * @param bitBoard  the target bitboard.
+     * @param cellIndex the index of the cell.
+     */
+    public static void set(long[] bitBoard, int cellIndex) {
+        bitBoard[cellIndex >>> WORD_INDEX_SHIFT] |= 1L << cellIndex;
+    }
+    
+    /**
+     * Clears the bit of the cell with the index {@code cellIndex}.
+     * 
+     * @param bitBoard  the target bitboard.
+     * @param cellIndex the index of the cell.
+     */
+    public static void clear(long[] bitBoard, int cellIndex) {
+        bitBoard[cellIndex >>> WORD_INDEX_SHIFT] &= ~(1L << cellIndex);
+    }
+    
+    /**
+     * Checks whether the bit of the cell with the index {@code cellIndex} is
+     * set.
+     * 
+     * @param bitBoard  the bitboard to query.
+     * @param cellIndex the index of the cell.
+     * 
+     * @return {@code true} only if the bit is set.
+     */
+    public static boolean get(long[] bitBoard, int cellIndex) {
+        return (bitBoard[cellIndex >>> WORD_INDEX_SHIFT]
+                & (1L << cellIndex)) != 0L;
+    }
+    
+    /**
+     * Checks whether the two input bitboards have a common cell.
+     * 
+     * @param bitBoard1 the first bitboard.
+     * @param bitBoard2 the second bitboard.
+     * 
+     * @return {@code true} only if the two bitboards intersect.
+     */
+    public static boolean intersects(long[] bitBoard1, long[] bitBoard2) {
+        for (int i = 0; i < bitBoard1.length; i++) {
+            if ((bitBoard1[i] & bitBoard2[i]) != 0L) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Checks whether the two input bitboards have a common cell within the 
+     * words {@code fromWord, ..., toWord - 1}.
+     * 
+     * @param bitBoard1 the first bitboard.
+     * @param bitBoard2 the second bitboard.
+     * @param fromWord  the index of the first word to check.
+     * @param toWord    the index one past the last word to check.
+     * 
+     * @return {@code true} only if the two bitboards intersect within the 
+     *         word range.
+     */
+    public static boolean intersects(long[] bitBoard1, 
+                                     long[] bitBoard2, 
+                                     int fromWord, 
+                                     int toWord) {
+        for (int i = fromWord; i < toWord; i++) {
+            if ((bitBoard1[i] & bitBoard2[i]) != 0L) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Checks whether all the cells of {@code subset} are set in
+     * {@code bitBoard}.
+     * 
+     * @param bitBoard the bitboard to check against.
+     * @param subset   the candidate subset.
+     * 
+     * @return {@code true} only if {@code subset} is a subset of
+     *         {@code bitBoard}.
+     */
+    public static boolean containsAll(long[] bitBoard, long[] subset) {
+        for (int i = 0; i < bitBoard.length; i++) {
+            if ((subset[i] & ~bitBoard[i]) != 0L) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Stores the union of {@code bitBoard1} and {@code bitBoard2} to
+     * {@code target}.
+     * 
+     * @param bitBoard1 the first bitboard.
+     * @param bitBoard2 the second bitboard.
+     * @param target    the target bitboard.
+     */
+    public static void or(long[] bitBoard1, long[] bitBoard2, long[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = bitBoard1[i] | bitBoard2[i];
+        }
+    }
+    
+    /**
+     * Adds the cells of {@code source} within the words 
+     * {@code fromWord, ..., toWord - 1} to {@code target}.
+     * 
+     * @param source   the bitboard to add.
+     * @param target   the target bitboard.
+     * @param fromWord the index of the first word to add.
+     * @param toWord   the index one past the last word to add.
+     */
+    public static void or(long[] source, 
+                          long[] target, 
+                          int fromWord, 
+                          int toWord) {
+        for (int i = fromWord; i < toWord; i++) {
+            target[i] |= source[i];
+        }
+    }
+    
+    /**
+     * Returns the number of set cells in the input bitboard.
+     * 
+     * @param bitBoard the bitboard to query.
+     * 
+     * @return the number of set cells.
+     */
+    public static int cardinality(long[] bitBoard) {
+        int cardinality = 0;
+        
+        for (long word : bitBoard) {
+            cardinality += Long.bitCount(word);
+        }
+        
+        return cardinality;
+    }
+    
+    /**
+     * Returns the number of cells that are set in {@code bitBoard} but not in
+     * {@code excluded}.
+     * 
+     * @param bitBoard the bitboard to query.
+     * @param excluded the cells not to count.
+     * 
+     * @return the number of set cells outside of {@code excluded}.
+     */
+    public static int cardinalityAndNot(long[] bitBoard, long[] excluded) {
+        int cardinality = 0;
+        
+        for (int i = 0; i < bitBoard.length; i++) {
+            cardinality += Long.bitCount(bitBoard[i] & ~excluded[i]);
+        }
+        
+        return cardinality;
+    }
+    
+    /**
+     * Loads the cells occupied by {@code ship} to the bitboard
+     * {@code target}. All the previous content of {@code target} is erased.
+     * 
+     * @param ship   the ship whose cells to load.
+     * @param width  the width of the game field.
+     * @param target the target bitboard.
+     */
+    public static void loadShipMask(Ship ship, int width, long[] target) {
+        Arrays.fill(target, 0L);
+        
+        int cellIndex = ship.getY() * width + ship.getX();
+        int step = ship.getOrientation() == Ship.Orientation.HORIZONTAL ?
+                1 :
+                width;
+        
+        for (int i = 0; i < ship.getLength(); i++, cellIndex += step) {
+            set(target, cellIndex);
+        }
+    }
+}
@@ -1,16 +1,20 @@
 package com.github.coderodde.game.ai.battleship;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * This class implements the brute-force Battleship. When requested for a shot
  * position, it arranges all the remaining ships into all possible arrangements
  * and returns the point that is the most covered.
- *
+ * 
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Aug 21, 2023)
  * @since 1.6 (Aug 21, 2023)
  */
 public class BruteforceBattleshipAIBot implements BattleshipAIBot {
-
+    
     /**
      * The game field containing the opponents fleet.
      */
@@ -21,6 +25,74 @@ public class BruteforceBattleshipAIBot implements BattleshipAIBot {
      */
     private final FrequencyCounterMatrix frequencyCounterMatrix;
     
+    /**
+     * The shared table of all the ship placements on the game field.
+     */
+    private final PlacementTable placementTable;
+    
+    /**
+     * The fork/join pool running the parallel search. If {@code null}, the
+     * search is sequential.
+     */
+    private final ForkJoinPool forkJoinPool;
+    
+    /**
+     * The transposition table for the memoized counting. If {@code null}, the
+     * arrangements are enumerated one by one.
+     */
+    private TranspositionTable transpositionTable;
+    
+    /**
+     * The opening book consulted before searching, or {@code null} if none.
+     */
+    private OpeningBook openingBook;
+    
+    /**
+     * The cache of the counted states shared by the bots, or {@code null} if
+     * none.
+     */
+    private ShotCache shotCache;
+    
+    /**
+     * The standing hit cells of the state looked up in the shot cache.
+     */
+    private final long[] shotCacheHitCells;
+    
+    /**
+     * The statistics of the searches made by this bot.
+     */
+    private SearchStatistics searchStatistics = new SearchStatistics();
+    
+    /**
+     * Indicates whether the hits are treated as cells the arrangements must
+     * cover. If so, the bot never hands off to a focused bot.
+     */
+    private boolean hitConstrainedSearch;
+    
+    /**
+     * Indicates whether to count the arrangements by the profile dynamic 
+     * programming instead of enumerating them.
+     */
+    private boolean profileCounting;
+    
+    /**
+     * The shot cells the frequency counter matrix was counted for, or 
+     * {@code null} if the matrix is not up to date.
+     */
+    private long[] countedShotCells;
+    
+    /**
+     * The size of the search fleet the frequency counter matrix was counted 
+     * for.
+     */
+    private int countedFleetSize;
+    
+    /**
+     * Indicates whether the frequency counter matrix was counted under a 
+     * deadline.
+     */
+    private boolean countedWithDeadline;
+    
     /**
      * If this bot is focused on an ongoing ship, this field refers to the bot
      * that is localized to shoot in a neighbourhood.
@@ -50,27 +122,100 @@ public class BruteforceBattleshipAIBot implements BattleshipAIBot {
      * @param randomShots the number of random shots.
      */
     public BruteforceBattleshipAIBot(GameField gameField, int randomShots) {
+        this(gameField, randomShots, null);
+    }
+    
+    /**
+     * Constructs this AI bot. The arrangements are enumerated in parallel in
+     * {@code forkJoinPool} by splitting the search at the placements of the 
+     * first ships. The resulting frequency counts are identical to the 
+     * sequential ones.
+     * 
+     * @param gameField    the game field.
+     * @param randomShots  the number of random shots.
+     * @param forkJoinPool the pool for the parallel search, or {@code null} 
+     *                     for the sequential search.
+     */
+    public BruteforceBattleshipAIBot(GameField gameField, 
+                                     int randomShots,
+                                     ForkJoinPool forkJoinPool) {
         this.gameField = gameField;
+        this.forkJoinPool = forkJoinPool;
         this.frequencyCounterMatrix =
                 new FrequencyCounterMatrix(
                         gameField.getWidth(),
                         gameField.getHeight());
         
+        this.placementTable = PlacementTable.of(gameField);
+        this.shotCacheHitCells = 
+                BitBoard.create(gameField.getWidth(), gameField.getHeight());
+        
         this.randomBot = new RandomBattleshipAIBot(gameField);
         this.randomShots = randomShots;
     }
-
+    
+    /**
+     * Sets the opening book to consult before searching. If the current 
+     * position is in the book, the frequency counter matrix is loaded from 
+     * the book instead of being counted.
+     * 
+     * @param openingBook the opening book, or {@code null} for none.
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+    
+    /**
+     * Sets the cache of the counted states to consult before searching. The
+     * cache may be shared by the bots of many concurrent games on the same
+     * game field size with the same fleet. Each completely counted state is 
+     * stored in the cache.
+     * 
+     * @param shotCache the cache, or {@code null} for none.
+     */
+    public void setShotCache(ShotCache shotCache) {
+        this.shotCache = shotCache;
+    }
+    
+    /**
+     * Sets whether to search the arrangements constrained by the hits. In the
+     * constrained search, a missed cell must stay empty and a hit cell must be
+     * covered by a ship, so the same exact enumeration both hunts for new 
+     * ships and finishes the ships already hit. In the unconstrained search,
+     * all the shot cells are treated as empty and a hit hands the shooting 
+     * over to a focused bot.
+     * <p>
+     * The transposition table is not used while there are hits to cover.
+     * 
+     * @param hitConstrainedSearch whether to search the arrangements 
+     *                             constrained by the hits.
+     */
+    public void setHitConstrainedSearch(boolean hitConstrainedSearch) {
+        this.hitConstrainedSearch = hitConstrainedSearch;
+        this.countedShotCells = null;
+    }
+    
     /**
      * {@inheritDoc } 
      */
     @Override
     public void shoot(MatrixCoordinates matrixCoordinate) {
+        shoot(gameField.getCellIndex(matrixCoordinate));
+    }
+    
+    /**
+     * Shoots the cell with the index {@code cellIndex}. This is the 
+     * allocation-free counterpart of {@link #shoot(MatrixCoordinates)}.
+     * 
+     * @param cellIndex the index {@code y * width + x} of the cell to shoot.
+     */
+    public void shoot(int cellIndex) {
         // Are we focused on a particular ship?
         if (focusedBot != null) {
             // ... yes, we are.
             try {
                 // Let the focused bot shoot.
-                focusedBot.shoot(matrixCoordinate);
+                focusedBot.shoot(cellIndex);
             } catch (FocusedFleetDestroyedException ex) {
                 // Focused ship/fleet is destroyed.
                 focusedBot = null;
@@ -93,11 +238,42 @@ public class BruteforceBattleshipAIBot implements BattleshipAIBot {
             
         }
         
-        gameField.shoot(matrixCoordinate.x,
-                        matrixCoordinate.y);
+        boolean updateIncrementally = 
+                canUpdateIncrementally() &&
+                countsAreCurrent() && 
+                gameField.getShipAt(cellIndex) == null;
         
-        Ship ship = gameField.getShipAt(matrixCoordinate.x,
-                                        matrixCoordinate.y);
+        if (updateIncrementally) {
+            // A miss removes exactly the arrangements covering the shot cell.
+            // Subtract them instead of counting everything from scratch on the
+            // next shot:
+            FrequencyCounterMatrix coveringCounts = 
+                    new FrequencyCounterMatrix(gameField.getWidth(), 
+                                               gameField.getHeight());
+            
+            FleetEnumerator.enumerateCovering(gameField, 
+                                              placementTable, 
+                                              gameField.getSearchFleet(), 
+                                              cellIndex, 
+                                              hitConstrainedSearch,
+                                              coveringCounts,
+                                              searchStatistics);
+            
+            searchStatistics.recordIncrementalUpdate();
+            frequencyCounterMatrix.subtract(coveringCounts);
+            frequencyCounterMatrix.clear(gameField.getShotCells());
+        } else {
+            // The counts go stale with this shot, count anew on the next one:
+            countedShotCells = null;
+        }
+        
+        gameField.shoot(cellIndex);
+        
+        if (updateIncrementally) {
+            BitBoard.set(countedShotCells, cellIndex);
+        }
+        
+        Ship ship = gameField.getShipAt(cellIndex);
         
         if (ship == null) {
             // The previous shot was a miss, do nothing:
@@ -113,12 +289,12 @@ public class BruteforceBattleshipAIBot implements BattleshipAIBot {
                 // 'ship' was the last ship standing, game is over:
                 throw new OpponentFleetDestroyedException();
             }
-        } else {
+        } else if (!hitConstrainedSearch) {
             // Once here, we have a hit, yet the ship was not fully destroyed,
             // focus on it:
             focusedBot = new FocusedBattleshipAIBotOld(ship,
-                                                    matrixCoordinate, 
-                                                    gameField);
+                                                       cellIndex, 
+                                                       gameField);
         }
     }
     
@@ -129,30 +305,309 @@ public class BruteforceBattleshipAIBot implements BattleshipAIBot {
      */
     @Override
     public MatrixCoordinates computeNextShotLocation() {
+        return gameField.getMatrixCoordinates(computeNextShotCellIndex());
+    }
+    
+    /**
+     * Computes the index {@code y * width + x} of the cell of the next shot.
+     * This is the allocation-free counterpart of 
+     * {@link #computeNextShotLocation()}.
+     * 
+     * @return the cell index of the next shot.
+     */
+    public int computeNextShotCellIndex() {
+        long startNanos = System.nanoTime();
+        countArrangements(false, 0L);
+        int cellIndex = frequencyCounterMatrix.getMaximumCellIndex();
+        searchStatistics.recordSearch(System.nanoTime() - startNanos);
+        return cellIndex;
+    }
+    
+    /**
+     * Computes the next shot position within the time budget. If the budget 
+     * expires, returns the most covered cell among the arrangements counted 
+     * so far. If no arrangement was counted, falls back to a cheap heuristic
+     * that ignores the interaction between the ships.
+     * 
+     * @param timeBudget the time budget of the computation.
+     * 
+     * @return the shot result.
+     */
+    @Override
+    public ShotResult computeNextShotLocation(Duration timeBudget) {
+        long startNanos = System.nanoTime();
+        boolean complete = 
+                countArrangements(true, startNanos + timeBudget.toNanos());
+        
+        int cellIndex = 
+                frequencyCounterMatrix.getMaximumCount() <= 0 ?
+                DensityHeuristic.computeShotCellIndex(gameField, 
+                                                      placementTable) :
+                frequencyCounterMatrix.getMaximumCellIndex();
+        
+        searchStatistics.recordSearch(System.nanoTime() - startNanos);
+        return new ShotResult(gameField.getMatrixCoordinates(cellIndex),
+                              complete);
+    }
+    
+    /**
+     * Counts the arrangements of the search fleet to the frequency counter 
+     * matrix.
+     * 
+     * @param hasDeadline   whether the counting is bounded by a deadline.
+     * @param deadlineNanos the deadline in terms of {@link System#nanoTime()}.
+     * 
+     * @return {@code true} only if the counting completed.
+     */
+    private boolean countArrangements(boolean hasDeadline, long deadlineNanos) {
         if (gameField.getSearchFleet().isEmpty()) {
             throw new IllegalStateException(
                     "The client programmer should have caught the " + 
                             "OpponentFleetDestroyedException by now.");
         }
         
+        if (countsAreCurrent()) {
+            // The counts were updated incrementally after the latest miss:
+            storeInShotCache();
+            return true;
+        }
+        
         // Reset all the entries of the frequency counter matrix to zero:
         frequencyCounterMatrix.clear();
+        countedShotCells = null;
+        countedWithDeadline = hasDeadline;
         
-        // Sort the ships. Longest ship comes first.
+        // Sort the ships by length so that the equal length ships are 
+        // adjacent. The enumeration chooses the placing order dynamically.
         gameField.getSearchFleet().sort(Ship::compareTo);
         
-        // Set each search ship to its starting location (0, 0):
-        for (Ship s : gameField.getSearchFleet()) {
-            s.setLocation(0, 0);
+        boolean hitConstrained = 
+                hitConstrainedSearch && gameField.hasHitCells();
+        
+        if (openingBook != null && 
+                !hitConstrained && 
+                openingBook.load(gameField, frequencyCounterMatrix)) {
+            searchStatistics.recordCacheHit();
+            recordCountedState();
+            return true;
+        }
+        
+        if (shotCache != null && 
+                shotCache.load(loadShotCacheKey(), 
+                               gameField.getShotCells(), 
+                               shotCacheHitCells,
+                               frequencyCounterMatrix)) {
+            searchStatistics.recordCacheHit();
+            recordCountedState();
+            return true;
+        }
+        
+        if (profileCounting && 
+                ProfileFleetCounter.fits(gameField.getWidth(), 
+                                         gameField.getSearchFleet())) {
+            ProfileFleetCounter counter = 
+                    new ProfileFleetCounter(gameField, 
+                                            gameField.getSearchFleet(), 
+                                            hitConstrained);
+            
+            if (hasDeadline) {
+                counter.setDeadline(deadlineNanos);
+            }
+            
+            counter.count(frequencyCounterMatrix);
+            return countingCompleted(!counter.isExpired());
+        }
+        
+        if (transpositionTable != null && !hitConstrained) {
+            MemoizedFleetCounter counter = 
+                    new MemoizedFleetCounter(gameField,
+                                             placementTable,
+                                             transpositionTable,
+                                             gameField.getSearchFleet());
+            
+            if (hasDeadline) {
+                counter.setDeadline(deadlineNanos);
+            }
+            
+            counter.count(frequencyCounterMatrix);
+            return countingCompleted(!counter.isExpired());
         }
         
-        // Search over longest ship oriented in horizontal direction:
-        putShipHorizontal(0);
+        RegionFleetCounter regionCounter = 
+                new RegionFleetCounter(gameField, 
+                                       placementTable, 
+                                       gameField.getSearchFleet(), 
+                                       hitConstrained, 
+                                       searchStatistics);
         
-        // Search over longest ship oriented in vertical direction:
-        putShipVertical(0);
+        if (regionCounter.getRegionCount() > 1) {
+            // The free cells fall apart, count each region separately:
+            if (hasDeadline) {
+                regionCounter.setDeadline(deadlineNanos);
+            }
+            
+            regionCounter.count(frequencyCounterMatrix);
+            return countingCompleted(!regionCounter.isExpired());
+        }
         
-        return frequencyCounterMatrix.getMaximumMatrixCounter();
+        if (forkJoinPool == null) {
+            FleetEnumerator enumerator = 
+                    new FleetEnumerator(
+                            gameField,
+                            placementTable,
+                            FleetEnumerator.copyFleet(
+                                    gameField.getSearchFleet()),
+                            frequencyCounterMatrix);
+            
+            if (hitConstrained) {
+                enumerator.constrainByHits();
+            }
+            
+            if (hasDeadline) {
+                enumerator.setDeadline(deadlineNanos);
+            }
+            
+            enumerator.enumerate(0);
+            enumerator.addSearchCountsTo(searchStatistics);
+            return countingCompleted(!enumerator.isExpired());
+        }
+        
+        BruteforceSearchTask task = 
+                hasDeadline ? 
+                new BruteforceSearchTask(gameField,
+                                         placementTable,
+                                         gameField.getSearchFleet(),
+                                         hitConstrained,
+                                         searchStatistics,
+                                         deadlineNanos) :
+                new BruteforceSearchTask(gameField,
+                                         placementTable,
+                                         gameField.getSearchFleet(),
+                                         hitConstrained,
+                                         searchStatistics);
+        
+        frequencyCounterMatrix.add(forkJoinPool.invoke(task));
+        return countingCompleted(!task.isExpired());
+    }
+    
+    /**
+     * Records the game field state the frequency counter matrix was counted 
+     * for, if the counting completed.
+     * 
+     * @param complete whether the counting completed.
+     * 
+     * @return {@code complete}.
+     */
+    private boolean countingCompleted(boolean complete) {
+        // The hit cells are covered by every arrangement, yet there is no 
+        // point in shooting them again:
+        frequencyCounterMatrix.clear(gameField.getShotCells());
+        
+        if (complete) {
+            recordCountedState();
+            storeInShotCache();
+        }
+        
+        return complete;
+    }
+    
+    /**
+     * Records that the frequency counter matrix is up to date with the game
+     * field.
+     */
+    private void recordCountedState() {
+        countedShotCells = gameField.getShotCells().clone();
+        countedFleetSize = gameField.getSearchFleet().size();
+    }
+    
+    /**
+     * Stores the up to date frequency counter matrix in the shot cache, if 
+     * any.
+     */
+    private void storeInShotCache() {
+        if (shotCache != null) {
+            shotCache.store(loadShotCacheKey(), 
+                            gameField.getShotCells(), 
+                            shotCacheHitCells,
+                            frequencyCounterMatrix);
+        }
+    }
+    
+    /**
+     * Returns the key of the current game field state in the shot cache and
+     * loads its standing hit cells to {@link #shotCacheHitCells}. The 
+     * hit-constrained counts differ from the unconstrained ones, so the mode
+     * is mixed into the key. The hit-constrained counts also depend on which
+     * hits are still to be covered, so the standing hit cells are mixed in 
+     * too. The unconstrained counts do not depend on them.
+     * 
+     * @return the shot cache key.
+     */
+    private long loadShotCacheKey() {
+        if (!hitConstrainedSearch) {
+            Arrays.fill(shotCacheHitCells, 0L);
+            return gameField.getZobristHash();
+        }
+        
+        gameField.loadHitCells(shotCacheHitCells);
+        return ~gameField.getZobristHash() ^ 
+               Zobrist.standingHitsKey(shotCacheHitCells);
+    }
+    
+    /**
+     * Checks whether a miss may be subtracted from the frequency counter 
+     * matrix. The subtraction enumerates the arrangements covering the miss 
+     * one by one and has no deadline, so it is done only in the plain 
+     * enumeration modes. In particular, recounting by the profile dynamic 
+     * programming is much faster than the subtraction.
+     * 
+     * @return {@code true} only if the counts may be updated incrementally.
+     */
+    private boolean canUpdateIncrementally() {
+        return transpositionTable == null && 
+               !profileCounting && 
+               !countedWithDeadline;
+    }
+    
+    /**
+     * Checks whether the frequency counter matrix is up to date with the game
+     * field.
+     * 
+     * @return {@code true} only if no recounting is needed.
+     */
+    private boolean countsAreCurrent() {
+        return countedShotCells != null &&
+               countedFleetSize == gameField.getSearchFleet().size() &&
+               Arrays.equals(countedShotCells, gameField.getShotCells());
+    }
+    
+    /**
+     * Sets the transposition table. If not {@code null}, this bot counts the
+     * arrangements by memoized recursion in the calling thread instead of 
+     * enumerating them. The table may be shared by the bots playing on the 
+     * game fields of the same size in the same thread.
+     * 
+     * @param transpositionTable the transposition table, or {@code null}.
+     */
+    public void setTranspositionTable(TranspositionTable transpositionTable) {
+        this.transpositionTable = transpositionTable;
+    }
+    
+    /**
+     * Sets whether to count the arrangements by sweeping the game field row 
+     * by row with a dynamic program over the ships crossing the sweep line,
+     * instead of visiting every arrangement. The counts are identical, but 
+     * the running time does not grow with the number of arrangements, which 
+     * pays off for the large fleets. The counting runs in the calling thread
+     * and takes precedence over the transposition table. The misses are not
+     * subtracted incrementally, the next shot recounts instead. The game 
+     * fields too wide for the longest ship, such as 20 columns with a ship 
+     * of length 5, are counted as if this option was off.
+     * 
+     * @param profileCounting whether to count by the dynamic programming.
+     */
+    public void setProfileCounting(boolean profileCounting) {
+        this.profileCounting = profileCounting;
     }
     
     /**
@@ -165,83 +620,22 @@ public class BruteforceBattleshipAIBot implements BattleshipAIBot {
     }
     
     /**
-     * Attempts to set a ship at index {@code shipIndex} in horizontal 
-     * orientation in all possible locations avoiding the cells that are already
-     * shot.
+     * Returns the statistics of the searches made by this bot.
      * 
-     * @param shipIndex the index of the ship.
+     * @return the search statistics.
      */
-    private void putShipHorizontal(int shipIndex) {
-        if (shipIndex == gameField.getSearchFleet().size()) {
-            // Once here, all the ships in the fleet are positioned. Print them
-            // to the frequency counter matrix:
-            frequencyCounterMatrix.incrementFleet(gameField.getSearchFleet());
-            return;
-        }
-        
-        Ship targetShip = gameField.getSearchFleet().get(shipIndex);
-        targetShip.setOrientation(Ship.Orientation.HORIZONTAL);
-        
-        for (int x = 0; 
-                x <= gameField.getWidth() - targetShip.getLength();
-                x++) {
-            
-            for (int y = 0; y < gameField.getHeight(); y++) {
-                targetShip.setLocation(x, y);
-                
-                if (gameField.shipOccupiesClosedCell(targetShip) ||
-                    targetShip.overlapsAny(
-                            gameField.getSearchFleet().subList(0, shipIndex))) {
-                    
-                    // The current target ship occupies a closed cell or 
-                    // overlaps some other ship in the fleet. Just omit placing
-                    // it:
-                    continue;
-                }
-                
-                putShipHorizontal(shipIndex + 1);
-                putShipVertical(shipIndex + 1);
-            }
-        }
+    public SearchStatistics getSearchStatistics() {
+        return searchStatistics;
     }
     
     /**
-     * Attempts to set a ship at index {@code shipIndex} in vertical orientation 
-     * in all possible locations avoiding the cells that are already shot.
+     * Sets the statistics to record the searches of this bot to. The 
+     * statistics may be shared by the bots of many concurrent games.
      * 
-     * @param shipIndex the index of the ship.
+     * @param searchStatistics the search statistics. Must not be 
+     *                         {@code null}.
      */
-    private void putShipVertical(int shipIndex) {
-        if (shipIndex == gameField.getSearchFleet().size()) {
-            // Once here, all the ships in the fleet are positioned. Print them
-            // to the frequency counter matrix:
-            frequencyCounterMatrix.incrementFleet(gameField.getSearchFleet());
-            return;
-        }
-        
-        Ship targetShip = gameField.getSearchFleet().get(shipIndex);
-        targetShip.setOrientation(Ship.Orientation.VERTICAL);
-        
-        for (int x = 0; x < gameField.getWidth(); x++) {
-            for (int y = 0; 
-                    y <= gameField.getHeight() - targetShip.getLength();
-                    y++) {
-                
-                targetShip.setLocation(x, y);
-                
-                if (gameField.shipOccupiesClosedCell(targetShip) ||
-                    targetShip.overlapsAny(
-                            gameField.getSearchFleet().subList(0, shipIndex))) {
-                    
-                    // The current target ship occupies a closed cell or 
-                    // overlaps some other ship in the fleet. Just omit placing
-                    // it:
-                    continue;
-                }
-                
-                putShipHorizontal(shipIndex + 1);
-                putShipVertical(shipIndex + 1);
-            }
-        }
+    public void setSearchStatistics(SearchStatistics searchStatistics) {
+        this.searchStatistics = searchStatistics;
     }
 }
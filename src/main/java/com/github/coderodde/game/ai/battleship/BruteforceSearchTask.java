@@ -0,0 +1,257 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class implements a fork/join task enumerating the fleet arrangements
+ * that extend a fixed prefix of ship placements. Tasks whose prefix is shorter
+ * than the split depth fork a subtask for each legal placement of the next
+ * ship; the other tasks enumerate sequentially into their own frequency
+ * counter matrix. The matrices of the subtasks are summed, so the result is
+ * identical to the sequential enumeration.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+final class BruteforceSearchTask extends RecursiveTask<FrequencyCounterMatrix> {
+    
+    /**
+     * The tasks are never serialized, yet {@link RecursiveTask} is 
+     * serializable.
+     */
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * The maximum number of leading ships whose placements are split into
+     * separate tasks.
+     */
+    private static final int MAXIMUM_SPLIT_DEPTH = 2;
+    
+    /**
+     * The game field being searched.
+     */
+    private final transient GameField gameField;
+    
+    /**
+     * The placement table of the game field.
+     */
+    private final transient PlacementTable placementTable;
+    
+    /**
+     * The sorted search fleet. Read only, each task works on its own copy.
+     */
+    private final transient List<Ship> fleet;
+    
+    /**
+     * The placement indices of the leading ships, in the order the 
+     * enumerator chose to place them.
+     */
+    private final int[] prefix;
+    
+    /**
+     * The length of the prefix at which the tasks stop forking.
+     */
+    private final int splitDepth;
+    
+    /**
+     * Indicates whether the search is constrained by the hit cells.
+     */
+    private final boolean hitConstrained;
+    
+    /**
+     * The statistics to add the search counts to.
+     */
+    private final transient SearchStatistics searchStatistics;
+    
+    /**
+     * Indicates whether the search is bounded by a deadline.
+     */
+    private final boolean hasDeadline;
+    
+    /**
+     * The deadline in terms of {@link System#nanoTime()}.
+     */
+    private final long deadlineNanos;
+    
+    /**
+     * Set when the deadline expires within this task or its subtasks.
+     */
+    private boolean expired;
+    
+    /**
+     * Constructs the root task.
+     * 
+     * @param gameField      the game field.
+     * @param placementTable the placement table of the game field.
+     * @param fleet          the sorted search fleet.
+     * @param hitConstrained   whether to constrain the search by the hit 
+     *                         cells.
+     * @param searchStatistics the statistics to add the search counts to.
+     */
+    BruteforceSearchTask(GameField gameField,
+                         PlacementTable placementTable,
+                         List<Ship> fleet,
+                         boolean hitConstrained,
+                         SearchStatistics searchStatistics) {
+        
+        this(gameField,
+             placementTable,
+             fleet,
+             new int[0],
+             Math.min(MAXIMUM_SPLIT_DEPTH, fleet.size() - 1),
+             hitConstrained,
+             searchStatistics,
+             false,
+             0L);
+    }
+    
+    /**
+     * Constructs the root task bounded by a deadline.
+     * 
+     * @param gameField      the game field.
+     * @param placementTable the placement table of the game field.
+     * @param fleet          the sorted search fleet.
+     * @param hitConstrained   whether to constrain the search by the hit 
+     *                         cells.
+     * @param searchStatistics the statistics to add the search counts to.
+     * @param deadlineNanos    the deadline in terms of 
+     *                         {@link System#nanoTime()}.
+     */
+    BruteforceSearchTask(GameField gameField,
+                         PlacementTable placementTable,
+                         List<Ship> fleet,
+                         boolean hitConstrained,
+                         SearchStatistics searchStatistics,
+                         long deadlineNanos) {
+        
+        this(gameField,
+             placementTable,
+             fleet,
+             new int[0],
+             Math.min(MAXIMUM_SPLIT_DEPTH, fleet.size() - 1),
+             hitConstrained,
+             searchStatistics,
+             true,
+             deadlineNanos);
+    }
+    
+    private BruteforceSearchTask(GameField gameField,
+                                 PlacementTable placementTable,
+                                 List<Ship> fleet,
+                                 int[] prefix,
+                                 int splitDepth,
+                                 boolean hitConstrained,
+                                 SearchStatistics searchStatistics,
+                                 boolean hasDeadline,
+                                 long deadlineNanos) {
+        this.gameField = gameField;
+        this.placementTable = placementTable;
+        this.fleet = fleet;
+        this.prefix = prefix;
+        this.splitDepth = splitDepth;
+        this.hitConstrained = hitConstrained;
+        this.searchStatistics = searchStatistics;
+        this.hasDeadline = hasDeadline;
+        this.deadlineNanos = deadlineNanos;
+    }
+    
+    /**
+     * Returns {@code true} if the deadline expired before this task and all
+     * its subtasks completed. Must be called after joining this task.
+     * 
+     * @return {@code true} only if the search was cut short.
+     */
+    boolean isExpired() {
+        return expired;
+    }
+    
+    @Override
+    protected FrequencyCounterMatrix compute() {
+        FleetEnumerator enumerator =
+                new FleetEnumerator(
+                        gameField,
+                        placementTable,
+                        FleetEnumerator.copyFleet(fleet),
+                        new FrequencyCounterMatrix(gameField.getWidth(),
+                                                   gameField.getHeight()));
+        
+        if (hitConstrained) {
+            enumerator.constrainByHits();
+        }
+        
+        // The ship choices depend only on the partial arrangement, so 
+        // replaying them yields the ships the parent task placed:
+        for (int shipIndex = 0; shipIndex < prefix.length; shipIndex++) {
+            enumerator.selectShip(shipIndex);
+            enumerator.place(shipIndex, prefix[shipIndex]);
+        }
+        
+        if (hasDeadline) {
+            enumerator.setDeadline(deadlineNanos);
+            
+            if (System.nanoTime() - deadlineNanos >= 0L) {
+                // Do not even start:
+                expired = true;
+                return enumerator.getFrequencyCounterMatrix();
+            }
+        }
+        
+        if (prefix.length >= splitDepth) {
+            enumerator.enumerate(prefix.length);
+            enumerator.addSearchCountsTo(searchStatistics);
+            expired = enumerator.isExpired();
+            return enumerator.getFrequencyCounterMatrix();
+        }
+        
+        // This task stands for the search node of its prefix:
+        enumerator.countNode();
+        
+        int shipIndex = prefix.length;
+        
+        if (!enumerator.selectShip(shipIndex)) {
+            enumerator.addSearchCountsTo(searchStatistics);
+            return enumerator.getFrequencyCounterMatrix();
+        }
+        
+        int length = enumerator.getFleet().get(shipIndex).getLength();
+        int placementCount = placementTable.getPlacements(length).size();
+        
+        List<BruteforceSearchTask> subtasks = new ArrayList<>(placementCount);
+        
+        for (int i = enumerator.getMinimumPlacementIndex(shipIndex);
+                i < placementCount;
+                i++) {
+            
+            if (enumerator.place(shipIndex, i)) {
+                int[] subtaskPrefix = Arrays.copyOf(prefix, shipIndex + 1);
+                subtaskPrefix[shipIndex] = i;
+                
+                subtasks.add(new BruteforceSearchTask(gameField,
+                                                      placementTable,
+                                                      fleet,
+                                                      subtaskPrefix,
+                                                      splitDepth,
+                                                      hitConstrained,
+                                                      searchStatistics,
+                                                      hasDeadline,
+                                                      deadlineNanos));
+            }
+        }
+        
+        enumerator.addSearchCountsTo(searchStatistics);
+        invokeAll(subtasks);
+        
+        FrequencyCounterMatrix result = enumerator.getFrequencyCounterMatrix();
+        
+        for (BruteforceSearchTask subtask : subtasks) {
+            result.add(subtask.join());
+            expired |= subtask.isExpired();
+        }
+        
+        return result;
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.coderodde.game.ai.battleship;
+
+/**
+ * This class implements a cheap shot heuristic. It counts, for each cell, the
+ * legal placements of each remaining ship covering the cell, ignoring the
+ * interaction between the ships, and picks a cell with the largest count. Used
+ * as the fallback when an exact search runs out of time before counting 
+ * anything.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+final class DensityHeuristic {
+    
+    private DensityHeuristic() {
+        
+    }
+    
+    /**
+     * Computes the heuristic shot location treating all the shot cells as 
+     * closed.
+     * 
+     * @param gameField      the game field.
+     * @param placementTable the placement table of the game field.
+     * 
+     * @return the index of the cell of the shot.
+     */
+    static int computeShotCellIndex(
+            GameField gameField,
+            PlacementTable placementTable) {
+        return computeShotCellIndex(gameField, placementTable, false);
+    }
+    
+    /**
+     * Computes the heuristic shot location. If {@code hitConstrained} is 
+     * set, the hit cells of the standing ships stay open to the placements,
+     * and once some placement covers such a hit, only the placements covering
+     * a hit are counted, so the shot goes next to the hits.
+     * 
+     * @param gameField      the game field.
+     * @param placementTable the placement table of the game field.
+     * @param hitConstrained whether to target the standing hit cells.
+     * 
+     * @return the index of the cell of the shot.
+     */
+    static int computeShotCellIndex(
+            GameField gameField,
+            PlacementTable placementTable,
+            boolean hitConstrained) {
+        
+        int width = gameField.getWidth();
+        int height = gameField.getHeight();
+        int[] huntCounts = new int[width * height];
+        int[] targetCounts = new int[width * height];
+        long[] closedCells = gameField.getShotCells().clone();
+        long[] hitCells = BitBoard.create(width, height);
+        
+        if (hitConstrained) {
+            gameField.loadHitCells(hitCells);
+            
+            for (int i = 0; i < closedCells.length; i++) {
+                closedCells[i] &= ~hitCells[i];
+            }
+        }
+        
+        boolean targeting = false;
+        
+        for (Ship ship : gameField.getSearchFleet()) {
+            PlacementTable.Placements placements = 
+                    placementTable.getPlacements(ship.getLength());
+            
+            for (int i = 0; i < placements.size(); i++) {
+                if (placements.intersects(i, closedCells)) {
+                    continue;
+                }
+                
+                boolean coversHit = placements.intersects(i, hitCells);
+                targeting |= coversHit;
+                
+                for (int cellIndex : placements.getCells(i)) {
+                    huntCounts[cellIndex]++;
+                    
+                    if (coversHit) {
+                        targetCounts[cellIndex]++;
+                    }
+                }
+            }
+        }
+        
+        int[] counts = targeting ? targetCounts : huntCounts;
+        
+        int bestCellIndex = -1;
+        
+        for (int cellIndex = 0; cellIndex < counts.length; cellIndex++) {
+            if (BitBoard.get(gameField.getShotCells(), cellIndex)) {
+                continue;
+            }
+            
+            if (bestCellIndex == -1 || 
+                    counts[cellIndex] > counts[bestCellIndex]) {
+                bestCellIndex = cellIndex;
+            }
+        }
+        
+        if (bestCellIndex == -1) {
+            throw new IllegalStateException("No open cells left.");
+        }
+        
+        return bestCellIndex;
+    }
+}
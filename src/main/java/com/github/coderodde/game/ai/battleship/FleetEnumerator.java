@@ -0,0 +1,1033 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class implements the enumeration of all the arrangements of a search
+ * fleet on a game field. Each complete arrangement is printed to a frequency
+ * counter matrix. All the mutable search state (the ships being moved around
+ * and the frequency counter matrix) is owned by the enumerator so that several
+ * enumerators may run concurrently over the same game field.
+ * <p>
+ * Ships of equal length are interchangeable, so a group of {@code k} such 
+ * ships is placed only in increasing placement index order, and each 
+ * arrangement found is printed with the weight {@code k!}. This way the counts
+ * equal those of enumerating all the permutations, while the search space 
+ * shrinks by the product of the factorials of the group sizes. The weight is
+ * computed from the fleet sorted by length.
+ * <p>
+ * The order in which the ships are placed is chosen dynamically: at each 
+ * level, the remaining ship with the fewest legal placements is swapped to 
+ * the current index and placed next. Placing the most constrained ship first
+ * keeps the upper levels of the search tree narrow, and a remaining ship 
+ * without any legal placement cuts the branch at once. The choice depends 
+ * only on the partial arrangement, so each arrangement is still reached along
+ * exactly one path.
+ * <p>
+ * By default, all the shot cells are closed. When constrained by hits, only 
+ * the missed cells are closed, every arrangement must cover all the hit cells,
+ * and a partial arrangement is abandoned as soon as the total length of the 
+ * remaining ships is less than the number of hit cells not covered yet.
+ * <p>
+ * A partial arrangement is also abandoned as soon as the remaining ships 
+ * provably cannot fit: either their total length exceeds the number of free
+ * cells, or the longest of them is longer than every free horizontal and 
+ * vertical run. The free cell count and an upper bound of the longest run of
+ * each row and column are maintained per ship index. Placing a ship 
+ * recomputes only the runs of the lines it crosses, and only when no other 
+ * line is long enough.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+final class FleetEnumerator {
+    
+    /**
+     * The game field providing the closed cells.
+     */
+    private final GameField gameField;
+    
+    /**
+     * The placement table of the game field.
+     */
+    private final PlacementTable placementTable;
+    
+    /**
+     * The search fleet owned by this enumerator.
+     */
+    private final List<Ship> fleet;
+    
+    /**
+     * The frequency counter matrix owned by this enumerator.
+     */
+    private final FrequencyCounterMatrix frequencyCounterMatrix;
+    
+    /**
+     * The current placement index of each ship in the fleet.
+     */
+    private final int[] placementIndices;
+    
+    /**
+     * The cells occupied by the ships at indices {@code 0, ..., i - 1} at 
+     * index {@code i}. A placement overlaps an earlier ship if and only if its
+     * mask intersects the row of its ship index.
+     */
+    private final long[][] occupiedCells;
+    
+    /**
+     * The number of permutations of equal length ships each arrangement
+     * stands for.
+     */
+    private int arrangementWeight;
+    
+    /**
+     * The number of leading ships pinned by the caller. The canonical 
+     * ordering of equal length ships does not apply to the pinned ships.
+     */
+    private int pinnedShips;
+    
+    /**
+     * The hit cells every arrangement must cover, or {@code null} if the hits 
+     * are treated as closed cells.
+     */
+    private long[] hitCells;
+    
+    /**
+     * The cells no ship may occupy: all the shot cells, or only the missed 
+     * ones when constrained by hits.
+     */
+    private long[] closedCells;
+    
+    /**
+     * The hit cells covered by the ships at indices {@code 0, ..., i - 1} at
+     * index {@code i}.
+     */
+    private long[][] coveredHitCells;
+    
+    /**
+     * The total length of the ships at indices {@code i, i + 1, ...} at index
+     * {@code i}. The ships are reordered dynamically, so the entry 
+     * {@code i + 1} is set when the ship at index {@code i} is placed.
+     */
+    private final int[] remainingLengths;
+    
+    /**
+     * The number of cells that are neither closed nor occupied by the ships 
+     * at indices {@code 0, ..., i - 1} at index {@code i}.
+     */
+    private final int[] freeCells;
+    
+    /**
+     * An upper bound of the length of the longest free horizontal run of each
+     * row at index {@code i}, given the ships at indices 
+     * {@code 0, ..., i - 1}. A bound is tightened only when no other line can
+     * hold the longest remaining ship.
+     */
+    private final int[][] longestRowRuns;
+    
+    /**
+     * An upper bound of the length of the longest free vertical run of each
+     * column at index {@code i}, given the ships at indices 
+     * {@code 0, ..., i - 1}.
+     */
+    private final int[][] longestColumnRuns;
+    
+    /**
+     * Indicates whether the next ship to place is chosen dynamically. If not,
+     * the ships are placed in the order of the fleet.
+     */
+    private boolean dynamicShipOrdering = true;
+    
+    /**
+     * The number of search nodes between two deadline checks.
+     */
+    private static final int DEADLINE_CHECK_PERIOD = 1 << 12;
+    
+    /**
+     * Indicates whether the enumeration is bounded by a deadline.
+     */
+    private boolean hasDeadline;
+    
+    /**
+     * The deadline in terms of {@link System#nanoTime()}.
+     */
+    private long deadlineNanos;
+    
+    /**
+     * The number of search nodes to visit before the next deadline check.
+     */
+    private int nodesUntilDeadlineCheck = DEADLINE_CHECK_PERIOD;
+    
+    /**
+     * Indicates whether the deadline has expired.
+     */
+    private boolean expired;
+    
+    /**
+     * The number of search nodes visited.
+     */
+    private long nodes;
+    
+    /**
+     * The number of placements rejected for occupying a closed cell.
+     */
+    private long closedCellRejections;
+    
+    /**
+     * The number of placements rejected for overlapping an earlier ship.
+     */
+    private long overlapRejections;
+    
+    /**
+     * The number of placements rejected because the remaining ships could not
+     * fit.
+     */
+    private long feasibilityRejections;
+    
+    /**
+     * The number of complete arrangements found.
+     */
+    private long configurations;
+    
+    /**
+     * Constructs this enumerator.
+     * 
+     * @param gameField              the game field.
+     * @param placementTable         the placement table of the game field.
+     * @param fleet                  the search fleet. Must not be shared with
+     *                               other enumerators.
+     * @param frequencyCounterMatrix the target frequency counter matrix.
+     */
+    FleetEnumerator(GameField gameField,
+                    PlacementTable placementTable,
+                    List<Ship> fleet,
+                    FrequencyCounterMatrix frequencyCounterMatrix) {
+        
+        this.gameField = gameField;
+        this.placementTable = placementTable;
+        this.fleet = fleet;
+        this.frequencyCounterMatrix = frequencyCounterMatrix;
+        this.placementIndices = new int[fleet.size()];
+        this.closedCells = gameField.getShotCells();
+        this.occupiedCells = 
+                new long[fleet.size() + 1]
+                        [BitBoard.words(gameField.getWidth() * 
+                                        gameField.getHeight())];
+        
+        this.arrangementWeight = computeArrangementWeight(fleet);
+        this.remainingLengths = new int[fleet.size() + 1];
+        
+        for (Ship ship : fleet) {
+            remainingLengths[0] += ship.getLength();
+        }
+        
+        this.freeCells = new int[fleet.size() + 1];
+        this.longestRowRuns = 
+                new int[fleet.size() + 1][gameField.getHeight()];
+        this.longestColumnRuns = 
+                new int[fleet.size() + 1][gameField.getWidth()];
+        
+        loadFreeCells();
+    }
+    
+    /**
+     * Returns a deep copy of the input fleet.
+     * 
+     * @param fleet the fleet to copy.
+     * 
+     * @return a deep copy of {@code fleet}.
+     */
+    static List<Ship> copyFleet(List<Ship> fleet) {
+        List<Ship> copy = new ArrayList<>(fleet.size());
+        
+        for (Ship ship : fleet) {
+            copy.add(new Ship(ship));
+        }
+        
+        return copy;
+    }
+    
+    /**
+     * Computes the product of the factorials of the sizes of the groups of
+     * consecutive equal length ships.
+     * 
+     * @param fleet the fleet.
+     * 
+     * @return the number of permutations each canonical arrangement stands
+     *         for.
+     */
+    static int computeArrangementWeight(List<Ship> fleet) {
+        int[] lengths = new int[fleet.size()];
+        
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = fleet.get(i).getLength();
+        }
+        
+        return computeArrangementWeight(lengths);
+    }
+    
+    /**
+     * Computes the product of the factorials of the sizes of the groups of 
+     * consecutive equal ship lengths.
+     * 
+     * @param lengths the ship lengths of the fleet.
+     * 
+     * @return the number of permutations each canonical arrangement stands 
+     *         for.
+     */
+    static int computeArrangementWeight(int[] lengths) {
+        int weight = 1;
+        int groupSize = 1;
+        
+        for (int i = 1; i < lengths.length; i++) {
+            if (lengths[i] == lengths[i - 1]) {
+                weight *= ++groupSize;
+            } else {
+                groupSize = 1;
+            }
+        }
+        
+        return weight;
+    }
+    
+    /**
+     * Returns the smallest placement index the ship at index
+     * {@code shipIndex} may take. If a ship of the same length is already 
+     * placed, the ship must be placed after the latest such ship.
+     * 
+     * @param shipIndex the index of the ship.
+     * 
+     * @return the smallest allowed placement index.
+     */
+    int getMinimumPlacementIndex(int shipIndex) {
+        return getMinimumPlacementIndex(shipIndex, 
+                                        fleet.get(shipIndex).getLength());
+    }
+    
+    /**
+     * Returns the smallest placement index a ship of length {@code length} 
+     * may take at the index {@code shipIndex}.
+     * 
+     * @param shipIndex the index at which the ship is placed.
+     * @param length    the length of the ship.
+     * 
+     * @return the smallest allowed placement index.
+     */
+    private int getMinimumPlacementIndex(int shipIndex, int length) {
+        for (int i = shipIndex - 1; i >= pinnedShips; i--) {
+            if (fleet.get(i).getLength() == length) {
+                return placementIndices[i] + 1;
+            }
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * Moves the remaining ship with the fewest legal placements to the index 
+     * {@code shipIndex}. Of the ships with equally few placements, the one
+     * closest to {@code shipIndex} is chosen. Does nothing if the dynamic 
+     * ship ordering is off.
+     * 
+     * @param shipIndex the index of the next ship to place.
+     * 
+     * @return {@code false} if some remaining ship has no legal placement.
+     */
+    boolean selectShip(int shipIndex) {
+        if (!dynamicShipOrdering || fleet.size() - shipIndex < 2) {
+            return true;
+        }
+        
+        int selectedIndex = shipIndex;
+        int fewestPlacements = Integer.MAX_VALUE;
+        
+        for (int i = shipIndex; i < fleet.size(); i++) {
+            int length = fleet.get(i).getLength();
+            
+            if (hasLengthBetween(shipIndex, i, length)) {
+                // An interchangeable ship is already counted:
+                continue;
+            }
+            
+            int legalPlacements = countLegalPlacements(shipIndex, 
+                                                       length, 
+                                                       fewestPlacements);
+            
+            if (legalPlacements == 0) {
+                return false;
+            }
+            
+            if (legalPlacements < fewestPlacements) {
+                fewestPlacements = legalPlacements;
+                selectedIndex = i;
+            }
+        }
+        
+        Collections.swap(fleet, shipIndex, selectedIndex);
+        return true;
+    }
+    
+    /**
+     * Sets whether the next ship to place is chosen dynamically. On by 
+     * default.
+     * 
+     * @param dynamicShipOrdering whether to order the ships dynamically.
+     */
+    void setDynamicShipOrdering(boolean dynamicShipOrdering) {
+        this.dynamicShipOrdering = dynamicShipOrdering;
+    }
+    
+    /**
+     * Enumerates all the arrangements of the sorted search fleet in which some
+     * ship covers the cell {@code cellIndex}. No two ships may cover the same
+     * cell, so each such arrangement is found exactly once by pinning, for 
+     * each ship length, one ship of that length to each placement covering 
+     * the cell and enumerating the rest of the fleet. The counts are weighted
+     * so that they equal the part of the full enumeration counts contributed
+     * by the arrangements covering the cell.
+     * 
+     * @param gameField              the game field.
+     * @param placementTable         the placement table of the game field.
+     * @param sortedFleet            the search fleet sorted by length.
+     * @param cellIndex              the index of the cell to cover.
+     * @param hitConstrained         whether to constrain the enumeration by 
+     *                               the hit cells.
+     * @param frequencyCounterMatrix the target frequency counter matrix.
+     * @param searchStatistics       the statistics to add the search counts
+     *                               to.
+     */
+    static void enumerateCovering(
+            GameField gameField,
+            PlacementTable placementTable,
+            List<Ship> sortedFleet,
+            int cellIndex,
+            boolean hitConstrained,
+            FrequencyCounterMatrix frequencyCounterMatrix,
+            SearchStatistics searchStatistics) {
+        
+        for (int i = 0; i < sortedFleet.size(); i++) {
+            int length = sortedFleet.get(i).getLength();
+            
+            if (i > 0 && sortedFleet.get(i - 1).getLength() == length) {
+                // Ships of this length are already pinned:
+                continue;
+            }
+            
+            int interchangeableShips = 1;
+            
+            while (i + interchangeableShips < sortedFleet.size() && 
+                    sortedFleet.get(i + interchangeableShips).getLength() 
+                    == length) {
+                interchangeableShips++;
+            }
+            
+            List<Ship> pinnedFleet = new ArrayList<>(sortedFleet.size());
+            pinnedFleet.add(new Ship(sortedFleet.get(i)));
+            
+            for (int j = 0; j < sortedFleet.size(); j++) {
+                if (j != i) {
+                    pinnedFleet.add(new Ship(sortedFleet.get(j)));
+                }
+            }
+            
+            FleetEnumerator enumerator = 
+                    new FleetEnumerator(gameField, 
+                                        placementTable, 
+                                        pinnedFleet, 
+                                        frequencyCounterMatrix);
+            
+            if (hitConstrained) {
+                enumerator.constrainByHits();
+            }
+            
+            enumerator.pinnedShips = 1;
+            enumerator.arrangementWeight = 
+                    interchangeableShips * 
+                    computeArrangementWeight(
+                            pinnedFleet.subList(1, pinnedFleet.size()));
+            
+            PlacementTable.Placements placements = 
+                    placementTable.getPlacements(length);
+            
+            for (int p = 0; p < placements.size(); p++) {
+                if (BitBoard.get(placements.getMask(p), cellIndex) && 
+                        enumerator.place(0, p)) {
+                    enumerator.enumerate(1);
+                }
+            }
+            
+            enumerator.addSearchCountsTo(searchStatistics);
+        }
+    }
+    
+    /**
+     * Makes this enumerator treat the hit cells of the game field as the cells
+     * that must be covered instead of closed cells. Must be called before 
+     * placing any ship.
+     */
+    void constrainByHits() {
+        long[] shotCells = gameField.getShotCells();
+        
+        hitCells = new long[shotCells.length];
+        long[] missCells = new long[shotCells.length];
+        coveredHitCells = new long[fleet.size() + 1][shotCells.length];
+        
+        gameField.loadHitCells(hitCells);
+        
+        for (int i = 0; i < shotCells.length; i++) {
+            missCells[i] = shotCells[i] & ~hitCells[i];
+        }
+        
+        closedCells = missCells;
+        loadFreeCells();
+    }
+    
+    /**
+     * Restricts the enumeration to the cells of {@code regionCells}: all the 
+     * other cells are closed, and only the hit cells within the region must 
+     * be covered. Must be called after {@link #constrainByHits()}, if at all,
+     * and before placing any ship.
+     * 
+     * @param regionCells the bitboard of the cells the ships may occupy.
+     */
+    void restrictToRegion(long[] regionCells) {
+        long[] restrictedCells = new long[closedCells.length];
+        
+        for (int i = 0; i < restrictedCells.length; i++) {
+            restrictedCells[i] = closedCells[i] | ~regionCells[i];
+        }
+        
+        // Do not close the bits past the last cell, they would be counted:
+        int cells = gameField.getWidth() * gameField.getHeight();
+        
+        if (cells % Long.SIZE != 0) {
+            restrictedCells[restrictedCells.length - 1] &= 
+                    (1L << cells) - 1L;
+        }
+        
+        closedCells = restrictedCells;
+        
+        if (hitCells != null) {
+            for (int i = 0; i < hitCells.length; i++) {
+                hitCells[i] &= regionCells[i];
+            }
+        }
+        
+        loadFreeCells();
+    }
+    
+    /**
+     * Bounds the enumeration by a deadline. Once the deadline expires, the 
+     * enumeration stops and the frequency counter matrix holds the counts of
+     * the arrangements visited so far.
+     * 
+     * @param deadlineNanos the deadline in terms of {@link System#nanoTime()}.
+     */
+    void setDeadline(long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadlineNanos = deadlineNanos;
+    }
+    
+    /**
+     * Returns {@code true} if the deadline expired before the enumeration 
+     * completed.
+     * 
+     * @return {@code true} only if the enumeration was cut short.
+     */
+    boolean isExpired() {
+        return expired;
+    }
+    
+    /**
+     * Returns the number of complete arrangements found. Each arrangement of
+     * the interchangeable equal length ships is found once.
+     * 
+     * @return the number of arrangements.
+     */
+    long getConfigurations() {
+        return configurations;
+    }
+    
+    /**
+     * Counts a search node visited outside of {@link #enumerate(int)}.
+     */
+    void countNode() {
+        nodes++;
+    }
+    
+    /**
+     * Adds the search counts of this enumerator to {@code searchStatistics}.
+     * 
+     * @param searchStatistics the target statistics.
+     */
+    void addSearchCountsTo(SearchStatistics searchStatistics) {
+        searchStatistics.addSearchCounts(nodes, 
+                                         closedCellRejections, 
+                                         overlapRejections, 
+                                         feasibilityRejections,
+                                         configurations);
+    }
+    
+    List<Ship> getFleet() {
+        return fleet;
+    }
+    
+    FrequencyCounterMatrix getFrequencyCounterMatrix() {
+        return frequencyCounterMatrix;
+    }
+    
+    /**
+     * Enumerates all the arrangements of the ships at indices
+     * {@code shipIndex, shipIndex + 1, ...} while keeping the ships at indices
+     * {@code 0, ..., shipIndex - 1} fixed.
+     * 
+     * @param shipIndex the index of the first ship to arrange.
+     */
+    void enumerate(int shipIndex) {
+        nodes++;
+        
+        if (hasDeadline && --nodesUntilDeadlineCheck == 0) {
+            nodesUntilDeadlineCheck = DEADLINE_CHECK_PERIOD;
+            expired = System.nanoTime() - deadlineNanos >= 0L;
+        }
+        
+        if (expired) {
+            return;
+        }
+        
+        if (shipIndex == fleet.size()) {
+            configurations++;
+        } else if (!selectShip(shipIndex)) {
+            return;
+        }
+        
+        putShipHorizontal(shipIndex);
+        putShipVertical(shipIndex);
+    }
+    
+    /**
+     * Moves the ship at index {@code shipIndex} to the placement
+     * {@code placementIndex}.
+     * 
+     * @param shipIndex      the index of the ship.
+     * @param placementIndex the index of the placement.
+     * 
+     * @return {@code true} only if the placement does not occupy a closed cell
+     *         and does not overlap the ships at indices
+     *         {@code 0, ..., shipIndex - 1}.
+     */
+    boolean place(int shipIndex, int placementIndex) {
+        Ship targetShip = fleet.get(shipIndex);
+        
+        PlacementTable.Placements placements =
+                placementTable.getPlacements(targetShip.getLength());
+        
+        targetShip.setOrientation(placements.getOrientation(placementIndex));
+        return putShip(shipIndex, targetShip, placements, placementIndex);
+    }
+    
+    /**
+     * Attempts to set a ship at index {@code shipIndex} in horizontal
+     * orientation in all possible locations avoiding the cells that are already
+     * shot.
+     * 
+     * @param shipIndex the index of the ship.
+     */
+    private void putShipHorizontal(int shipIndex) {
+        if (shipIndex == fleet.size()) {
+            // Once here, all the ships in the fleet are positioned. Print them
+            // to the frequency counter matrix:
+            frequencyCounterMatrix.incrementFleet(fleet, arrangementWeight);
+            return;
+        }
+        
+        Ship targetShip = fleet.get(shipIndex);
+        targetShip.setOrientation(Ship.Orientation.HORIZONTAL);
+        
+        PlacementTable.Placements placements =
+                placementTable.getPlacements(targetShip.getLength());
+        
+        for (int i = getMinimumPlacementIndex(shipIndex);
+                i < placements.getHorizontalCount();
+                i++) {
+            
+            if (putShip(shipIndex, targetShip, placements, i)) {
+                enumerate(shipIndex + 1);
+            }
+        }
+    }
+    
+    /**
+     * Attempts to set a ship at index {@code shipIndex} in vertical orientation
+     * in all possible locations avoiding the cells that are already shot.
+     * 
+     * @param shipIndex the index of the ship.
+     */
+    private void putShipVertical(int shipIndex) {
+        if (shipIndex == fleet.size()) {
+            // Once here, all the ships in the fleet are positioned. Print them
+            // to the frequency counter matrix:
+            frequencyCounterMatrix.incrementFleet(fleet, arrangementWeight);
+            return;
+        }
+        
+        Ship targetShip = fleet.get(shipIndex);
+        targetShip.setOrientation(Ship.Orientation.VERTICAL);
+        
+        PlacementTable.Placements placements =
+                placementTable.getPlacements(targetShip.getLength());
+        
+        for (int i = Math.max(placements.getHorizontalCount(),
+                              getMinimumPlacementIndex(shipIndex));
+                i < placements.size();
+                i++) {
+            
+            if (putShip(shipIndex, targetShip, placements, i)) {
+                enumerate(shipIndex + 1);
+            }
+        }
+    }
+    
+    /**
+     * Moves the ship {@code targetShip} at index {@code shipIndex} to the
+     * placement {@code placementIndex}.
+     * 
+     * @param shipIndex      the index of the ship.
+     * @param targetShip     the ship to place.
+     * @param placements     the placements of the ship.
+     * @param placementIndex the index of the placement.
+     * 
+     * @return {@code true} only if the placement is legal.
+     */
+    private boolean putShip(int shipIndex,
+                            Ship targetShip,
+                            PlacementTable.Placements placements,
+                            int placementIndex) {
+        
+        // Only the words spanned by the placement are tested, so the checks 
+        // cost the same on any game field size:
+        if (placements.intersects(placementIndex, closedCells)) {
+            // The current target ship occupies a closed cell. Just omit
+            // placing it:
+            closedCellRejections++;
+            return false;
+        }
+        
+        // Omit the placement if the current target ship overlaps some other
+        // ship in the fleet:
+        if (placements.intersects(placementIndex, occupiedCells[shipIndex])) {
+            overlapRejections++;
+            return false;
+        }
+        
+        targetShip.setLocation(placements.getX(placementIndex),
+                               placements.getY(placementIndex));
+        
+        placementIndices[shipIndex] = placementIndex;
+        
+        long[] occupied = occupiedCells[shipIndex + 1];
+        System.arraycopy(occupiedCells[shipIndex], 
+                         0, 
+                         occupied, 
+                         0, 
+                         occupied.length);
+        placements.addTo(placementIndex, occupied);
+        
+        remainingLengths[shipIndex + 1] = 
+                remainingLengths[shipIndex] - placements.getLength();
+        
+        if (hitCells != null && 
+                !remainingShipsCoverHits(shipIndex, 
+                                         placements.getMask(placementIndex))) {
+            return false;
+        }
+        
+        // The last ship needs no look-ahead, and it is placed by far the most
+        // often, so the feasibility check costs little in total:
+        if (shipIndex + 1 < fleet.size() && 
+                !remainingShipsFit(shipIndex, placements, placementIndex)) {
+            feasibilityRejections++;
+            return false;
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Checks whether any of the ships at indices 
+     * {@code fromIndex, ..., toIndex - 1} has the length {@code length}.
+     * 
+     * @param fromIndex the index of the first ship to check.
+     * @param toIndex   the index one past the last ship to check.
+     * @param length    the length to look for.
+     * 
+     * @return {@code true} only if such a ship exists.
+     */
+    private boolean hasLengthBetween(int fromIndex, int toIndex, int length) {
+        for (int i = fromIndex; i < toIndex; i++) {
+            if (fleet.get(i).getLength() == length) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Counts the legal placements of a ship of length {@code length} at the 
+     * index {@code shipIndex}, given the ships at indices 
+     * {@code 0, ..., shipIndex - 1}. Stops counting at {@code limit}.
+     * 
+     * @param shipIndex the index at which the ship would be placed.
+     * @param length    the length of the ship.
+     * @param limit     the count at which to stop.
+     * 
+     * @return the number of legal placements, or {@code limit} if there are 
+     *         at least that many.
+     */
+    private int countLegalPlacements(int shipIndex, int length, int limit) {
+        PlacementTable.Placements placements = 
+                placementTable.getPlacements(length);
+        
+        long[] occupied = occupiedCells[shipIndex];
+        int legalPlacements = 0;
+        
+        for (int i = getMinimumPlacementIndex(shipIndex, length);
+                i < placements.size() && legalPlacements < limit;
+                i++) {
+            
+            if (!placements.intersects(i, closedCells) && 
+                    !placements.intersects(i, occupied)) {
+                legalPlacements++;
+            }
+        }
+        
+        return legalPlacements;
+    }
+    
+    /**
+     * Updates the free cell count and the longest free runs after placing the
+     * ship at index {@code shipIndex}, and checks whether the remaining ships
+     * may still fit.
+     * 
+     * @param shipIndex      the index of the ship just placed.
+     * @param placements     the placements of the ship.
+     * @param placementIndex the index of the placement of the ship.
+     * 
+     * @return {@code false} if the partial arrangement cannot be completed.
+     */
+    private boolean remainingShipsFit(int shipIndex, 
+                                      PlacementTable.Placements placements, 
+                                      int placementIndex) {
+        int next = shipIndex + 1;
+        
+        freeCells[next] = freeCells[shipIndex] - placements.getLength();
+        
+        if (freeCells[next] < remainingLengths[next]) {
+            return false;
+        }
+        
+        int[] rowRuns = longestRowRuns[next];
+        int[] columnRuns = longestColumnRuns[next];
+        long[] occupied = occupiedCells[next];
+        
+        System.arraycopy(longestRowRuns[shipIndex], 
+                         0, 
+                         rowRuns, 
+                         0, 
+                         rowRuns.length);
+        
+        System.arraycopy(longestColumnRuns[shipIndex], 
+                         0, 
+                         columnRuns, 
+                         0, 
+                         columnRuns.length);
+        
+        // Only the lines crossed by the ship may change:
+        int fromRow = placements.getY(placementIndex);
+        int fromColumn = placements.getX(placementIndex);
+        int toRow = fromRow + 1;
+        int toColumn = fromColumn + 1;
+        
+        if (placements.getOrientation(placementIndex) == 
+                Ship.Orientation.HORIZONTAL) {
+            toColumn = fromColumn + placements.getLength();
+        } else {
+            toRow = fromRow + placements.getLength();
+        }
+        
+        // The longest remaining ship must fit somewhere:
+        int longestRemainingLength = 0;
+        
+        for (int i = next; i < fleet.size(); i++) {
+            longestRemainingLength = Math.max(longestRemainingLength, 
+                                              fleet.get(i).getLength());
+        }
+        
+        if (hasRunOutside(rowRuns, fromRow, toRow, longestRemainingLength) ||
+                hasRunOutside(columnRuns, 
+                              fromColumn, 
+                              toColumn, 
+                              longestRemainingLength)) {
+            // The crossed lines keep their previous runs as upper bounds:
+            return true;
+        }
+        
+        boolean fits = false;
+        
+        for (int row = fromRow; row < toRow; row++) {
+            if (rowRuns[row] >= longestRemainingLength) {
+                rowRuns[row] = computeLongestRowRun(row, occupied);
+                fits |= rowRuns[row] >= longestRemainingLength;
+            }
+        }
+        
+        for (int column = fromColumn; column < toColumn; column++) {
+            if (columnRuns[column] >= longestRemainingLength) {
+                columnRuns[column] = 
+                        computeLongestColumnRun(column, occupied);
+                
+                fits |= columnRuns[column] >= longestRemainingLength;
+            }
+        }
+        
+        return fits;
+    }
+    
+    /**
+     * Checks whether any of the input runs outside of the indices 
+     * {@code fromIndex, ..., toIndex - 1} is at least {@code length} long.
+     * 
+     * @param runs      the longest run lengths of lines.
+     * @param fromIndex the index of the first line to skip.
+     * @param toIndex   the index one past the last line to skip.
+     * @param length    the requested run length.
+     * 
+     * @return {@code true} only if a long enough run exists.
+     */
+    private static boolean hasRunOutside(int[] runs, 
+                                         int fromIndex, 
+                                         int toIndex, 
+                                         int length) {
+        for (int i = 0; i < fromIndex; i++) {
+            if (runs[i] >= length) {
+                return true;
+            }
+        }
+        
+        for (int i = toIndex; i < runs.length; i++) {
+            if (runs[i] >= length) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Loads the free cell count and the longest free runs of the empty 
+     * arrangement from the closed cells.
+     */
+    private void loadFreeCells() {
+        long[] occupied = occupiedCells[0];
+        
+        freeCells[0] = gameField.getWidth() * gameField.getHeight() - 
+                       BitBoard.cardinality(closedCells);
+        
+        for (int y = 0; y < gameField.getHeight(); y++) {
+            longestRowRuns[0][y] = computeLongestRowRun(y, occupied);
+        }
+        
+        for (int x = 0; x < gameField.getWidth(); x++) {
+            longestColumnRuns[0][x] = computeLongestColumnRun(x, occupied);
+        }
+    }
+    
+    /**
+     * Computes the length of the longest run of free cells in the row 
+     * {@code y}.
+     * 
+     * @param y        the {@code Y}-coordinate of the row.
+     * @param occupied the cells occupied by ships.
+     * 
+     * @return the length of the longest free run.
+     */
+    private int computeLongestRowRun(int y, long[] occupied) {
+        return computeLongestRun(y * gameField.getWidth(), 
+                                 1, 
+                                 gameField.getWidth(), 
+                                 occupied);
+    }
+    
+    /**
+     * Computes the length of the longest run of free cells in the column 
+     * {@code x}.
+     * 
+     * @param x        the {@code X}-coordinate of the column.
+     * @param occupied the cells occupied by ships.
+     * 
+     * @return the length of the longest free run.
+     */
+    private int computeLongestColumnRun(int x, long[] occupied) {
+        return computeLongestRun(x, 
+                                 gameField.getWidth(), 
+                                 gameField.getHeight(), 
+                                 occupied);
+    }
+    
+    /**
+     * Computes the length of the longest run of free cells among the 
+     * {@code cells} cells starting at {@code cellIndex} and {@code step} 
+     * apart.
+     * 
+     * @param cellIndex the index of the first cell of the line.
+     * @param step      the index difference of two adjacent cells.
+     * @param cells     the number of cells in the line.
+     * @param occupied  the cells occupied by ships.
+     * 
+     * @return the length of the longest free run.
+     */
+    private int computeLongestRun(int cellIndex, 
+                                  int step, 
+                                  int cells, 
+                                  long[] occupied) {
+        int longestRun = 0;
+        int run = 0;
+        
+        for (int i = 0; i < cells; i++, cellIndex += step) {
+            if (BitBoard.get(closedCells, cellIndex) || 
+                    BitBoard.get(occupied, cellIndex)) {
+                run = 0;
+            } else if (++run > longestRun) {
+                longestRun = run;
+            }
+        }
+        
+        return longestRun;
+    }
+    
+    /**
+     * Records the hit cells covered by the ships at indices 
+     * {@code 0, ..., shipIndex} and checks whether the remaining ships are 
+     * long enough to cover the rest of the hit cells.
+     * 
+     * @param shipIndex the index of the ship just placed.
+     * @param mask      the bitboard mask of the ship just placed.
+     * 
+     * @return {@code false} if the partial arrangement cannot be completed.
+     */
+    private boolean remainingShipsCoverHits(int shipIndex, long[] mask) {
+        long[] previous = coveredHitCells[shipIndex];
+        long[] covered = coveredHitCells[shipIndex + 1];
+        
+        for (int i = 0; i < covered.length; i++) {
+            covered[i] = previous[i] | (mask[i] & hitCells[i]);
+        }
+        
+        return BitBoard.cardinalityAndNot(hitCells, covered) <= 
+               remainingLengths[shipIndex + 1];
+    }
+}
@@ -1,9 +1,7 @@
 package com.github.coderodde.game.ai.battleship;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * This class implements the focused Battleship AI bot.
@@ -13,18 +11,43 @@ import java.util.Set;
  * @since 1.6 (Aug 30, 2023)
  */
 public final class FocusedBattleshipAIBot implements BattleshipAIBot {
-
+    
     private final GameField gameField;
     
-    private MatrixCoordinates nextShotMatrixCoordinate =
-            new MatrixCoordinates(-1, -1);
+    /**
+     * The index of the cell of the next shot.
+     */
+    private int nextShotCellIndex = -1;
+    
+    /**
+     * The index of the cell of the shot that revealed the focused ship.
+     */
+    private final int initialShotCellIndex;
     
-    private final Set<MatrixCoordinates> clearedNeighbourhood = new HashSet<>();
+    /**
+     * The bitboard of the cells shot by this bot.
+     */
+    private final long[] clearedNeighbourhood;
+    
+    /**
+     * The number of cells in {@link #clearedNeighbourhood}.
+     */
+    private int clearedNeighbourhoodSize;
     
     public FocusedBattleshipAIBot(GameField gameField,
                                   MatrixCoordinates matrixCoordinates) {
-        
-        Ship initialFocusedShip = gameField.getShipAt(matrixCoordinates);
+        this(gameField, gameField.getCellIndex(matrixCoordinates));
+    }
+    
+    /**
+     * Constructs this bot focused on the ship occupying the cell with the 
+     * index {@code cellIndex}.
+     * 
+     * @param gameField the game field.
+     * @param cellIndex the index of the cell of the initial hit.
+     */
+    public FocusedBattleshipAIBot(GameField gameField, int cellIndex) {
+        Ship initialFocusedShip = gameField.getShipAt(cellIndex);
         
         if (initialFocusedShip.getLength() < 1) {
             throw new IllegalArgumentException(
@@ -42,21 +65,41 @@ public final class FocusedBattleshipAIBot implements BattleshipAIBot {
         }
         
         this.gameField = gameField;
-        clearedNeighbourhood.add(new MatrixCoordinates(matrixCoordinates));
+        this.initialShotCellIndex = cellIndex;
+        this.clearedNeighbourhood = 
+                BitBoard.create(gameField.getWidth(), gameField.getHeight());
+        
+        addClearedCell(cellIndex);
         computeNextShotLocationImpl(gameField.getStandingOpponentFleet());
     }
     
     @Override
     public MatrixCoordinates computeNextShotLocation() {
-        return new MatrixCoordinates(nextShotMatrixCoordinate);
+        return gameField.getMatrixCoordinates(nextShotCellIndex);
     }
-
+    
+    /**
+     * Returns the index of the cell of the next shot.
+     * 
+     * @return the cell index of the next shot.
+     */
+    public int computeNextShotCellIndex() {
+        return nextShotCellIndex;
+    }
+    
     @Override
     public void shoot(MatrixCoordinates matrixCoordinates) {
-        clearedNeighbourhood.add(matrixCoordinates);
-        
-        gameField.shoot(matrixCoordinates.x, 
-                        matrixCoordinates.y);
+        shoot(gameField.getCellIndex(matrixCoordinates));
+    }
+    
+    /**
+     * Shoots the cell with the index {@code cellIndex}.
+     * 
+     * @param cellIndex the index of the cell to shoot.
+     */
+    public void shoot(int cellIndex) {
+        addClearedCell(cellIndex);
+        gameField.shoot(cellIndex);
         
         List<Ship> standingOpponentFleet = gameField.getStandingOpponentFleet();
         
@@ -73,19 +116,23 @@ public final class FocusedBattleshipAIBot implements BattleshipAIBot {
             return s2.getLength() - s1.getLength();
         });
         
-        if (clearedNeighbourhood.size() == 1) {
+        if (clearedNeighbourhoodSize == 1) {
             bruteForceSearchOnInitialShot(standingOpponentFleet);
         } else {
             
         }
     }
     
+    private void addClearedCell(int cellIndex) {
+        if (!BitBoard.get(clearedNeighbourhood, cellIndex)) {
+            BitBoard.set(clearedNeighbourhood, cellIndex);
+            clearedNeighbourhoodSize++;
+        }
+    }
+    
     private void bruteForceSearchOnInitialShot(
             List<Ship> standingOpponentFleet) {
         
-        MatrixCoordinates initialShotCoordinates =
-                clearedNeighbourhood.iterator().next();
-        
         FrequencyCounterMatrix frequencyCounterMatrix = 
                 new FrequencyCounterMatrix(gameField.getWidth(),
                                            gameField.getHeight());
@@ -98,30 +145,25 @@ public final class FocusedBattleshipAIBot implements BattleshipAIBot {
         
         for (Ship searchShip : searchFleet) {
             bruteForceSearchHorizontalOnInitialShot(searchShip, 
-                                                    frequencyCounterMatrix,
-                                                    initialShotCoordinates);
+                                                    frequencyCounterMatrix);
             
             bruteForceSearchVerticalOnInitialShot(searchShip,
-                                                  frequencyCounterMatrix,
-                                                  initialShotCoordinates);
+                                                  frequencyCounterMatrix);
         }
         
-        MatrixCoordinates mc = frequencyCounterMatrix.getMaximumMatrixCounter();
-        nextShotMatrixCoordinate.x = mc.x;
-        nextShotMatrixCoordinate.y = mc.y;
+        nextShotCellIndex = frequencyCounterMatrix.getMaximumCellIndex();
     }
     
     private void bruteForceSearchHorizontalOnInitialShot(
             Ship searchShip,
-            FrequencyCounterMatrix frequencyCounterMatrix,
-            MatrixCoordinates initialShotCoordinates) {
+            FrequencyCounterMatrix frequencyCounterMatrix) {
         
         searchShip.setOrientation(Ship.Orientation.HORIZONTAL);
         
-        int shipY = initialShotCoordinates.y;
+        int shipY = initialShotCellIndex / gameField.getWidth();
         
         for (int i = 0; i < searchShip.getLength(); i++) {
-            int shipX = initialShotCoordinates.x - i;
+            int shipX = initialShotCellIndex % gameField.getWidth() - i;
             
             if (shipX < 0) {
                 System.out.println("shipX < 0");
@@ -139,15 +181,14 @@ public final class FocusedBattleshipAIBot implements BattleshipAIBot {
     
     private void bruteForceSearchVerticalOnInitialShot(
             Ship searchShip,
-            FrequencyCounterMatrix frequencyCounterMatrix,
-            MatrixCoordinates initialShotLocation) {
+            FrequencyCounterMatrix frequencyCounterMatrix) {
         
         searchShip.setOrientation(Ship.Orientation.VERTICAL);
         
-        int shipX = initialShotLocation.x;
+        int shipX = initialShotCellIndex % gameField.getWidth();
         
         for (int i = 0; i < searchShip.getLength(); i++) {
-            int shipY = initialShotLocation.y - i;
+            int shipY = initialShotCellIndex / gameField.getWidth() - i;
             
             if (shipY < 0) {
                 System.out.println("shipY < 0");
@@ -32,10 +32,9 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
     private final GameField gameField;
     
     /**
-     * The coordinates of the next shot.
+     * The index of the cell of the next shot.
      */
-    private MatrixCoordinates nextShotMatrixCoordinate = 
-            new MatrixCoordinates(0, 0);
+    private int nextShotCellIndex;
     
     /**
      * Constructs a focused AI bot.
@@ -48,6 +47,22 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
     public FocusedBattleshipAIBotOld(Ship initialFocusedShip,
                                   MatrixCoordinates matrixCoordinate,
                                   GameField gameField) {
+        this(initialFocusedShip, 
+             gameField.getCellIndex(matrixCoordinate), 
+             gameField);
+    }
+    
+    /**
+     * Constructs a focused AI bot.
+     * 
+     * @param initialFocusedShip the initial focused ship.
+     * @param cellIndex          the index of the cell of the shot that 
+     *                           revealed the initial focused ship.
+     * @param gameField          the game field storing the fleet.
+     */
+    public FocusedBattleshipAIBotOld(Ship initialFocusedShip,
+                                     int cellIndex,
+                                     GameField gameField) {
         
         if (initialFocusedShip.getLength() < 1) {
             throw new IllegalArgumentException(
@@ -62,12 +77,11 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
         }
         
         this.gameField = gameField;
-        gameField.shoot(matrixCoordinate.x, 
-                        matrixCoordinate.y);
+        gameField.shoot(cellIndex);
         
         focusedShipList.add(initialFocusedShip);
         orientationMap.put(initialFocusedShip, null);
-        computeNextShotLocationImpl(matrixCoordinate);
+        computeNextShotLocationImpl(cellIndex);
     }
     
     /**
@@ -77,9 +91,18 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
      */
     @Override
     public MatrixCoordinates computeNextShotLocation() {
-        return new MatrixCoordinates(this.nextShotMatrixCoordinate);
+        return gameField.getMatrixCoordinates(nextShotCellIndex);
     }
-
+    
+    /**
+     * Returns the index of the cell of the next shot.
+     * 
+     * @return the cell index of the next favourable shot.
+     */
+    public int computeNextShotCellIndex() {
+        return nextShotCellIndex;
+    }
+    
     /**
      * Shoots and updates the game field statistics.
      * 
@@ -87,14 +110,21 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
      */
     @Override
     public void shoot(MatrixCoordinates matrixCoordinate) {
-        gameField.shoot(matrixCoordinate.x, 
-                        matrixCoordinate.y);
+        shoot(gameField.getCellIndex(matrixCoordinate));
+    }
+    
+    /**
+     * Shoots and updates the game field statistics.
+     * 
+     * @param cellIndex the index of the cell at which to shoot.
+     */
+    public void shoot(int cellIndex) {
+        gameField.shoot(cellIndex);
         
-        Ship ship = gameField.getShipAt(matrixCoordinate.x,
-                                        matrixCoordinate.y);
+        Ship ship = gameField.getShipAt(cellIndex);
         
         if (ship == null) {
-            computeNextShotLocationImpl(matrixCoordinate);
+            computeNextShotLocationImpl(cellIndex);
             return;
         }
         
@@ -111,14 +141,14 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
             focusedShipList.add(ship);
         }
         
-        computeNextShotLocationImpl(matrixCoordinate);
+        computeNextShotLocationImpl(cellIndex);
     }
     
     private Ship getLastFocusedShip() {
         return focusedShipList.get(focusedShipList.size() - 1);
     }
     
-    private void computeNextShotLocationImpl(MatrixCoordinates shotCoordinates) {
+    private void computeNextShotLocationImpl(int shotCellIndex) {
         Ship ship = getLastFocusedShip();
         Ship searchShip = new Ship(ship);
         
@@ -130,20 +160,16 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
         
         if (null == detectedShipOrientation) {
             searchHorizontally(frequencyCounterMatrix, 
-                               shotCoordinates, 
+                               shotCellIndex, 
                                searchShip);
             
             searchVertically(frequencyCounterMatrix, 
-                             shotCoordinates, 
+                             shotCellIndex, 
                              searchShip);
             
-            MatrixCoordinates mc = 
-                    frequencyCounterMatrix.getMaximumMatrixCounter();
+            nextShotCellIndex = frequencyCounterMatrix.getMaximumCellIndex();
             
-            this.nextShotMatrixCoordinate.x = mc.x;
-            this.nextShotMatrixCoordinate.y = mc.y;
-            
-            Ship probeShip = gameField.getShipAt(mc.x, mc.y);
+            Ship probeShip = gameField.getShipAt(nextShotCellIndex);
             
             if (probeShip != null) {
                 if (!focusedShipList.contains(probeShip)) {
@@ -152,7 +178,7 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
                 } else {
                     Ship.Orientation orientation = 
                             tryInferOrientation(probeShip, 
-                                                shotCoordinates);
+                                                shotCellIndex);
                     
                     orientationMap.put(probeShip, orientation);
                 }
@@ -164,19 +190,18 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
             
             case HORIZONTAL -> {
                 searchHorizontally(frequencyCounterMatrix,
-                                   shotCoordinates,
+                                   shotCellIndex,
                                    searchShip);
             }
             
             default -> {
                 searchVertically(frequencyCounterMatrix,
-                                 shotCoordinates,
+                                 shotCellIndex,
                                  searchShip);
             }
         }
         
-        MatrixCoordinates mc = frequencyCounterMatrix.getMaximumMatrixCounter();
-        this.nextShotMatrixCoordinate = new MatrixCoordinates(mc.x, mc.y);
+        nextShotCellIndex = frequencyCounterMatrix.getMaximumCellIndex();
     }
     
     private Ship.Orientation detectOrientation(
@@ -192,17 +217,19 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
     
     private void searchHorizontally(
             FrequencyCounterMatrix frequencyCounterMatrix,
-            MatrixCoordinates shotCoordinates,
+            int shotCellIndex,
             Ship searchShip) {
         
+        int shotX = shotCellIndex % gameField.getWidth();
+        int shotY = shotCellIndex / gameField.getWidth();
+        
         searchShip = new Ship(searchShip);
         searchShip.setOrientation(Ship.Orientation.HORIZONTAL);
-        Ship opponentShip = gameField.getShipAt(shotCoordinates.x,
-                                                shotCoordinates.y);
+        Ship opponentShip = gameField.getShipAt(shotCellIndex);
         
         for (int i = 0; i < searchShip.getLength(); i++) {
-            int shipX = shotCoordinates.x - i;
-            int shipY = shotCoordinates.y;
+            int shipX = shotX - i;
+            int shipY = shotY;
             
             if (shipX < 0) {
                 break;
@@ -214,24 +241,26 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
             
             if (!overlapsFocusedShip(searchShip, opponentShip)) {
                 frequencyCounterMatrix.incrementShipExcept(searchShip, 
-                                                           shotCoordinates);
+                                                           shotCellIndex);
             }
         }
     }
     
     private void searchVertically(
             FrequencyCounterMatrix frequencyCounterMatrix,
-            MatrixCoordinates shotCoordinates,
+            int shotCellIndex,
             Ship searchShip) {
         
+        int shotX = shotCellIndex % gameField.getWidth();
+        int shotY = shotCellIndex / gameField.getWidth();
+        
         searchShip = new Ship(searchShip);
         searchShip.setOrientation(Ship.Orientation.VERTICAL);
-        Ship opponentShip = gameField.getShipAt(shotCoordinates.x,
-                                                shotCoordinates.y);
+        Ship opponentShip = gameField.getShipAt(shotCellIndex);
         
         for (int i = 0; i < searchShip.getLength(); i++) {
-            int shipX = shotCoordinates.x;
-            int shipY = shotCoordinates.y - i;
+            int shipX = shotX;
+            int shipY = shotY - i;
             
             if (shipY < 0) {
                 break;
@@ -243,7 +272,7 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
             
             if (!overlapsFocusedShip(searchShip, opponentShip)) {
                 frequencyCounterMatrix.incrementShipExcept(searchShip,
-                                                           shotCoordinates);
+                                                           shotCellIndex);
             }
         }
     }
@@ -265,11 +294,10 @@ public final class FocusedBattleshipAIBotOld implements BattleshipAIBot {
     }
     
     private Ship.Orientation 
-        tryInferOrientation(Ship probeShip, 
-                            MatrixCoordinates shotCoordinates) {
+        tryInferOrientation(Ship probeShip, int shotCellIndex) {
             
-        int x = shotCoordinates.x;
-        int y = shotCoordinates.y;
+        int x = shotCellIndex % gameField.getWidth();
+        int y = shotCellIndex / gameField.getWidth();
         
         if (gameField.getShipAt(x, y - 1) == probeShip) {
             return Ship.Orientation.VERTICAL;
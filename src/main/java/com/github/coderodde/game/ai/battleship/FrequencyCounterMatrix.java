@@ -1,13 +1,14 @@
 package com.github.coderodde.game.ai.battleship;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
-import java.util.Set;
 
 /**
- * This class represents the frequency counter matrix.
+ * This class represents the frequency counter matrix. The counters are stored
+ * in a flat {@code long} array in row-major order, so that incrementing a 
+ * counter is a single array update. The most favourable cell is searched only 
+ * when asked for.
  * 
  * @author Rodion "rodde" Efremov
  * @version 1.6 (Aug 5, 2023)
@@ -16,24 +17,25 @@ import java.util.Set;
 public final class FrequencyCounterMatrix {
     
     /**
-     * The actual frequency counter matrix.
+     * The actual frequency counters. The counter of the cell {@code (x, y)} 
+     * is stored at the index {@code y * width + x}.
      */
-    private final int[][] frequencyCounterMatrix;
+    private final long[] counters;
     
     /**
-     * The pseudo-random number generator. Used for resolving ties.
+     * The width of the matrix.
      */
-    private final Random random = new Random();
+    private final int width;
     
     /**
-     * List of best coordinate pairs.
+     * The height of the matrix.
      */
-    private final List<MatrixCoordinates> bestCoordinates = new ArrayList<>();
+    private final int height;
     
     /**
-     * The best count so far.
+     * The pseudo-random number generator. Used for resolving ties.
      */
-    private int bestCount = -1;
+    private final Random random = new Random();
     
     /**
      * Constructs this frequency counter matrix.
@@ -42,7 +44,9 @@ public final class FrequencyCounterMatrix {
      * @param height the height of the matrix.
      */
     public FrequencyCounterMatrix(int width, int height) {
-        this.frequencyCounterMatrix = new int[height][width];
+        this.counters = new long[width * height];
+        this.width = width;
+        this.height = height;
     }
     
     /**
@@ -52,17 +56,40 @@ public final class FrequencyCounterMatrix {
      * @param y the Y-coordinate of the cell.
      */
     public void increment(int x, int y) {
-        frequencyCounterMatrix[y][x]++;
-        
-        if (frequencyCounterMatrix[y][x] > bestCount) {
-            // Found new best spot:
-            bestCount = frequencyCounterMatrix[y][x];
-            bestCoordinates.clear();
-            bestCoordinates.add(new MatrixCoordinates(x, y));
-        } else if (frequencyCounterMatrix[y][x] == bestCount) {
-            // Adding a tie:
-            bestCoordinates.add(new MatrixCoordinates(x, y));
-        }
+        counters[y * width + x]++;
+    }
+    
+    /**
+     * Increments the matrix cell by {@code amount} at coordinates 
+     * {@code (x, y)}.
+     * 
+     * @param x      the X-coordinate of the cell.
+     * @param y      the Y-coordinate of the cell.
+     * @param amount the amount to add.
+     */
+    public void increment(int x, int y, long amount) {
+        counters[y * width + x] += amount;
+    }
+    
+    /**
+     * Increments the counter of the cell with the index {@code cellIndex} by 
+     * one.
+     * 
+     * @param cellIndex the index {@code y * width + x} of the cell.
+     */
+    public void incrementCell(int cellIndex) {
+        counters[cellIndex]++;
+    }
+    
+    /**
+     * Increments the counter of the cell with the index {@code cellIndex} by 
+     * {@code amount}.
+     * 
+     * @param cellIndex the index {@code y * width + x} of the cell.
+     * @param amount    the amount to add.
+     */
+    public void incrementCell(int cellIndex, long amount) {
+        counters[cellIndex] += amount;
     }
     
     /**
@@ -71,18 +98,21 @@ public final class FrequencyCounterMatrix {
      * @param ship the ship to increment.
      */
     public void incrementShip(Ship ship) {
-        switch (ship.getOrientation()) {
-            case HORIZONTAL -> {
-                incrementHorizontal(ship);
-                return;
-            }
-                
-            case VERTICAL -> {
-                incrementVertical(ship);
-                return;
-            }
-                
-            default -> throw new IllegalStateException("Should not get here.");
+        incrementShip(ship, 1L);
+    }
+    
+    /**
+     * Increments all the cells occupied by {@code ship} by {@code amount}.
+     * 
+     * @param ship   the ship to increment.
+     * @param amount the amount to add.
+     */
+    public void incrementShip(Ship ship, long amount) {
+        int cellIndex = ship.getY() * width + ship.getX();
+        int step = getStep(ship);
+        
+        for (int i = 0; i < ship.getLength(); i++, cellIndex += step) {
+            counters[cellIndex] += amount;
         }
     }
     
@@ -93,18 +123,24 @@ public final class FrequencyCounterMatrix {
      * @param mc   the coordinate to exclude.
      */
     public void incrementShipExcept(Ship ship, MatrixCoordinates mc) {
-        switch (ship.getOrientation()) {
-            case HORIZONTAL -> {
-                incrementHorizontalExcept(ship, mc);
-                return;
-            }
-                
-            case VERTICAL -> {
-                incrementVerticalExcept(ship, mc);
-                return;
+        incrementShipExcept(ship, mc.y * width + mc.x);
+    }
+    
+    /**
+     * Increments the ship except the cell with the index 
+     * {@code excludedCellIndex}.
+     * 
+     * @param ship              the ship to increment.
+     * @param excludedCellIndex the index of the cell to exclude.
+     */
+    public void incrementShipExcept(Ship ship, int excludedCellIndex) {
+        int cellIndex = ship.getY() * width + ship.getX();
+        int step = getStep(ship);
+        
+        for (int i = 0; i < ship.getLength(); i++, cellIndex += step) {
+            if (cellIndex != excludedCellIndex) {
+                counters[cellIndex]++;
             }
-                
-            default -> throw new IllegalStateException("Should not get here.");
         }
     }
     
@@ -114,8 +150,56 @@ public final class FrequencyCounterMatrix {
      * @param fleet the fleet to increment.
      */
     public void incrementFleet(List<Ship> fleet) {
-        for (Ship ship : fleet) {
-            incrementShip(ship);
+        incrementFleet(fleet, 1L);
+    }
+    
+    /**
+     * Increments the entire fleet by {@code amount}. Used for counting an
+     * arrangement that stands for {@code amount} equivalent arrangements.
+     * 
+     * @param fleet  the fleet to increment.
+     * @param amount the amount to add.
+     */
+    public void incrementFleet(List<Ship> fleet, long amount) {
+        for (int i = 0; i < fleet.size(); i++) {
+            incrementShip(fleet.get(i), amount);
+        }
+    }
+    
+    /**
+     * Adds all the counters of {@code other} to this matrix.
+     * 
+     * @param other the matrix to add. Must be of the same size as this matrix.
+     */
+    public void add(FrequencyCounterMatrix other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+    }
+    
+    /**
+     * Adds all the counters of {@code other} multiplied by {@code factor} to
+     * this matrix.
+     * 
+     * @param other  the matrix to add. Must be of the same size as this 
+     *               matrix.
+     * @param factor the multiplier of the counters of {@code other}.
+     */
+    void add(FrequencyCounterMatrix other, long factor) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i] * factor;
+        }
+    }
+    
+    /**
+     * Subtracts all the counters of {@code other} from this matrix.
+     * 
+     * @param other the matrix to subtract. Must be of the same size as this 
+     *              matrix.
+     */
+    public void subtract(FrequencyCounterMatrix other) {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] -= other.counters[i];
         }
     }
     
@@ -123,11 +207,38 @@ public final class FrequencyCounterMatrix {
      * Clears the entire matrix.
      */
     public void clear() {
-        for (int[] row : frequencyCounterMatrix) {
-            Arrays.setAll(row, (op) -> 0);
+        Arrays.fill(counters, 0L);
+    }
+    
+    /**
+     * Replaces all the counters of this matrix with {@code counters}.
+     * 
+     * @param counters the new counters in row-major order.
+     */
+    void load(long[] counters) {
+        System.arraycopy(counters, 0, this.counters, 0, this.counters.length);
+    }
+    
+    /**
+     * Returns a copy of the counters of this matrix in row-major order.
+     * 
+     * @return the counters.
+     */
+    long[] toArray() {
+        return counters.clone();
+    }
+    
+    /**
+     * Resets the counters of all the cells set in the bitboard {@code cells}.
+     * 
+     * @param cells the bitboard of the cells to clear.
+     */
+    void clear(long[] cells) {
+        for (int cellIndex = 0; cellIndex < counters.length; cellIndex++) {
+            if (BitBoard.get(cells, cellIndex)) {
+                counters[cellIndex] = 0L;
+            }
         }
-        
-        bestCount = -1;
     }
     
     /**
@@ -136,7 +247,50 @@ public final class FrequencyCounterMatrix {
      * @return one of the most favourable cell coordinates.
      */
     public MatrixCoordinates getMaximumMatrixCounter() {
-        return bestCoordinates.get(random.nextInt(bestCoordinates.size()));
+        int cellIndex = getMaximumCellIndex();
+        return new MatrixCoordinates(cellIndex % width, cellIndex / width);
+    }
+    
+    /**
+     * Returns the index {@code y * width + x} of one of the most favourable 
+     * cells randomly. Unlike {@link #getMaximumMatrixCounter()}, allocates 
+     * nothing.
+     * 
+     * @return the index of one of the most favourable cells.
+     */
+    public int getMaximumCellIndex() {
+        long bestCount = getMaximumCount();
+        int ties = 0;
+        
+        for (long counter : counters) {
+            if (counter == bestCount) {
+                ties++;
+            }
+        }
+        
+        int tieIndex = random.nextInt(ties);
+        
+        for (int cellIndex = 0; ; cellIndex++) {
+            if (counters[cellIndex] == bestCount && tieIndex-- == 0) {
+                return cellIndex;
+            }
+        }
+    }
+    
+    /**
+     * Returns the largest counter of this matrix. Returns zero if nothing has
+     * been counted since the latest clearing.
+     * 
+     * @return the largest counter.
+     */
+    public long getMaximumCount() {
+        long bestCount = Long.MIN_VALUE;
+        
+        for (long counter : counters) {
+            bestCount = Math.max(bestCount, counter);
+        }
+        
+        return bestCount;
     }
     
     /**
@@ -148,15 +302,11 @@ public final class FrequencyCounterMatrix {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         int maximumCounterLength = computeMaximumCounterLength();
-        int lineNumber = 1;
-        int totalLines = frequencyCounterMatrix.length;
         
-        for (int[] row : frequencyCounterMatrix) {
+        for (int y = 0; y < height; y++) {
             load(sb,
-                 row,
-                 maximumCounterLength, 
-                 lineNumber++, 
-                 totalLines);
+                 y,
+                 maximumCounterLength);
         }
         
         return sb.toString();
@@ -170,8 +320,19 @@ public final class FrequencyCounterMatrix {
      * 
      * @return the count at the specified cell.
      */
-    public int getCounter(int x, int y) {
-        return frequencyCounterMatrix[y][x];
+    public long getCounter(int x, int y) {
+        return counters[y * width + x];
+    }
+    
+    /**
+     * Gets the count of the cell with the index {@code cellIndex}.
+     * 
+     * @param cellIndex the index {@code y * width + x} of the cell.
+     * 
+     * @return the count at the specified cell.
+     */
+    public long getCounter(int cellIndex) {
+        return counters[cellIndex];
     }
     
     /**
@@ -182,152 +343,67 @@ public final class FrequencyCounterMatrix {
     private int computeMaximumCounterLength() {
         int tentativeMaximumLength = 0;
         
-        for (int[] row : frequencyCounterMatrix) {
-            for (int entry : row) {
-                tentativeMaximumLength = 
-                        Math.max(
-                                tentativeMaximumLength,
-                                Integer.toString(entry).length());
-            }
+        for (long entry : counters) {
+            tentativeMaximumLength = 
+                    Math.max(
+                            tentativeMaximumLength,
+                            Long.toString(entry).length());
         }
         
         return tentativeMaximumLength;
     }
     
     /**
-     * Increments a <b>horizontal</b> ship.
+     * Increments all the cells of {@code ship} that are not set in the 
+     * bitboard {@code excludedCells}.
      * 
-     * @param ship the ship to increment.
+     * @param ship          the ship to increment.
+     * @param excludedCells the bitboard of the cells to exclude.
      */
-    private void incrementHorizontal(Ship ship) {
-        for (int i = 0; i < ship.getLength(); i++) {
-            increment(ship.getX() + i, ship.getY());
-        }
-    }
-    
-    void incrementWithExclusion(
-            Ship ship,
-            Set<MatrixCoordinates> excludedPoints) {
+    void incrementWithExclusion(Ship ship, long[] excludedCells) {
+        int cellIndex = ship.getY() * width + ship.getX();
+        int step = getStep(ship);
         
-        switch (ship.getOrientation()) {
-            case HORIZONTAL -> {
-                incrementHorizontalWithExclusion(ship, excludedPoints);
-                return;
-            }
-                
-            case VERTICAL -> {
-                incrementVerticalWithExclusion(ship, excludedPoints);
-                return;
-            }
-                
-            default -> throw new IllegalStateException("Should not get here.");
-        }
-    }
-    
-    private void incrementHorizontalWithExclusion(
-            Ship ship,
-            Set<MatrixCoordinates> excludedPoints) {
-        
-        MatrixCoordinates mc = new MatrixCoordinates(-1, ship.getY());
-        
-        for (int i = 0; i < ship.getLength(); i++) {
-            mc.x = ship.getX() + i;
-            
-            if (!excludedPoints.contains(mc)) {
-                increment(ship.getX() + i, ship.getY());
-            }
-        }
-    }
-    
-    private void incrementVerticalWithExclusion(
-            Ship ship,
-            Set<MatrixCoordinates> excludedPoints) {
-        
-        MatrixCoordinates mc = new MatrixCoordinates(ship.getX(), -1);
-        
-        for (int i = 0; i < ship.getLength(); i++) {
-            mc.y = ship.getY() + i;
-            
-            if (!excludedPoints.contains(mc)) {
-                increment(ship.getX(), ship.getY() + i);
+        for (int i = 0; i < ship.getLength(); i++, cellIndex += step) {
+            if (!BitBoard.get(excludedCells, cellIndex)) {
+                counters[cellIndex]++;
             }
         }
     }
     
     /**
-     * Increments a <b>vertical</b> ship.
+     * Returns the difference between the indices of two consecutive cells of
+     * {@code ship}.
      * 
-     * @param ship the ship to increment.
-     */
-    private void incrementVertical(Ship ship) {
-        for (int i = 0; i < ship.getLength(); i++) {
-            increment(ship.getX(), ship.getY() + i);
-        }
-    }
-    
-    /**
-     * Increments a <b>horizontal</b> ship except the cell at coordinates 
-     * {@code mc}.
+     * @param ship the ship.
      * 
-     * @param ship the ship to increment.
-     * @param mc   the coordinates of a cell to exclude.
+     * @return the cell index step of the ship.
      */
-    private void incrementHorizontalExcept(Ship ship, MatrixCoordinates mc) {
-        for (int i = 0; i < ship.getLength(); i++) {
-            int x = ship.getX() + i;
-            int y = ship.getY();
-            
-            if (x != mc.x || y != mc.y) {
-                increment(ship.getX() + i, ship.getY());
-            }
-        }
-    }
-    
-    /**
-     * Increments a <b>vertical</b> ship except the cell at coordinates 
-     * {@code mc}.
-     * 
-     * @param ship the ship to increment.
-     * @param mc   the coordinates of a cell to exclude.
-     */
-    private void incrementVerticalExcept(Ship ship, MatrixCoordinates mc) {
-        for (int i = 0; i < ship.getLength(); i++) {
-            int x = ship.getX();
-            int y = ship.getY() + i;
-            
-            if (x != mc.x || y != mc.y) {
-                increment(ship.getX(), ship.getY() + i);
-            }
-        }
+    private int getStep(Ship ship) {
+        return ship.getOrientation() == Ship.Orientation.HORIZONTAL ? 
+                1 : 
+                width;
     }
     
     /**
      * Loads a matrix row into a string builder.
      * 
      * @param sb                 the target string builder.
-     * @param row                the row to load.
+     * @param y                  the index of the row to load.
      * @param maximumEntryLength the maximum length of an entry in characters.
-     * @param lineNumber         the line number of the {@code row}.
-     * @param totalRows          the total number of rows in the matrix. 
-     */
-    private static void load(StringBuilder sb,
-                             int[] row, 
-                             int maximumEntryLength, 
-                             int lineNumber, 
-                             int totalRows) {
-        int rowLength = row.length;
-        int entryIndex = 0;
+     */
+    private void load(StringBuilder sb, int y, int maximumEntryLength) {
         String format = "%" + maximumEntryLength + "d";
         
-        for (int entry : row) {
-            sb.append(String.format(format, entry));
+        for (int x = 0; x < width; x++) {
+            sb.append(String.format(format, counters[y * width + x]));
             
-            if (++entryIndex < rowLength) {
+            if (x + 1 < width) {
                 sb.append(" ");
             }
         }
         
-        if (lineNumber < totalRows) {
+        if (y + 1 < height) {
             sb.append("\n");
         }
     }
@@ -1,6 +1,7 @@
 package com.github.coderodde.game.ai.battleship;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,13 +23,100 @@ public final class GameField {
         SHOT;
     }
     
+    /**
+     * This class holds a snapshot of the knowledge state of a game field: the
+     * shot cells, the Zobrist hash, the pushed shot stack and the standing 
+     * fleet. A snapshot may be overwritten by 
+     * {@link GameField#snapshot(Snapshot)} any number of times, so a search 
+     * may reuse one snapshot per ply.
+     */
+    public static final class Snapshot {
+        
+        /**
+         * The shot cells.
+         */
+        private final long[] shotCells;
+        
+        /**
+         * The Zobrist hash.
+         */
+        private long zobristHash;
+        
+        /**
+         * The pushed shot stack.
+         */
+        private int[] shotStack;
+        
+        /**
+         * The Zobrist hashes preceding the pushed shots.
+         */
+        private long[] hashStack;
+        
+        /**
+         * The number of pushed shots.
+         */
+        private int shotStackSize;
+        
+        /**
+         * The opponent fleet.
+         */
+        private final List<Ship> opponentFleet = new ArrayList<>();
+        
+        /**
+         * The search ship of each ship in {@link #opponentFleet}.
+         */
+        private final List<Ship> searchFleet = new ArrayList<>();
+        
+        private Snapshot(int words, int stackCapacity) {
+            this.shotCells = new long[words];
+            this.shotStack = new int[stackCapacity];
+            this.hashStack = new long[stackCapacity];
+        }
+    }
+    
     private static final int DEFAULT_WIDTH = 10;
     private static final int DEFAULT_HEIGHT = 10;
     
     private final int width;
     private final int height;
-    private final GameFieldCellState[][] gameFieldCellStateMatrix;
     private final Ship[][] shipMatrix;
+    
+    /**
+     * The bitboard of the cells that are already shot.
+     */
+    private final long[] shotCells;
+    
+    /**
+     * The bitboard of the cells occupied by the opponent fleet.
+     */
+    private final long[] shipCells;
+    
+    /**
+     * The Zobrist hash of the shot cells, their outcomes and the search 
+     * fleet.
+     */
+    private long zobristHash;
+    
+    /**
+     * The cells pushed by {@link #pushShot(int)}. A cell that was already shot
+     * when pushed is stored as its bitwise complement.
+     */
+    private int[] shotStack;
+    
+    /**
+     * The Zobrist hash preceding each pushed shot.
+     */
+    private long[] hashStack;
+    
+    /**
+     * The number of pushed shots not popped yet.
+     */
+    private int shotStackSize;
+    
+    /**
+     * The scratch bitboard for converting ships to masks.
+     */
+    private final long[] shipMaskBuffer;
     private final List<Ship> searchFleet = new ArrayList<>();
     private final List<Ship> opponentFleet = new ArrayList<>();
     
@@ -38,16 +126,25 @@ public final class GameField {
     public GameField(int width, int height) {
         this.width = width;
         this.height = height;
-        this.gameFieldCellStateMatrix = new GameFieldCellState[height][width];
+        this.zobristHash = Zobrist.emptyFieldKey(width, height);
         this.shipMatrix = new Ship[height][width];
-        initializeGameFieldCellStateMatrix();
+        this.shotCells = BitBoard.create(width, height);
+        this.shipCells = BitBoard.create(width, height);
+        this.shipMaskBuffer = BitBoard.create(width, height);
+        this.shotStack = new int[width * height];
+        this.hashStack = new long[width * height];
     }
     
     public GameField(GameField other) {
         this.width = other.width;
         this.height = other.height;
-        this.gameFieldCellStateMatrix = new GameFieldCellState[height][width];
+        this.zobristHash = Zobrist.emptyFieldKey(width, height);
         this.shipMatrix = new Ship[height][width];
+        this.shotCells = BitBoard.create(width, height);
+        this.shipCells = BitBoard.create(width, height);
+        this.shipMaskBuffer = BitBoard.create(width, height);
+        this.shotStack = new int[width * height];
+        this.hashStack = new long[width * height];
         this.copyGameData(other);
     }
     
@@ -64,6 +161,8 @@ public final class GameField {
         
         searchFleet.add(searchShip);
         opponentFleet.add(opponentShip);
+        zobristHash ^= Zobrist.shipKey(ship.getLength(), 
+                                       countShips(ship.getLength()));
         mapOpponentShipToSearchShip.put(opponentShip, searchShip);
         
         printShipToShipMatrix(opponentShip);
@@ -82,8 +181,25 @@ public final class GameField {
                          [matrixCoordinates.x];
     }
     
+    /**
+     * Returns the ship occupying the cell with the index {@code cellIndex}, or
+     * {@code null} if the cell is empty.
+     * 
+     * @param cellIndex the index of the cell.
+     * 
+     * @return the ship at the cell.
+     */
+    public Ship getShipAt(int cellIndex) {
+        return shipMatrix[cellIndex / width][cellIndex % width];
+    }
+    
     public void removeShip(Ship ship) {
-        searchFleet.remove(mapOpponentShipToSearchShip.get(ship));
+        int ordinal = countShips(ship.getLength());
+        
+        if (searchFleet.remove(mapOpponentShipToSearchShip.get(ship))) {
+            zobristHash ^= Zobrist.shipKey(ship.getLength(), ordinal);
+        }
+        
         opponentFleet.remove(ship);
         unprintShipFromShipMatrix(ship);
     }
@@ -93,29 +209,37 @@ public final class GameField {
     }
     
     public boolean shipOccupiesClosedCell(Ship ship) {
-        switch (ship.getOrientation()) {
-            case HORIZONTAL:
-                return horizontalShipOccupiesClosedCell(ship);
-                
-            case VERTICAL:
-                return verticalShipOccupiesClosedCell(ship);
-                
-            default:
-                throw new IllegalStateException("Should not get here.");
-        }
+        BitBoard.loadShipMask(ship, width, shipMaskBuffer);
+        return shipOccupiesClosedCell(shipMaskBuffer);
+    }
+    
+    /**
+     * Checks whether the ship mask {@code shipMask} occupies any cell that is
+     * already shot.
+     * 
+     * @param shipMask the bitboard of the cells of a ship.
+     * 
+     * @return {@code true} only if the mask contains a shot cell.
+     */
+    public boolean shipOccupiesClosedCell(long[] shipMask) {
+        return BitBoard.intersects(shotCells, shipMask);
     }
     
     public boolean shipOccupiesAnotherShip(Ship ship) {
-        switch (ship.getOrientation()) {
-            case HORIZONTAL:
-                return horizonalShipOccupiesAnotherShip(ship);
-                
-            case VERTICAL:
-                return verticalShipOccupiesAnotherShip(ship);
-                
-            default:
-                throw new IllegalStateException("Should not get here.");
-        }
+        BitBoard.loadShipMask(ship, width, shipMaskBuffer);
+        return shipOccupiesAnotherShip(shipMaskBuffer);
+    }
+    
+    /**
+     * Checks whether the ship mask {@code shipMask} occupies any cell that is
+     * occupied by the opponent fleet.
+     * 
+     * @param shipMask the bitboard of the cells of a ship.
+     * 
+     * @return {@code true} only if the mask contains an occupied cell.
+     */
+    public boolean shipOccupiesAnotherShip(long[] shipMask) {
+        return BitBoard.intersects(shipCells, shipMask);
     }
     
     public List<Ship> getSearchFleet() {
@@ -131,20 +255,276 @@ public final class GameField {
     }
     
     public void shoot(int x, int y) {
-        gameFieldCellStateMatrix[y][x] = GameFieldCellState.SHOT;
+        shoot(getCellIndex(x, y));
     }
     
-    public boolean shipIsDestroyed(Ship ship) {
-        switch (ship.getOrientation()) {
-            case HORIZONTAL:
-                return horizontalShipIsDestroyed(ship);
-                
-            case VERTICAL:
-                return verticalShipIsDestroyed(ship);
+    /**
+     * Shoots the cell with the index {@code cellIndex}. Shooting a cell that 
+     * is already shot has no effect.
+     * 
+     * @param cellIndex the index of the cell.
+     */
+    public void shoot(int cellIndex) {
+        if (!BitBoard.get(shotCells, cellIndex)) {
+            BitBoard.set(shotCells, cellIndex);
+            zobristHash ^= Zobrist.shotKey(cellIndex, 
+                                           getShipAt(cellIndex) != null);
+        }
+    }
+    
+    /**
+     * Shoots the cell with the index {@code cellIndex} so that the shot can be
+     * taken back by {@link #popShot()}. Unlike {@link #shoot(int)}, this never
+     * removes a ship, and pushing an already shot cell is recorded as well, 
+     * so the pushes and pops always match.
+     * 
+     * @param cellIndex the index of the cell.
+     */
+    public void pushShot(int cellIndex) {
+        if (shotStackSize == shotStack.length) {
+            shotStack = Arrays.copyOf(shotStack, 2 * shotStack.length);
+            hashStack = Arrays.copyOf(hashStack, 2 * hashStack.length);
+        }
+        
+        hashStack[shotStackSize] = zobristHash;
+        
+        if (isShot(cellIndex)) {
+            shotStack[shotStackSize++] = ~cellIndex;
+        } else {
+            shotStack[shotStackSize++] = cellIndex;
+            shoot(cellIndex);
+        }
+    }
+    
+    /**
+     * Takes back the latest shot pushed by {@link #pushShot(int)}, restoring 
+     * the shot cells and the Zobrist hash to what they were before the push.
+     * 
+     * @return the index of the cell of the popped shot.
+     */
+    public int popShot() {
+        if (shotStackSize == 0) {
+            throw new IllegalStateException("No pushed shots to pop.");
+        }
+        
+        int cellIndex = shotStack[--shotStackSize];
+        zobristHash = hashStack[shotStackSize];
+        
+        if (cellIndex < 0) {
+            return ~cellIndex;
+        }
+        
+        BitBoard.clear(shotCells, cellIndex);
+        return cellIndex;
+    }
+    
+    /**
+     * Returns the number of shots pushed by {@link #pushShot(int)} and not 
+     * popped yet.
+     * 
+     * @return the number of pushed shots.
+     */
+    public int getPushedShots() {
+        return shotStackSize;
+    }
+    
+    /**
+     * Takes a snapshot of the knowledge state of this game field.
+     * 
+     * @return a new snapshot.
+     */
+    public Snapshot snapshot() {
+        Snapshot snapshot = new Snapshot(shotCells.length, shotStack.length);
+        snapshot(snapshot);
+        return snapshot;
+    }
+    
+    /**
+     * Overwrites {@code snapshot} with the knowledge state of this game field.
+     * Allocates nothing unless the snapshot is too small for the pushed shot
+     * stack or the fleet.
+     * 
+     * @param snapshot the snapshot to overwrite. Must be taken of a game 
+     *                 field of the same size.
+     */
+    public void snapshot(Snapshot snapshot) {
+        System.arraycopy(shotCells, 0, snapshot.shotCells, 0, shotCells.length);
+        snapshot.zobristHash = zobristHash;
+        
+        if (snapshot.shotStack.length < shotStackSize) {
+            snapshot.shotStack = new int[shotStack.length];
+            snapshot.hashStack = new long[hashStack.length];
+        }
+        
+        System.arraycopy(shotStack, 0, snapshot.shotStack, 0, shotStackSize);
+        System.arraycopy(hashStack, 0, snapshot.hashStack, 0, shotStackSize);
+        snapshot.shotStackSize = shotStackSize;
+        
+        snapshot.opponentFleet.clear();
+        snapshot.searchFleet.clear();
+        
+        for (Ship opponentShip : opponentFleet) {
+            snapshot.opponentFleet.add(opponentShip);
+            snapshot.searchFleet.add(
+                    mapOpponentShipToSearchShip.get(opponentShip));
+        }
+    }
+    
+    /**
+     * Restores the knowledge state of this game field from 
+     * {@code snapshot}. The ships removed since the snapshot was taken are put
+     * back. The snapshot stays valid and may be restored again.
+     * 
+     * @param snapshot the snapshot to restore.
+     */
+    public void restore(Snapshot snapshot) {
+        if (!hasSameOpponentFleet(snapshot)) {
+            for (Ship opponentShip : opponentFleet) {
+                unprintShipFromShipMatrix(opponentShip);
+            }
+            
+            opponentFleet.clear();
+            searchFleet.clear();
+            
+            for (int i = 0; i < snapshot.opponentFleet.size(); i++) {
+                Ship opponentShip = snapshot.opponentFleet.get(i);
+                Ship searchShip = snapshot.searchFleet.get(i);
                 
-            default:
-                throw new IllegalStateException("Should not get here.");
+                opponentFleet.add(opponentShip);
+                searchFleet.add(searchShip);
+                mapOpponentShipToSearchShip.put(opponentShip, searchShip);
+                printShipToShipMatrix(opponentShip);
+            }
         }
+        
+        System.arraycopy(snapshot.shotCells, 0, shotCells, 0, shotCells.length);
+        zobristHash = snapshot.zobristHash;
+        
+        if (shotStack.length < snapshot.shotStackSize) {
+            shotStack = new int[snapshot.shotStack.length];
+            hashStack = new long[snapshot.hashStack.length];
+        }
+        
+        shotStackSize = snapshot.shotStackSize;
+        System.arraycopy(snapshot.shotStack, 0, shotStack, 0, shotStackSize);
+        System.arraycopy(snapshot.hashStack, 0, hashStack, 0, shotStackSize);
+    }
+    
+    public GameFieldCellState getCellState(int x, int y) {
+        return getCellState(getCellIndex(x, y));
+    }
+    
+    /**
+     * Returns the state of the cell with the index {@code cellIndex}.
+     * 
+     * @param cellIndex the index of the cell.
+     * 
+     * @return the state of the cell.
+     */
+    public GameFieldCellState getCellState(int cellIndex) {
+        return isShot(cellIndex) ?
+                GameFieldCellState.SHOT :
+                GameFieldCellState.CLEAR;
+    }
+    
+    /**
+     * Checks whether the cell with the index {@code cellIndex} is already 
+     * shot.
+     * 
+     * @param cellIndex the index of the cell.
+     * 
+     * @return {@code true} only if the cell is shot.
+     */
+    public boolean isShot(int cellIndex) {
+        return BitBoard.get(shotCells, cellIndex);
+    }
+    
+    public boolean shipIsDestroyed(Ship ship) {
+        BitBoard.loadShipMask(ship, width, shipMaskBuffer);
+        return BitBoard.containsAll(shotCells, shipMaskBuffer);
+    }
+    
+    /**
+     * Returns the index of the cell {@code (x, y)} in the bitboards of this
+     * game field.
+     * 
+     * @param x the {@code X}-coordinate of the cell.
+     * @param y the {@code Y}-coordinate of the cell.
+     * 
+     * @return the cell index.
+     */
+    public int getCellIndex(int x, int y) {
+        return y * width + x;
+    }
+    
+    /**
+     * Returns the index of the cell at {@code matrixCoordinates}.
+     * 
+     * @param matrixCoordinates the coordinates of the cell.
+     * 
+     * @return the cell index.
+     */
+    public int getCellIndex(MatrixCoordinates matrixCoordinates) {
+        return getCellIndex(matrixCoordinates.x, matrixCoordinates.y);
+    }
+    
+    /**
+     * Returns the coordinates of the cell with the index {@code cellIndex}. 
+     * Allocates a new object, so use this only at the public boundary.
+     * 
+     * @param cellIndex the index of the cell.
+     * 
+     * @return the cell coordinates.
+     */
+    public MatrixCoordinates getMatrixCoordinates(int cellIndex) {
+        return new MatrixCoordinates(cellIndex % width, cellIndex / width);
+    }
+    
+    /**
+     * Returns the bitboard of the shot cells. The returned array must not be
+     * modified.
+     * 
+     * @return the bitboard of the shot cells.
+     */
+    long[] getShotCells() {
+        return shotCells;
+    }
+    
+    /**
+     * Loads the hit cells to {@code target}. A hit cell is a shot cell 
+     * occupied by a ship that is not yet removed.
+     * 
+     * @param target the target bitboard.
+     */
+    void loadHitCells(long[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = shotCells[i] & shipCells[i];
+        }
+    }
+    
+    /**
+     * Checks whether any ship standing on this game field has been hit.
+     * 
+     * @return {@code true} only if there is at least one hit cell.
+     */
+    boolean hasHitCells() {
+        return BitBoard.intersects(shotCells, shipCells);
+    }
+    
+    /**
+     * Returns the Zobrist hash of the knowledge state of this game field. The
+     * hash covers the game field size, the shot cells together with whether
+     * each shot hit, and the multiset of the lengths of the search fleet. It
+     * is updated incrementally by {@link #shoot(int, int)}, 
+     * {@link #addShip(Ship)} and {@link #removeShip(Ship)}, so equal states 
+     * have equal hashes regardless of the order they were reached in. 
+     * {@link #popShot()} and {@link #restore(Snapshot)} bring back the 
+     * earlier hash.
+     * 
+     * @return the 64-bit Zobrist hash.
+     */
+    public long getZobristHash() {
+        return zobristHash;
     }
     
     public boolean gameOver() {
@@ -175,59 +555,33 @@ public final class GameField {
         return standingOpponentFleet;
     }
     
-    private void initializeGameFieldCellStateMatrix() {
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                gameFieldCellStateMatrix[y][x] = GameFieldCellState.CLEAR;
-            }
+    private boolean hasSameOpponentFleet(Snapshot snapshot) {
+        if (opponentFleet.size() != snapshot.opponentFleet.size() ||
+                searchFleet.size() != snapshot.searchFleet.size()) {
+            return false;
         }
-    }
-    
-    /**
-     * Checks whether an input ship with the 
-     * <b><i>horizontal orientation</i></b> occupies any cell that is already
-     * cleared/shot.
-     * 
-     * @param ship the target ship to check.
-     * 
-     * @return {@code true} only if the input ship occupies a cleared cell.
-     */
-    private boolean horizontalShipOccupiesClosedCell(Ship ship) {
-        int y = ship.getY();
         
-        for (int i = 0; i < ship.getLength(); i++) {
-            int x = ship.getX() + i;
-            
-            if (gameFieldCellStateMatrix[y][x] == GameFieldCellState.SHOT) {
-                return true;
+        for (int i = 0; i < opponentFleet.size(); i++) {
+            if (opponentFleet.get(i) != snapshot.opponentFleet.get(i)) {
+                return false;
             }
         }
         
-        return false;
+        return true;
     }
     
-    /**
-     * Checks whether an input ship with the <b><i>vertical orientation</i></b>
-     * occupies any cell that is already cleared/shot.
-     * 
-     * @param ship the target ship to check.
-     * 
-     * @return {@code true} only if the input ship occupies a cleared cell.
-     */
-    private boolean verticalShipOccupiesClosedCell(Ship ship) {
-        int x = ship.getX();
+    private int countShips(int length) {
+        int count = 0;
         
-        for (int i = 0; i < ship.getLength(); i++) {
-            int y = ship.getY() + i;
-            
-            if (gameFieldCellStateMatrix[y][x] == GameFieldCellState.SHOT) {
-                return true;
+        for (Ship ship : searchFleet) {
+            if (ship.getLength() == length) {
+                count++;
             }
         }
         
-        return false;
+        return count;
     }
-        
+    
     private void printShipToShipMatrix(Ship ship) {
         switch (ship.getOrientation()) {
             case HORIZONTAL -> {
@@ -256,6 +610,7 @@ public final class GameField {
             }
             
             shipMatrix[y][x] = ship;
+            BitBoard.set(shipCells, getCellIndex(x, y));
         }
     }
     
@@ -271,39 +626,10 @@ public final class GameField {
             }
             
             shipMatrix[y][x] = ship;
+            BitBoard.set(shipCells, getCellIndex(x, y));
         }
     }
     
-    private boolean horizontalShipIsDestroyed(Ship ship) {
-        int x = ship.getX();
-        int y = ship.getY();
-        
-        for (int i = 0; i < ship.getLength(); i++) {
-            if (gameFieldCellStateMatrix[y][x + i] ==
-                    GameFieldCellState.CLEAR) {
-                
-                return false;
-            }
-        }
-        
-        return true;
-    }
-    
-    private boolean verticalShipIsDestroyed(Ship ship) {
-        int x = ship.getX();
-        int y = ship.getY();
-        
-        for (int i = 0; i < ship.getLength(); i++) {
-            if (gameFieldCellStateMatrix[y + i][x] == 
-                    GameFieldCellState.CLEAR) {
-                
-                return false;
-            }
-        }
-        
-        return true;
-    }
-    
     private void unprintShipFromShipMatrix(Ship ship) {
         switch (ship.getOrientation()) {
             case HORIZONTAL:
@@ -325,6 +651,7 @@ public final class GameField {
         
         for (int i = 0; i < ship.getLength(); i++) {
             shipMatrix[y][x + i] = null;
+            BitBoard.clear(shipCells, getCellIndex(x + i, y));
         }
     }
     
@@ -334,6 +661,7 @@ public final class GameField {
         
         for (int i = 0; i < ship.getLength(); i++) {
             shipMatrix[y + i][x] = null;
+            BitBoard.clear(shipCells, getCellIndex(x, y + i));
         }
     }
     
@@ -407,28 +735,4 @@ public final class GameField {
                 throw new IllegalStateException("Should not get here.");
         }
     }
-    
-    private boolean horizonalShipOccupiesAnotherShip(Ship ship) {
-        for (int i = 0; i < ship.getLength(); i++) {
-            Ship s = shipMatrix[ship.getY()][ship.getX() + i];
-            
-            if (s != null) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
-    
-    private boolean verticalShipOccupiesAnotherShip(Ship ship) {
-        for (int i = 0; i < ship.getLength(); i++) {
-            Ship s = shipMatrix[ship.getY() + i][ship.getX()];
-            
-            if (s != null) {
-                return true;
-            }
-        }
-        
-        return false;
-    }
 }
@@ -0,0 +1,126 @@
+package com.github.coderodde.game.ai.battleship;
+
+/**
+ * This class tracks a bot shooting at the fleet on a game field. The session
+ * is won once all the cells of the fleet are shot, regardless of whether the
+ * bot removes the destroyed ships or throws 
+ * {@link OpponentFleetDestroyedException}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+final class GameSession {
+    
+    /**
+     * The game field holding the fleet being shot at.
+     */
+    private final GameField gameField;
+    
+    /**
+     * The bot shooting at the fleet.
+     */
+    private final BattleshipAIBot bot;
+    
+    /**
+     * The number of cells occupied by the fleet.
+     */
+    private final int fleetCells;
+    
+    /**
+     * The number of shots made so far.
+     */
+    private int shots;
+    
+    /**
+     * The number of fleet cells hit so far.
+     */
+    private int hits;
+    
+    /**
+     * Indicates whether the bot gave up by returning no shot location.
+     */
+    private boolean abandoned;
+    
+    /**
+     * Constructs this session.
+     * 
+     * @param gameField the game field with the fleet.
+     * @param bot       the bot shooting at {@code gameField}.
+     */
+    GameSession(GameField gameField, BattleshipAIBot bot) {
+        this.gameField = gameField;
+        this.bot = bot;
+        
+        int fleetCells = 0;
+        
+        for (Ship ship : gameField.getSearchFleet()) {
+            fleetCells += ship.getLength();
+        }
+        
+        this.fleetCells = fleetCells;
+    }
+    
+    /**
+     * Lets the bot compute and make one shot.
+     * 
+     * @return the compute time of the move in nanoseconds.
+     */
+    long move() {
+        long startNanos = System.nanoTime();
+        MatrixCoordinates mc = bot.computeNextShotLocation();
+        
+        if (mc == null) {
+            abandoned = true;
+            return System.nanoTime() - startNanos;
+        }
+        
+        // The bot may remove a destroyed ship, so check for a hit first:
+        boolean hit = 
+                gameField.getCellState(mc.x, mc.y) == 
+                GameField.GameFieldCellState.CLEAR && 
+                gameField.getShipAt(mc) != null;
+        
+        try {
+            bot.shoot(mc);
+        } catch (OpponentFleetDestroyedException ex) {
+            
+        }
+        
+        long durationNanos = System.nanoTime() - startNanos;
+        shots++;
+        
+        if (hit) {
+            hits++;
+        }
+        
+        return durationNanos;
+    }
+    
+    /**
+     * Returns {@code true} if all the fleet cells are shot.
+     * 
+     * @return {@code true} only if the session is won.
+     */
+    boolean isWon() {
+        return hits == fleetCells;
+    }
+    
+    /**
+     * Returns {@code true} if the bot returned no shot location.
+     * 
+     * @return {@code true} only if the bot gave up.
+     */
+    boolean isAbandoned() {
+        return abandoned;
+    }
+    
+    /**
+     * Returns the number of shots made so far.
+     * 
+     * @return the number of shots.
+     */
+    int getShots() {
+        return shots;
+    }
+}
@@ -0,0 +1,585 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * This class implements a batch simulator playing many games of Battleship
+ * with a bot on random game fields. The games are played concurrently on a
+ * fixed number of threads, and the aggregate statistics can be observed while
+ * the simulation runs.
+ * <p>
+ * Game {@code i} is played on a game field generated from the 
+ * {@code i}th seed drawn from the simulation seed, so the game fields do not
+ * depend on the number of threads. A game is won once all the cells of the 
+ * opponent fleet are shot. A game taking more than {@code 2 * width * height}
+ * shots is abandoned and counted as unfinished.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class GameSimulator {
+    
+    /**
+     * This class holds the aggregate statistics of a simulation. All the
+     * methods are safe to call while the simulation is running.
+     */
+    public static final class Statistics {
+        
+        /**
+         * The number of games finished or abandoned.
+         */
+        private final AtomicLong games = new AtomicLong();
+        
+        /**
+         * The number of abandoned games.
+         */
+        private final AtomicLong unfinishedGames = new AtomicLong();
+        
+        /**
+         * Maps the number of shots to the number of games won with that many
+         * shots.
+         */
+        private final AtomicLongArray shotsHistogram;
+        
+        /**
+         * The histogram of the compute times of the moves in nanoseconds.
+         */
+        private final LatencyHistogram moveNanos = new LatencyHistogram();
+        
+        /**
+         * The start time of the simulation in terms of 
+         * {@link System#nanoTime()}.
+         */
+        private final long startNanos = System.nanoTime();
+        
+        /**
+         * The end time of the simulation, or {@code 0} while running.
+         */
+        private volatile long endNanos;
+        
+        private Statistics(int maximumShots) {
+            this.shotsHistogram = new AtomicLongArray(maximumShots + 1);
+        }
+        
+        /**
+         * Returns the number of games played so far, including the unfinished
+         * ones.
+         * 
+         * @return the number of games.
+         */
+        public long getGames() {
+            return games.get();
+        }
+        
+        /**
+         * Returns the number of games abandoned due to too many shots.
+         * 
+         * @return the number of unfinished games.
+         */
+        public long getUnfinishedGames() {
+            return unfinishedGames.get();
+        }
+        
+        /**
+         * Returns the distribution of the shots to win. The element at index
+         * {@code s} is the number of games won with exactly {@code s} shots.
+         * 
+         * @return the shots-to-win histogram.
+         */
+        public long[] getShotsHistogram() {
+            long[] histogram = new long[shotsHistogram.length()];
+            
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = shotsHistogram.get(i);
+            }
+            
+            return histogram;
+        }
+        
+        /**
+         * Returns the mean number of shots to win, or zero if no game is won.
+         * 
+         * @return the mean number of shots to win.
+         */
+        public double getMeanShots() {
+            long won = 0L;
+            long shots = 0L;
+            
+            for (int s = 0; s < shotsHistogram.length(); s++) {
+                long count = shotsHistogram.get(s);
+                won += count;
+                shots += count * s;
+            }
+            
+            return won == 0L ? 0.0 : (double) shots / won;
+        }
+        
+        /**
+         * Returns the smallest number of shots within which at least 
+         * {@code percentile} percent of the won games were won.
+         * 
+         * @param percentile the percentile within {@code [0, 100]}.
+         * 
+         * @return the percentile of the shots to win, or zero if no game is
+         *         won.
+         */
+        public int getShotsPercentile(double percentile) {
+            long[] histogram = getShotsHistogram();
+            long won = 0L;
+            
+            for (long count : histogram) {
+                won += count;
+            }
+            
+            if (won == 0L) {
+                return 0;
+            }
+            
+            long rank = 
+                    Math.max(1L, (long) Math.ceil(won * percentile / 100.0));
+            long seen = 0L;
+            
+            for (int s = 0; s < histogram.length; s++) {
+                seen += histogram[s];
+                
+                if (seen >= rank) {
+                    return s;
+                }
+            }
+            
+            return histogram.length - 1;
+        }
+        
+        /**
+         * Returns the number of moves made so far.
+         * 
+         * @return the number of moves.
+         */
+        public long getMoves() {
+            return moveNanos.getCount();
+        }
+        
+        /**
+         * Returns the percentile of the compute time of a single move. A move
+         * consists of computing the shot location and shooting it.
+         * 
+         * @param percentile the percentile within {@code [0, 100]}.
+         * 
+         * @return the percentile in nanoseconds, accurate to within 
+         *         {@code 1/16}.
+         */
+        public long getMoveNanosPercentile(double percentile) {
+            return moveNanos.getPercentile(percentile);
+        }
+        
+        /**
+         * Returns the longest compute time of a single move.
+         * 
+         * @return the longest move in nanoseconds.
+         */
+        public long getMaximumMoveNanos() {
+            return moveNanos.getMaximum();
+        }
+        
+        /**
+         * Returns the number of games played per second of wall clock time.
+         * 
+         * @return the game throughput.
+         */
+        public double getGamesPerSecond() {
+            long end = endNanos == 0L ? System.nanoTime() : endNanos;
+            return games.get() * 1e9 / Math.max(1L, end - startNanos);
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(
+                    "games = %d, unfinished = %d, games/s = %.1f, " + 
+                    "shots: mean = %.2f, p50 = %d, p99 = %d, " + 
+                    "move: p50 = %.3f ms, p99 = %.3f ms, max = %.3f ms",
+                    getGames(),
+                    getUnfinishedGames(),
+                    getGamesPerSecond(),
+                    getMeanShots(),
+                    getShotsPercentile(50.0),
+                    getShotsPercentile(99.0),
+                    getMoveNanosPercentile(50.0) / 1e6,
+                    getMoveNanosPercentile(99.0) / 1e6,
+                    getMaximumMoveNanos() / 1e6);
+        }
+        
+        private void recordGame(int shots, boolean won) {
+            if (won) {
+                shotsHistogram.incrementAndGet(shots);
+            } else {
+                unfinishedGames.incrementAndGet();
+            }
+            
+            games.incrementAndGet();
+        }
+    }
+    
+    /**
+     * The number of random placements of a ship to try before starting the
+     * whole fleet over.
+     */
+    private static final int MAXIMUM_SHIP_PLACEMENT_ATTEMPTS = 1_000;
+    
+    /**
+     * The number of times to start the placement of a fleet over before 
+     * giving up.
+     */
+    private static final int MAXIMUM_FLEET_PLACEMENT_ATTEMPTS = 100;
+    
+    /**
+     * The width of the game fields.
+     */
+    private final int width;
+    
+    /**
+     * The height of the game fields.
+     */
+    private final int height;
+    
+    /**
+     * The lengths of the ships of the opponent fleet.
+     */
+    private final int[] fleet;
+    
+    /**
+     * Creates a fresh bot for each game field.
+     */
+    private final Function<GameField, BattleshipAIBot> botFactory;
+    
+    /**
+     * The seed of the game fields.
+     */
+    private final long seed;
+    
+    /**
+     * The number of games played concurrently.
+     */
+    private final int parallelism;
+    
+    /**
+     * Constructs this simulator using all the available processors.
+     * 
+     * @param width      the width of the game fields.
+     * @param height     the height of the game fields.
+     * @param fleet      the lengths of the ships of the opponent fleet.
+     * @param botFactory creates a bot for a game field.
+     * @param seed       the seed of the game fields.
+     */
+    public GameSimulator(int width,
+                         int height,
+                         int[] fleet,
+                         Function<GameField, BattleshipAIBot> botFactory,
+                         long seed) {
+        this(width, 
+             height, 
+             fleet, 
+             botFactory, 
+             seed, 
+             Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Constructs this simulator.
+     * 
+     * @param width       the width of the game fields.
+     * @param height      the height of the game fields.
+     * @param fleet       the lengths of the ships of the opponent fleet.
+     * @param botFactory  creates a bot for a game field.
+     * @param seed        the seed of the game fields.
+     * @param parallelism the number of games played concurrently.
+     */
+    public GameSimulator(int width,
+                         int height,
+                         int[] fleet,
+                         Function<GameField, BattleshipAIBot> botFactory,
+                         long seed,
+                         int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "Bad parallelism: " + parallelism);
+        }
+        
+        checkFleet(width, height, fleet);
+        
+        this.width = width;
+        this.height = height;
+        this.fleet = fleet.clone();
+        this.botFactory = botFactory;
+        this.seed = seed;
+        this.parallelism = parallelism;
+    }
+    
+    /**
+     * Plays {@code games} games.
+     * 
+     * @param games the number of games to play.
+     * 
+     * @return the statistics of the games.
+     */
+    public Statistics run(int games) {
+        return run(games, Duration.ofSeconds(1L), (statistics) -> {});
+    }
+    
+    /**
+     * Plays {@code games} games and passes the statistics gathered so far to
+     * {@code listener} every {@code reportPeriod} on the calling thread.
+     * 
+     * @param games        the number of games to play.
+     * @param reportPeriod the time between two reports.
+     * @param listener     the listener of the intermediate statistics.
+     * 
+     * @return the statistics of the games.
+     */
+    public Statistics run(int games, 
+                          Duration reportPeriod, 
+                          Consumer<Statistics> listener) {
+        
+        int maximumShots = 2 * width * height;
+        Statistics statistics = new Statistics(maximumShots);
+        long[] gameSeeds = new SplittableRandom(seed).longs(games).toArray();
+        AtomicLong nextGame = new AtomicLong();
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        
+        for (int i = 0; i < parallelism; i++) {
+            executor.execute(() -> {
+                long game;
+                
+                while (failure.get() == null && 
+                        (game = nextGame.getAndIncrement()) < games) {
+                    try {
+                        playGame(gameSeeds[(int) game], 
+                                 maximumShots, 
+                                 statistics);
+                    } catch (RuntimeException ex) {
+                        failure.compareAndSet(null, ex);
+                    }
+                }
+            });
+        }
+        
+        executor.shutdown();
+        
+        try {
+            while (!executor.awaitTermination(reportPeriod.toNanos(), 
+                                              TimeUnit.NANOSECONDS)) {
+                listener.accept(statistics);
+            }
+        } catch (InterruptedException ex) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        
+        statistics.endNanos = System.nanoTime();
+        
+        if (failure.get() != null) {
+            throw new IllegalStateException("A game failed.", failure.get());
+        }
+        
+        listener.accept(statistics);
+        return statistics;
+    }
+    
+    /**
+     * Creates a game field with the ships of lengths {@code fleet} placed 
+     * randomly. Each ship is drawn in an orientation it fits in. If a ship 
+     * finds no free placement, the whole fleet is started over.
+     * 
+     * @param width  the width of the game field.
+     * @param height the height of the game field.
+     * @param fleet  the lengths of the ships.
+     * @param random the random number generator.
+     * 
+     * @return the game field.
+     * 
+     * @throws IllegalArgumentException if the fleet cannot be placed on the 
+     *                                  game field.
+     */
+    public static GameField createRandomGameField(int width,
+                                                  int height,
+                                                  int[] fleet,
+                                                  SplittableRandom random) {
+        checkFleet(width, height, fleet);
+        
+        for (int attempt = 0; 
+                attempt < MAXIMUM_FLEET_PLACEMENT_ATTEMPTS; 
+                attempt++) {
+            
+            GameField gameField = 
+                    tryCreateRandomGameField(width, height, fleet, random);
+            
+            if (gameField != null) {
+                return gameField;
+            }
+        }
+        
+        throw new IllegalArgumentException(
+                "Could not place the fleet "
+                        + Arrays.toString(fleet)
+                        + " on a game field of size "
+                        + width
+                        + " x "
+                        + height
+                        + ".");
+    }
+    
+    /**
+     * Checks that each ship of {@code fleet} fits on the game field of size
+     * {@code width x height} in some orientation, and that the fleet does not
+     * cover more cells than the game field has.
+     * 
+     * @param width  the width of the game field.
+     * @param height the height of the game field.
+     * @param fleet  the lengths of the ships.
+     * 
+     * @throws IllegalArgumentException if the fleet obviously does not fit.
+     */
+    static void checkFleet(int width, int height, int[] fleet) {
+        long cells = 0L;
+        
+        for (int length : fleet) {
+            if (length < 1 || length > Math.max(width, height)) {
+                throw new IllegalArgumentException(
+                        "A ship of length "
+                                + length
+                                + " does not fit on a game field of size "
+                                + width
+                                + " x "
+                                + height
+                                + ".");
+            }
+            
+            cells += length;
+        }
+        
+        if (cells > (long) width * height) {
+            throw new IllegalArgumentException(
+                    "The fleet "
+                            + Arrays.toString(fleet)
+                            + " covers more cells than a game field of size "
+                            + width
+                            + " x "
+                            + height
+                            + " has.");
+        }
+    }
+    
+    /**
+     * Tries to place the ships of lengths {@code fleet} randomly.
+     * 
+     * @param width  the width of the game field.
+     * @param height the height of the game field.
+     * @param fleet  the lengths of the ships.
+     * @param random the random number generator.
+     * 
+     * @return the game field, or {@code null} if some ship found no free 
+     *         placement.
+     */
+    private static GameField tryCreateRandomGameField(
+            int width,
+            int height,
+            int[] fleet,
+            SplittableRandom random) {
+        
+        GameField gameField = new GameField(width, height);
+        
+        for (int length : fleet) {
+            Ship ship = null;
+            
+            for (int attempt = 0; 
+                    attempt < MAXIMUM_SHIP_PLACEMENT_ATTEMPTS; 
+                    attempt++) {
+                
+                Ship candidate = 
+                        createRandomShip(width, height, length, random);
+                
+                if (!gameField.shipOccupiesAnotherShip(candidate)) {
+                    ship = candidate;
+                    break;
+                }
+            }
+            
+            if (ship == null) {
+                return null;
+            }
+            
+            gameField.addShip(ship);
+        }
+        
+        return gameField;
+    }
+    
+    /**
+     * Creates a ship placed randomly on the game field of size 
+     * {@code width x height}. The orientation is drawn among the ones the 
+     * ship fits in.
+     * 
+     * @param width  the width of the game field.
+     * @param height the height of the game field.
+     * @param length the length of the ship.
+     * @param random the random number generator.
+     * 
+     * @return the ship.
+     */
+    private static Ship createRandomShip(int width, 
+                                         int height, 
+                                         int length, 
+                                         SplittableRandom random) {
+        boolean horizontal = length <= width;
+        
+        if (horizontal && length <= height) {
+            horizontal = random.nextBoolean();
+        }
+        
+        if (horizontal) {
+            Ship ship = new Ship(length, Ship.Orientation.HORIZONTAL);
+            ship.setLocation(random.nextInt(width - length + 1), 
+                             random.nextInt(height));
+            return ship;
+        }
+        
+        Ship ship = new Ship(length, Ship.Orientation.VERTICAL);
+        ship.setLocation(random.nextInt(width), 
+                         random.nextInt(height - length + 1));
+        return ship;
+    }
+    
+    private void playGame(long gameSeed, 
+                          int maximumShots, 
+                          Statistics statistics) {
+        
+        GameField gameField = 
+                createRandomGameField(width, 
+                                      height, 
+                                      fleet, 
+                                      new SplittableRandom(gameSeed));
+        
+        GameSession session = 
+                new GameSession(gameField, botFactory.apply(gameField));
+        
+        while (!session.isWon() && 
+               !session.isAbandoned() && 
+               session.getShots() < maximumShots) {
+            
+            statistics.moveNanos.record(session.move());
+        }
+        
+        statistics.recordGame(session.getShots(), session.isWon());
+    }
+}
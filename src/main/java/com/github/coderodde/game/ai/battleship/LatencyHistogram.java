@@ -0,0 +1,132 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class implements a concurrent histogram of non-negative durations. The
+ * buckets are log-linear: each power of two range is split into 
+ * {@code 16} equal sub-buckets, so the reported percentiles are within 
+ * {@code 1/16} of the exact ones while the histogram takes a few kilobytes 
+ * regardless of the number of recorded values. The maximum is recorded 
+ * exactly.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+final class LatencyHistogram {
+    
+    /**
+     * The binary logarithm of the number of sub-buckets per power of two.
+     */
+    private static final int SUB_BUCKET_BITS = 4;
+    
+    /**
+     * The number of sub-buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    
+    /**
+     * The number of buckets covering all the non-negative {@code long}s.
+     */
+    private static final int BUCKETS = 
+            (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    
+    /**
+     * The bucket counts.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    
+    /**
+     * The number of recorded values.
+     */
+    private final AtomicLong count = new AtomicLong();
+    
+    /**
+     * The largest recorded value.
+     */
+    private final AtomicLong maximum = new AtomicLong();
+    
+    /**
+     * Records the value {@code value}.
+     * 
+     * @param value the value to record. Negative values are recorded as zero.
+     */
+    void record(long value) {
+        value = Math.max(0L, value);
+        counts.incrementAndGet(getBucketIndex(value));
+        count.incrementAndGet();
+        maximum.accumulateAndGet(value, Math::max);
+    }
+    
+    /**
+     * Returns the number of recorded values.
+     * 
+     * @return the number of recorded values.
+     */
+    long getCount() {
+        return count.get();
+    }
+    
+    /**
+     * Returns the largest recorded value, or zero if nothing is recorded.
+     * 
+     * @return the largest recorded value.
+     */
+    long getMaximum() {
+        return maximum.get();
+    }
+    
+    /**
+     * Returns the value below or at which {@code percentile} percent of the 
+     * recorded values fall, rounded up to the upper bound of its bucket.
+     * 
+     * @param percentile the percentile within {@code [0, 100]}.
+     * 
+     * @return the percentile value, or zero if nothing is recorded.
+     */
+    long getPercentile(double percentile) {
+        long total = count.get();
+        
+        if (total == 0L) {
+            return 0L;
+        }
+        
+        long rank = Math.max(1L, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0L;
+        
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(i), maximum.get());
+            }
+        }
+        
+        return maximum.get();
+    }
+    
+    private static int getBucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        
+        int shift = 
+                Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - 
+                SUB_BUCKET_BITS;
+        
+        return (shift + 1) * SUB_BUCKETS + 
+               (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+    
+    private static long getBucketUpperBound(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKETS) {
+            return bucketIndex;
+        }
+        
+        int shift = bucketIndex / SUB_BUCKETS - 1;
+        long mantissa = SUB_BUCKETS + bucketIndex % SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
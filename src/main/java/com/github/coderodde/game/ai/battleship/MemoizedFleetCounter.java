@@ -0,0 +1,254 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.List;
+
+/**
+ * This class implements the exact counting of the fleet arrangements by
+ * memoized recursion. Unlike {@link FleetEnumerator}, which visits every
+ * arrangement, the counter solves the subproblem "in how many ways can the
+ * remaining ships be arranged over the unblocked cells and how many times is
+ * each cell covered" once and looks it up in a {@link TranspositionTable}
+ * whenever a different prefix of placements leaves the same cells blocked.
+ * <p>
+ * The equal length ships are placed in the canonical order just like in
+ * {@link FleetEnumerator}, and the counts written to the frequency counter
+ * matrix are scaled to be identical to the ones of the enumeration.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+final class MemoizedFleetCounter {
+    
+    /**
+     * The enumeration reaches every arrangement twice, once per orientation of
+     * the sentinel recursion level. Reproduce the same counts.
+     */
+    private static final int ENUMERATION_MULTIPLICITY = 2;
+    
+    /**
+     * The solution of the empty subproblem.
+     */
+    private static final TranspositionTable.Entry EMPTY_FLEET_ENTRY =
+            new TranspositionTable.Entry(1L, null);
+    
+    /**
+     * The game field providing the shot cells.
+     */
+    private final GameField gameField;
+    
+    /**
+     * The placement table of the game field.
+     */
+    private final PlacementTable placementTable;
+    
+    /**
+     * The transposition table.
+     */
+    private final TranspositionTable transpositionTable;
+    
+    /**
+     * The lengths of the sorted search fleet.
+     */
+    private final int[] lengths;
+    
+    /**
+     * The number of cells in the game field.
+     */
+    private final int cells;
+    
+    /**
+     * The blocked cells bitboard of each recursion level.
+     */
+    private final long[][] blockedCellsStack;
+    
+    /**
+     * Indicates whether the counting is bounded by a deadline.
+     */
+    private boolean hasDeadline;
+    
+    /**
+     * The deadline in terms of {@link System#nanoTime()}.
+     */
+    private long deadlineNanos;
+    
+    /**
+     * Indicates whether the deadline has expired. Once expired, the partial 
+     * solutions are no longer stored to the transposition table.
+     */
+    private boolean expired;
+    
+    /**
+     * Constructs this counter.
+     * 
+     * @param gameField          the game field.
+     * @param placementTable     the placement table of the game field.
+     * @param transpositionTable the transposition table.
+     * @param fleet              the sorted search fleet.
+     */
+    MemoizedFleetCounter(GameField gameField,
+                         PlacementTable placementTable,
+                         TranspositionTable transpositionTable,
+                         List<Ship> fleet) {
+        
+        this.gameField = gameField;
+        this.placementTable = placementTable;
+        this.transpositionTable = transpositionTable;
+        this.lengths = new int[fleet.size()];
+        this.cells = gameField.getWidth() * gameField.getHeight();
+        this.blockedCellsStack = new long[fleet.size() + 1][];
+        
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = fleet.get(i).getLength();
+        }
+        
+        for (int i = 0; i < blockedCellsStack.length; i++) {
+            blockedCellsStack[i] = BitBoard.create(gameField.getWidth(),
+                                                   gameField.getHeight());
+        }
+    }
+    
+    /**
+     * Bounds the counting by a deadline. Once the deadline expires, the 
+     * counting stops and only the arrangements counted so far are printed.
+     * 
+     * @param deadlineNanos the deadline in terms of {@link System#nanoTime()}.
+     */
+    void setDeadline(long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadlineNanos = deadlineNanos;
+    }
+    
+    /**
+     * Returns {@code true} if the deadline expired before the counting 
+     * completed.
+     * 
+     * @return {@code true} only if the counting was cut short.
+     */
+    boolean isExpired() {
+        return expired;
+    }
+    
+    /**
+     * Counts the arrangements and prints the cell coverage to
+     * {@code frequencyCounterMatrix}.
+     * 
+     * @param frequencyCounterMatrix the target frequency counter matrix.
+     */
+    void count(FrequencyCounterMatrix frequencyCounterMatrix) {
+        long[] shotCells = gameField.getShotCells();
+        System.arraycopy(shotCells,
+                         0,
+                         blockedCellsStack[0],
+                         0,
+                         shotCells.length);
+        
+        TranspositionTable.Entry entry = solve(0, 0);
+        
+        if (entry.coverage == null) {
+            return;
+        }
+        
+        long weight = ENUMERATION_MULTIPLICITY *
+                      FleetEnumerator.computeArrangementWeight(lengths);
+        
+        for (int cellIndex = 0; cellIndex < cells; cellIndex++) {
+            frequencyCounterMatrix.incrementCell(
+                    cellIndex,
+                    entry.coverage[cellIndex] * weight);
+        }
+    }
+    
+    /**
+     * Solves the subproblem of arranging the ships at indices
+     * {@code shipIndex, shipIndex + 1, ...} while avoiding the cells in
+     * {@code blockedCellsStack[shipIndex]}.
+     * 
+     * @param shipIndex             the index of the first remaining ship.
+     * @param minimumPlacementIndex the smallest allowed placement index of the
+     *                              first remaining ship.
+     * 
+     * @return the solution of the subproblem.
+     */
+    private TranspositionTable.Entry solve(int shipIndex,
+                                           int minimumPlacementIndex) {
+        
+        if (shipIndex == lengths.length) {
+            return EMPTY_FLEET_ENTRY;
+        }
+        
+        long[] blockedCells = blockedCellsStack[shipIndex];
+        
+        TranspositionTable.Key key =
+                new TranspositionTable.Key(lengths,
+                                           shipIndex,
+                                           minimumPlacementIndex,
+                                           blockedCells);
+        
+        TranspositionTable.Entry entry = transpositionTable.get(key);
+        
+        if (entry != null) {
+            return entry;
+        }
+        
+        long arrangements = 0L;
+        long[] coverage = new long[cells];
+        long[] childBlockedCells = blockedCellsStack[shipIndex + 1];
+        
+        boolean nextShipIsEqual =
+                shipIndex + 1 < lengths.length &&
+                lengths[shipIndex + 1] == lengths[shipIndex];
+        
+        PlacementTable.Placements placements =
+                placementTable.getPlacements(lengths[shipIndex]);
+        
+        for (int i = minimumPlacementIndex; i < placements.size(); i++) {
+            if (hasDeadline && System.nanoTime() - deadlineNanos >= 0L) {
+                expired = true;
+            }
+            
+            if (expired) {
+                break;
+            }
+            
+            if (placements.intersects(i, blockedCells)) {
+                continue;
+            }
+            
+            System.arraycopy(blockedCells, 
+                             0, 
+                             childBlockedCells, 
+                             0, 
+                             childBlockedCells.length);
+            
+            placements.addTo(i, childBlockedCells);
+            
+            TranspositionTable.Entry child =
+                    solve(shipIndex + 1, nextShipIsEqual ? i + 1 : 0);
+            
+            if (child.arrangements == 0L) {
+                continue;
+            }
+            
+            arrangements += child.arrangements;
+            
+            if (child.coverage != null) {
+                for (int cellIndex = 0; cellIndex < cells; cellIndex++) {
+                    coverage[cellIndex] += child.coverage[cellIndex];
+                }
+            }
+            
+            for (int cellIndex : placements.getCells(i)) {
+                coverage[cellIndex] += child.arrangements;
+            }
+        }
+        
+        entry = new TranspositionTable.Entry(arrangements, coverage);
+        
+        if (!expired) {
+            transpositionTable.put(key, entry);
+        }
+        
+        return entry;
+    }
+}
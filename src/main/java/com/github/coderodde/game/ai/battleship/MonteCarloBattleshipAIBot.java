@@ -0,0 +1,630 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This class implements the Monte Carlo Battleship AI bot. Instead of
+ * enumerating all the fleet arrangements like
+ * {@link BruteforceBattleshipAIBot}, it samples arrangements uniformly at
+ * random from all the valid arrangements consistent with the game field and
+ * estimates the same per-cell frequency matrix from the samples. As in the 
+ * hit-constrained search of the brute-force bot, a missed cell must stay empty
+ * and every hit on a standing ship must be covered by a sampled ship. The 
+ * amount of
+ * work is bounded either by the number of samples or by a wall-clock budget,
+ * which makes the bot usable on large game fields and fleets.
+ * <p>
+ * Each sampler thread uses its own {@link SplittableRandom} split off the root
+ * generator, so a fixed seed and a fixed sample count give reproducible
+ * results.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class MonteCarloBattleshipAIBot implements BattleshipAIBot {
+    
+    /**
+     * This class describes the outcome of a sampling round.
+     */
+    public static final class Estimate {
+        
+        /**
+         * The z-score of the 95% confidence interval.
+         */
+        private static final double Z_95 = 1.96;
+        
+        private final long samples;
+        private final long attempts;
+        private final long bestCount;
+        private final long durationNanos;
+        
+        Estimate(long samples,
+                 long attempts,
+                 long bestCount,
+                 long durationNanos) {
+            this.samples = samples;
+            this.attempts = attempts;
+            this.bestCount = bestCount;
+            this.durationNanos = durationNanos;
+        }
+        
+        /**
+         * Returns the number of accepted samples.
+         * 
+         * @return the number of accepted samples.
+         */
+        public long getSamples() {
+            return samples;
+        }
+        
+        /**
+         * Returns the number of sampling attempts, including the rejected
+         * ones.
+         * 
+         * @return the number of sampling attempts.
+         */
+        public long getAttempts() {
+            return attempts;
+        }
+        
+        /**
+         * Returns the estimated probability that the chosen cell is occupied
+         * by a ship.
+         * 
+         * @return the estimated hit probability of the chosen cell.
+         */
+        public double getHitProbability() {
+            return samples == 0L ? 0.0 : (double) bestCount / samples;
+        }
+        
+        /**
+         * Returns the half-width of the 95% confidence interval of
+         * {@link #getHitProbability()}. If no samples were accepted, returns
+         * {@code 1.0}.
+         * 
+         * @return the half-width of the confidence interval.
+         */
+        public double getConfidenceHalfWidth() {
+            if (samples == 0L) {
+                return 1.0;
+            }
+            
+            double p = getHitProbability();
+            return Z_95 * Math.sqrt(p * (1.0 - p) / samples);
+        }
+        
+        /**
+         * Returns the wall-clock duration of the sampling round in
+         * nanoseconds.
+         * 
+         * @return the duration in nanoseconds.
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format(
+                    "[Estimate; samples = %d, attempts = %d, " +
+                    "p = %.4f +- %.4f, duration = %d ms]",
+                    samples,
+                    attempts,
+                    getHitProbability(),
+                    getConfidenceHalfWidth(),
+                    durationNanos / 1_000_000L);
+        }
+    }
+    
+    /**
+     * The maximum number of attempts per requested sample. Bounds the work
+     * when almost all the random arrangements are rejected.
+     */
+    private static final int MAXIMUM_ATTEMPTS_PER_SAMPLE = 1_000;
+    
+    /**
+     * The number of samples between two deadline checks.
+     */
+    private static final int DEADLINE_CHECK_PERIOD = 256;
+    
+    /**
+     * The game field containing the opponents fleet.
+     */
+    private final GameField gameField;
+    
+    /**
+     * The placement table of the game field.
+     */
+    private final PlacementTable placementTable;
+    
+    /**
+     * The frequency matrix.
+     */
+    private final FrequencyCounterMatrix frequencyCounterMatrix;
+    
+    /**
+     * The number of samples per shot, or {@code 0} if the time budget is used.
+     */
+    private final long sampleBudget;
+    
+    /**
+     * The time budget per shot in nanoseconds, or {@code 0} if the sample
+     * budget is used.
+     */
+    private final long timeBudgetNanos;
+    
+    /**
+     * The number of concurrent samplers.
+     */
+    private final int samplers;
+    
+    /**
+     * The root random number generator.
+     */
+    private final SplittableRandom random;
+    
+    /**
+     * The cells no ship may occupy: the misses and the cells of the sunk 
+     * ships.
+     */
+    private final long[] closedCells;
+    
+    /**
+     * The hit cells of the standing ships. Every sample must cover them.
+     */
+    private final long[] hitCells;
+    
+    /**
+     * The estimate of the latest computed shot.
+     */
+    private Estimate estimate;
+    
+    /**
+     * The statistics of the searches made by this bot. A sampling attempt 
+     * counts as a node, an accepted sample as a configuration and a rejected
+     * attempt as an overlap rejection.
+     */
+    private SearchStatistics searchStatistics = new SearchStatistics();
+    
+    /**
+     * Constructs this AI bot with a single sampler.
+     * 
+     * @param gameField    the game field.
+     * @param sampleBudget the number of samples per shot.
+     */
+    public MonteCarloBattleshipAIBot(GameField gameField, long sampleBudget) {
+        this(gameField, sampleBudget, 1, new SplittableRandom());
+    }
+    
+    /**
+     * Constructs this AI bot bounded by the number of samples.
+     * 
+     * @param gameField    the game field.
+     * @param sampleBudget the number of samples per shot.
+     * @param samplers     the number of concurrent samplers.
+     * @param random       the root random number generator.
+     */
+    public MonteCarloBattleshipAIBot(GameField gameField,
+                                     long sampleBudget,
+                                     int samplers,
+                                     SplittableRandom random) {
+        this(gameField, sampleBudget, 0L, samplers, random);
+        
+        if (sampleBudget < 1L) {
+            throw new IllegalArgumentException(
+                    "Sample budget must be positive, was "
+                            + sampleBudget
+                            + ".");
+        }
+    }
+    
+    /**
+     * Constructs this AI bot bounded by the wall-clock time.
+     * 
+     * @param gameField  the game field.
+     * @param timeBudget the time budget per shot.
+     * @param samplers   the number of concurrent samplers.
+     * @param random     the root random number generator.
+     */
+    public MonteCarloBattleshipAIBot(GameField gameField,
+                                     Duration timeBudget,
+                                     int samplers,
+                                     SplittableRandom random) {
+        this(gameField, 0L, timeBudget.toNanos(), samplers, random);
+        
+        if (timeBudgetNanos < 1L) {
+            throw new IllegalArgumentException(
+                    "Time budget must be positive, was " + timeBudget + ".");
+        }
+    }
+    
+    private MonteCarloBattleshipAIBot(GameField gameField,
+                                      long sampleBudget,
+                                      long timeBudgetNanos,
+                                      int samplers,
+                                      SplittableRandom random) {
+        if (samplers < 1) {
+            throw new IllegalArgumentException(
+                    "The number of samplers must be positive, was "
+                            + samplers
+                            + ".");
+        }
+        
+        this.gameField = gameField;
+        this.placementTable = PlacementTable.of(gameField);
+        this.frequencyCounterMatrix =
+                new FrequencyCounterMatrix(gameField.getWidth(),
+                                           gameField.getHeight());
+        
+        this.sampleBudget = sampleBudget;
+        this.timeBudgetNanos = timeBudgetNanos;
+        this.samplers = samplers;
+        this.random = random;
+        this.closedCells = BitBoard.create(gameField.getWidth(),
+                                           gameField.getHeight());
+        this.hitCells = BitBoard.create(gameField.getWidth(),
+                                        gameField.getHeight());
+    }
+    
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public MatrixCoordinates computeNextShotLocation() {
+        return gameField.getMatrixCoordinates(computeNextShotCellIndex());
+    }
+    
+    /**
+     * Computes the index {@code y * width + x} of the cell of the next shot.
+     * This is the allocation-free counterpart of 
+     * {@link #computeNextShotLocation()}.
+     * 
+     * @return the cell index of the next shot.
+     */
+    public int computeNextShotCellIndex() {
+        if (gameField.getSearchFleet().isEmpty()) {
+            throw new IllegalStateException(
+                    "The client programmer should have caught the " +
+                            "OpponentFleetDestroyedException by now.");
+        }
+        
+        long startTime = System.nanoTime();
+        frequencyCounterMatrix.clear();
+        gameField.loadHitCells(hitCells);
+        
+        for (int i = 0; i < closedCells.length; i++) {
+            closedCells[i] = gameField.getShotCells()[i] & ~hitCells[i];
+        }
+        
+        PlacementTable.Placements[] shipPlacements = 
+                new PlacementTable.Placements[gameField.getSearchFleet()
+                                                       .size()];
+        
+        int[][] legalPlacements = computeLegalPlacements(shipPlacements);
+        long samples = 0L;
+        long attempts = 0L;
+        
+        if (legalPlacements != null) {
+            long[] counts = new long[gameField.getWidth() *
+                                     gameField.getHeight()];
+            
+            for (Sampler sampler : runSamplers(shipPlacements,
+                                               legalPlacements, 
+                                               startTime)) {
+                samples += sampler.samples;
+                attempts += sampler.attempts;
+                
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] += sampler.counts[i];
+                }
+            }
+            
+            printCounts(counts);
+            
+            // The hit cells are covered by every sample, yet there is no 
+            // point in shooting them again:
+            frequencyCounterMatrix.clear(gameField.getShotCells());
+        }
+        
+        // If no sample was accepted, aim next to the hits or at the densest
+        // cell instead:
+        int shotCellIndex =
+                samples == 0L ?
+                DensityHeuristic.computeShotCellIndex(gameField, 
+                                                      placementTable, 
+                                                      true) :
+                frequencyCounterMatrix.getMaximumCellIndex();
+        
+        estimate = new Estimate(
+                samples,
+                attempts,
+                samples == 0L ?
+                        0L :
+                        frequencyCounterMatrix.getCounter(shotCellIndex),
+                System.nanoTime() - startTime);
+        
+        searchStatistics.addSearchCounts(attempts, 
+                                         0L, 
+                                         attempts - samples, 
+                                         0L, 
+                                         samples);
+        
+        searchStatistics.recordSearch(estimate.getDurationNanos());
+        return shotCellIndex;
+    }
+    
+    /**
+     * {@inheritDoc }
+     */
+    @Override
+    public void shoot(MatrixCoordinates matrixCoordinates) {
+        shoot(gameField.getCellIndex(matrixCoordinates));
+    }
+    
+    /**
+     * Shoots the cell with the index {@code cellIndex}.
+     * 
+     * @param cellIndex the index {@code y * width + x} of the cell to shoot.
+     */
+    public void shoot(int cellIndex) {
+        gameField.shoot(cellIndex);
+        
+        Ship ship = gameField.getShipAt(cellIndex);
+        
+        if (ship != null && gameField.shipIsDestroyed(ship)) {
+            gameField.removeShip(ship);
+            
+            if (gameField.fleetDestroyed()) {
+                throw new OpponentFleetDestroyedException();
+            }
+        }
+    }
+    
+    /**
+     * Returns the statistics of the searches made by this bot.
+     * 
+     * @return the search statistics.
+     */
+    public SearchStatistics getSearchStatistics() {
+        return searchStatistics;
+    }
+    
+    /**
+     * Sets the statistics to record the searches of this bot to. The 
+     * statistics may be shared by the bots of many concurrent games.
+     * 
+     * @param searchStatistics the search statistics. Must not be 
+     *                         {@code null}.
+     */
+    public void setSearchStatistics(SearchStatistics searchStatistics) {
+        this.searchStatistics = searchStatistics;
+    }
+    
+    /**
+     * Returns the frequency counter matrix of the latest computed shot.
+     * 
+     * @return the frequency counter matrix.
+     */
+    public FrequencyCounterMatrix getFrequencyCounterMatrix() {
+        return frequencyCounterMatrix;
+    }
+    
+    /**
+     * Returns the estimate of the latest computed shot, or {@code null} if no
+     * shot has been computed yet.
+     * 
+     * @return the latest estimate.
+     */
+    public Estimate getEstimate() {
+        return estimate;
+    }
+    
+    /**
+     * Computes, for each search ship, the indices of its placements that do
+     * not occupy a closed cell.
+     * 
+     * @param shipPlacements the array for storing the placements of each 
+     *                       ship.
+     * 
+     * @return the legal placement indices of each ship, or {@code null} if
+     *         some ship has no legal placement.
+     */
+    private int[][] computeLegalPlacements(
+            PlacementTable.Placements[] shipPlacements) {
+        
+        List<Ship> fleet = gameField.getSearchFleet();
+        int[][] legalPlacements = new int[fleet.size()][];
+        
+        for (int shipIndex = 0; shipIndex < fleet.size(); shipIndex++) {
+            PlacementTable.Placements placements =
+                    placementTable.getPlacements(
+                            fleet.get(shipIndex).getLength());
+            
+            shipPlacements[shipIndex] = placements;
+            int[] indices = new int[placements.size()];
+            int size = 0;
+            
+            for (int i = 0; i < placements.size(); i++) {
+                if (!placements.intersects(i, closedCells)) {
+                    indices[size++] = i;
+                }
+            }
+            
+            if (size == 0) {
+                return null;
+            }
+            
+            legalPlacements[shipIndex] = Arrays.copyOf(indices, size);
+        }
+        
+        return legalPlacements;
+    }
+    
+    /**
+     * Runs all the samplers and waits for them to complete.
+     * 
+     * @param shipPlacements  the placements of each ship.
+     * @param legalPlacements the legal placement indices of each ship.
+     * @param startTime       the start time of the round.
+     * 
+     * @return the completed samplers.
+     */
+    private List<Sampler> runSamplers(
+            PlacementTable.Placements[] shipPlacements,
+            int[][] legalPlacements, 
+            long startTime) {
+        
+        List<Sampler> samplerList = new ArrayList<>(samplers);
+        long deadline = startTime + timeBudgetNanos;
+        
+        for (int i = 0; i < samplers; i++) {
+            long quota = sampleBudget == 0L ?
+                         Long.MAX_VALUE :
+                         sampleBudget / samplers +
+                                 (i < sampleBudget % samplers ? 1 : 0);
+            
+            samplerList.add(new Sampler(shipPlacements,
+                                        legalPlacements, 
+                                        quota,
+                                        deadline,
+                                        random.split()));
+        }
+        
+        if (samplers == 1) {
+            samplerList.get(0).call();
+            return samplerList;
+        }
+        
+        for (Future<Sampler> future :
+                ForkJoinPool.commonPool().invokeAll(samplerList)) {
+            try {
+                future.get();
+            } catch (Exception ex) {
+                throw new IllegalStateException("Sampler failed.", ex);
+            }
+        }
+        
+        return samplerList;
+    }
+    
+    /**
+     * Prints the flat sample counts to the frequency counter matrix.
+     * 
+     * @param counts the sample counts indexed by the cell index.
+     */
+    private void printCounts(long[] counts) {
+        for (int cellIndex = 0; cellIndex < counts.length; cellIndex++) {
+            frequencyCounterMatrix.incrementCell(cellIndex, counts[cellIndex]);
+        }
+    }
+    
+    /**
+     * This class implements a sampler. A sampler draws a random legal
+     * placement for each ship and accepts the arrangement only if no two ships
+     * overlap and the ships cover all the standing hit cells. Since each ship
+     * is drawn uniformly and independently, the accepted arrangements are 
+     * uniformly distributed over all the valid arrangements.
+     */
+    private final class Sampler implements Callable<Sampler> {
+        
+        private final PlacementTable.Placements[] shipPlacements;
+        private final int[][] legalPlacements;
+        private final long quota;
+        private final long deadline;
+        private final SplittableRandom random;
+        private final long[] counts;
+        private final long[] occupiedCells;
+        private final int[] chosenPlacements;
+        private long samples;
+        private long attempts;
+        
+        Sampler(PlacementTable.Placements[] shipPlacements,
+                int[][] legalPlacements, 
+                long quota,
+                long deadline,
+                SplittableRandom random) {
+            this.shipPlacements = shipPlacements;
+            this.legalPlacements = legalPlacements;
+            this.quota = quota;
+            this.deadline = deadline;
+            this.random = random;
+            this.counts = new long[gameField.getWidth() *
+                                   gameField.getHeight()];
+            this.occupiedCells = BitBoard.create(gameField.getWidth(),
+                                                 gameField.getHeight());
+            this.chosenPlacements = new int[legalPlacements.length];
+        }
+        
+        @Override
+        public Sampler call() {
+            long maximumAttempts =
+                    quota == Long.MAX_VALUE ?
+                    Long.MAX_VALUE :
+                    quota * MAXIMUM_ATTEMPTS_PER_SAMPLE;
+            
+            while (samples < quota && attempts < maximumAttempts) {
+                if (timeBudgetNanos != 0L &&
+                        attempts % DEADLINE_CHECK_PERIOD == 0 && 
+                        System.nanoTime() - deadline >= 0L) {
+                    break;
+                }
+                
+                attempts++;
+                
+                if (sample()) {
+                    samples++;
+                }
+            }
+            
+            return this;
+        }
+        
+        private boolean sample() {
+            Arrays.fill(occupiedCells, 0L);
+            
+            for (int shipIndex = 0;
+                    shipIndex < legalPlacements.length;
+                    shipIndex++) {
+                
+                int[] legal = legalPlacements[shipIndex];
+                int placementIndex = legal[random.nextInt(legal.length)];
+                PlacementTable.Placements placements = 
+                        shipPlacements[shipIndex];
+                
+                if (placements.intersects(placementIndex, occupiedCells)) {
+                    return false;
+                }
+                
+                placements.addTo(placementIndex, occupiedCells);
+                chosenPlacements[shipIndex] = placementIndex;
+            }
+            
+            if (!BitBoard.containsAll(occupiedCells, hitCells)) {
+                return false;
+            }
+            
+            for (int shipIndex = 0;
+                    shipIndex < legalPlacements.length;
+                    shipIndex++) {
+                
+                int[] cells = 
+                        shipPlacements[shipIndex]
+                                .getCells(chosenPlacements[shipIndex]);
+                
+                for (int cellIndex : cells) {
+                    counts[cellIndex]++;
+                }
+            }
+            
+            return true;
+        }
+    }
+}
@@ -0,0 +1,461 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * This class implements an opening book of the frequency counter matrices of
+ * the early game positions of a particular game field size and fleet. A 
+ * position of the book is a set of missed cells, reached by missing the shots
+ * the brute-force bot would choose, including all the tied choices. The book
+ * is stored in a compact binary file and memory-mapped on opening, so a 
+ * lookup costs a binary search over the mapped records.
+ * <p>
+ * The file starts with a header of {@code int}s: the magic number, the 
+ * format version, the width, the height, the number of ships followed by the 
+ * ship lengths in ascending order, the number of records and the number of 
+ * {@code long} words per bitboard. The records follow, sorted by their keys. 
+ * A record consists of the bitboard of the missed cells and one {@code long}
+ * counter per cell. All the values are big-endian.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class OpeningBook {
+    
+    /**
+     * The magic number of the opening book files.
+     */
+    private static final int MAGIC = 0x42534F42;
+    
+    /**
+     * The version of the file format.
+     */
+    private static final int VERSION = 1;
+    
+    /**
+     * The width of the game field.
+     */
+    private final int width;
+    
+    /**
+     * The height of the game field.
+     */
+    private final int height;
+    
+    /**
+     * The ship lengths of the fleet in ascending order.
+     */
+    private final int[] fleet;
+    
+    /**
+     * The number of records.
+     */
+    private final int size;
+    
+    /**
+     * The number of {@code long} words per bitboard.
+     */
+    private final int words;
+    
+    /**
+     * The number of {@code long} words per record.
+     */
+    private final int recordWords;
+    
+    /**
+     * The mapped records.
+     */
+    private final LongBuffer records;
+    
+    private OpeningBook(int width, 
+                        int height, 
+                        int[] fleet, 
+                        int size, 
+                        int words, 
+                        LongBuffer records) {
+        this.width = width;
+        this.height = height;
+        this.fleet = fleet;
+        this.size = size;
+        this.words = words;
+        this.recordWords = words + width * height;
+        this.records = records;
+    }
+    
+    /**
+     * Builds the opening book for the game field of size 
+     * {@code width x height} and the fleet {@code fleet}. The book contains
+     * all the positions with less than {@code depth} missed shots reached by
+     * following the best shots of the brute-force bot, and is written to the
+     * file {@code path}.
+     * 
+     * @param path         the target file.
+     * @param width        the width of the game field.
+     * @param height       the height of the game field.
+     * @param fleet        the ship lengths of the fleet.
+     * @param depth        the number of shots covered by the book.
+     * @param forkJoinPool the pool for the parallel search, or {@code null} 
+     *                     for the sequential search.
+     * 
+     * @return the number of records written.
+     * 
+     * @throws IOException if the file cannot be written.
+     */
+    public static int build(Path path,
+                            int width,
+                            int height,
+                            int[] fleet,
+                            int depth,
+                            ForkJoinPool forkJoinPool) throws IOException {
+        
+        int[] sortedFleet = fleet.clone();
+        Arrays.sort(sortedFleet);
+        
+        int cells = width * height;
+        Map<long[], long[]> book = new TreeMap<>(OpeningBook::compareKeys);
+        Deque<long[]> queue = new ArrayDeque<>();
+        queue.add(BitBoard.create(width, height));
+        
+        while (!queue.isEmpty()) {
+            long[] missedCells = queue.removeFirst();
+            
+            if (book.containsKey(missedCells)) {
+                continue;
+            }
+            
+            GameField gameField = 
+                    createGameField(width, height, sortedFleet, missedCells);
+            
+            BruteforceBattleshipAIBot bot = 
+                    new BruteforceBattleshipAIBot(gameField, 0, forkJoinPool);
+            
+            bot.computeNextShotLocation();
+            
+            FrequencyCounterMatrix frequencyCounterMatrix = 
+                    bot.getFrequencyCounterMatrix();
+            
+            long[] counts = new long[cells];
+            
+            for (int cellIndex = 0; cellIndex < cells; cellIndex++) {
+                counts[cellIndex] = frequencyCounterMatrix.getCounter(cellIndex);
+            }
+            
+            book.put(missedCells, counts);
+            
+            if (BitBoard.cardinality(missedCells) + 1 >= depth) {
+                continue;
+            }
+            
+            long bestCount = frequencyCounterMatrix.getMaximumCount();
+            
+            for (int cellIndex = 0; cellIndex < cells; cellIndex++) {
+                if (counts[cellIndex] == bestCount && bestCount > 0L) {
+                    // Each tied best shot may be chosen, so follow them all:
+                    long[] child = missedCells.clone();
+                    BitBoard.set(child, cellIndex);
+                    queue.addLast(child);
+                }
+            }
+        }
+        
+        write(path, width, height, sortedFleet, book);
+        return book.size();
+    }
+    
+    /**
+     * Opens and memory-maps the opening book file {@code path}.
+     * 
+     * @param path the opening book file.
+     * 
+     * @return the opening book.
+     * 
+     * @throws IOException if the file cannot be read or is not an opening 
+     *                     book.
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, 
+                                                    StandardOpenOption.READ)) {
+            ByteBuffer buffer = 
+                    channel.map(FileChannel.MapMode.READ_ONLY, 
+                                0L, 
+                                channel.size())
+                           .order(ByteOrder.BIG_ENDIAN);
+            
+            if (buffer.remaining() < 2 * Integer.BYTES || 
+                    buffer.getInt() != MAGIC || 
+                    buffer.getInt() != VERSION) {
+                throw new IOException("Not an opening book: " + path);
+            }
+            
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            int[] fleet = new int[buffer.getInt()];
+            
+            for (int i = 0; i < fleet.length; i++) {
+                fleet[i] = buffer.getInt();
+            }
+            
+            int size = buffer.getInt();
+            int words = buffer.getInt();
+            LongBuffer records = buffer.slice().asLongBuffer();
+            
+            if (records.remaining() != 
+                    (long) size * (words + width * height)) {
+                throw new IOException("Truncated opening book: " + path);
+            }
+            
+            return new OpeningBook(width, height, fleet, size, words, records);
+        }
+    }
+    
+    /**
+     * Loads the counters of the position of {@code gameField} to 
+     * {@code frequencyCounterMatrix}, if the book contains the position. The
+     * position is in the book only if the game field size and the search 
+     * fleet match the ones of the book.
+     * 
+     * @param gameField              the game field.
+     * @param frequencyCounterMatrix the target frequency counter matrix.
+     * 
+     * @return {@code true} only if the position was found.
+     */
+    public boolean load(GameField gameField, 
+                        FrequencyCounterMatrix frequencyCounterMatrix) {
+        if (gameField.getWidth() != width || 
+                gameField.getHeight() != height || 
+                !matchesFleet(gameField.getSearchFleet())) {
+            return false;
+        }
+        
+        int record = find(gameField.getShotCells());
+        
+        if (record < 0) {
+            return false;
+        }
+        
+        long[] counters = new long[width * height];
+        records.get(record * recordWords + words, counters);
+        frequencyCounterMatrix.load(counters);
+        return true;
+    }
+    
+    /**
+     * Returns the number of positions in this book.
+     * 
+     * @return the number of positions.
+     */
+    public int size() {
+        return size;
+    }
+    
+    /**
+     * Returns the width of the game fields of this book.
+     * 
+     * @return the width of the game fields.
+     */
+    public int getWidth() {
+        return width;
+    }
+    
+    /**
+     * Returns the height of the game fields of this book.
+     * 
+     * @return the height of the game fields.
+     */
+    public int getHeight() {
+        return height;
+    }
+    
+    /**
+     * Returns the ship lengths of the fleet in ascending order.
+     * 
+     * @return the ship lengths.
+     */
+    public int[] getFleet() {
+        return fleet.clone();
+    }
+    
+    /**
+     * Binary searches the record with the key {@code key}.
+     * 
+     * @param key the bitboard of the missed cells.
+     * 
+     * @return the index of the record, or {@code -1} if not found.
+     */
+    private int find(long[] key) {
+        int low = 0;
+        int high = size - 1;
+        
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int offset = middle * recordWords;
+            int comparison = 0;
+            
+            for (int i = 0; i < words && comparison == 0; i++) {
+                comparison = Long.compareUnsigned(records.get(offset + i), 
+                                                  key[i]);
+            }
+            
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        
+        return -1;
+    }
+    
+    private boolean matchesFleet(List<Ship> searchFleet) {
+        if (searchFleet.size() != fleet.length) {
+            return false;
+        }
+        
+        int[] lengths = new int[fleet.length];
+        
+        for (int i = 0; i < lengths.length; i++) {
+            lengths[i] = searchFleet.get(i).getLength();
+        }
+        
+        Arrays.sort(lengths);
+        return Arrays.equals(lengths, fleet);
+    }
+    
+    private static int compareKeys(long[] key1, long[] key2) {
+        for (int i = 0; i < key1.length; i++) {
+            int comparison = Long.compareUnsigned(key1[i], key2[i]);
+            
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        
+        return 0;
+    }
+    
+    /**
+     * Creates a game field with the cells {@code missedCells} shot. The ships
+     * are only needed for the search fleet: the brute-force search treats all
+     * the shot cells as closed, so their locations do not matter.
+     * 
+     * @param width       the width of the game field.
+     * @param height      the height of the game field.
+     * @param fleet       the lengths of the ships.
+     * @param missedCells the missed cells of the position.
+     * 
+     * @return the game field of the position.
+     */
+    private static GameField createGameField(int width, 
+                                             int height, 
+                                             int[] fleet, 
+                                             long[] missedCells) {
+        GameField gameField = new GameField(width, height);
+        Ship[] ships = new Ship[fleet.length];
+        
+        for (int i = 0; i < fleet.length; i++) {
+            ships[i] = new Ship(fleet[i], Ship.Orientation.HORIZONTAL);
+        }
+        
+        if (!placeFleet(gameField, ships, 0)) {
+            throw new IllegalArgumentException(
+                    "The fleet " + Arrays.toString(fleet) + 
+                    " does not fit into a " + width + "x" + height + 
+                    " game field.");
+        }
+        
+        for (int cellIndex = 0; cellIndex < width * height; cellIndex++) {
+            if (BitBoard.get(missedCells, cellIndex)) {
+                gameField.shoot(cellIndex);
+            }
+        }
+        
+        return gameField;
+    }
+    
+    private static boolean placeFleet(GameField gameField, 
+                                      Ship[] ships, 
+                                      int shipIndex) {
+        if (shipIndex == ships.length) {
+            return true;
+        }
+        
+        Ship ship = ships[shipIndex];
+        PlacementTable.Placements placements = 
+                PlacementTable.of(gameField).getPlacements(ship.getLength());
+        
+        for (int i = 0; i < placements.size(); i++) {
+            if (gameField.shipOccupiesAnotherShip(placements.getMask(i))) {
+                continue;
+            }
+            
+            ship.setOrientation(placements.getOrientation(i));
+            ship.setLocation(placements.getX(i), placements.getY(i));
+            gameField.addShip(ship);
+            
+            if (placeFleet(gameField, ships, shipIndex + 1)) {
+                return true;
+            }
+            
+            gameField.removeShip(gameField.getShipAt(placements.getX(i), 
+                                                     placements.getY(i)));
+        }
+        
+        return false;
+    }
+    
+    private static void write(Path path, 
+                              int width, 
+                              int height, 
+                              int[] fleet, 
+                              Map<long[], long[]> book) throws IOException {
+        
+        try (OutputStream outputStream = Files.newOutputStream(path);
+             DataOutputStream out = 
+                     new DataOutputStream(
+                             new BufferedOutputStream(outputStream))) {
+            
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(fleet.length);
+            
+            for (int length : fleet) {
+                out.writeInt(length);
+            }
+            
+            out.writeInt(book.size());
+            out.writeInt(BitBoard.words(width * height));
+            
+            for (Map.Entry<long[], long[]> entry : book.entrySet()) {
+                for (long word : entry.getKey()) {
+                    out.writeLong(word);
+                }
+                
+                for (long count : entry.getValue()) {
+                    out.writeLong(count);
+                }
+            }
+        }
+    }
+}
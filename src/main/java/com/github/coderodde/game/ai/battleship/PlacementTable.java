@@ -0,0 +1,361 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class implements a table of all the legal ship placements on a game
+ * field of a particular size. For each ship length, the table holds the
+ * bitboard mask of every horizontal and vertical placement. The tables are
+ * immutable and are shared by all the bots and games using the same game field
+ * size.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class PlacementTable {
+    
+    /**
+     * This class holds all the placements of a ship of a particular length.
+     * The horizontal placements come first and are followed by the vertical
+     * ones.
+     */
+    public static final class Placements {
+        
+        /**
+         * The length of the ship.
+         */
+        private final int length;
+        
+        /**
+         * The number of horizontal placements.
+         */
+        private final int horizontalCount;
+        
+        /**
+         * The bitboard masks of the placements.
+         */
+        private final long[][] masks;
+        
+        /**
+         * The indices of the cells covered by the placements.
+         */
+        private final int[][] cells;
+        
+        /**
+         * The index of the first bitboard word of each placement mask that 
+         * has a bit set.
+         */
+        private final int[] fromWords;
+        
+        /**
+         * The index one past the last bitboard word of each placement mask 
+         * that has a bit set.
+         */
+        private final int[] toWords;
+        
+        /**
+         * The {@code X}-coordinates of the placements.
+         */
+        private final int[] xs;
+        
+        /**
+         * The {@code Y}-coordinates of the placements.
+         */
+        private final int[] ys;
+        
+        private Placements(int length, int width, int height) {
+            this.length = length;
+            
+            int horizontalCount =
+                    length > width ? 0 : (width - length + 1) * height;
+            
+            int verticalCount =
+                    length > height ? 0 : (height - length + 1) * width;
+            
+            int count = horizontalCount + verticalCount;
+            
+            this.horizontalCount = horizontalCount;
+            this.masks = new long[count][];
+            this.cells = new int[count][];
+            this.fromWords = new int[count];
+            this.toWords = new int[count];
+            this.xs = new int[count];
+            this.ys = new int[count];
+            
+            Ship ship = new Ship(length, Ship.Orientation.HORIZONTAL);
+            int index = 0;
+            
+            for (int x = 0; x <= width - length; x++) {
+                for (int y = 0; y < height; y++) {
+                    load(ship, x, y, width, height, index++);
+                }
+            }
+            
+            ship.setOrientation(Ship.Orientation.VERTICAL);
+            
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y <= height - length; y++) {
+                    load(ship, x, y, width, height, index++);
+                }
+            }
+        }
+        
+        /**
+         * Returns the length of the ship.
+         * 
+         * @return the length of the ship.
+         */
+        public int getLength() {
+            return length;
+        }
+        
+        /**
+         * Returns the total number of placements.
+         * 
+         * @return the number of placements.
+         */
+        public int size() {
+            return masks.length;
+        }
+        
+        /**
+         * Returns the number of horizontal placements. The horizontal
+         * placements occupy the indices {@code 0, ...,
+         * getHorizontalCount() - 1}.
+         * 
+         * @return the number of horizontal placements.
+         */
+        public int getHorizontalCount() {
+            return horizontalCount;
+        }
+        
+        /**
+         * Returns the bitboard mask of the placement {@code index}. The
+         * returned array must not be modified.
+         * 
+         * @param index the index of the placement.
+         * 
+         * @return the bitboard mask.
+         */
+        public long[] getMask(int index) {
+            return masks[index];
+        }
+        
+        /**
+         * Returns the indices of the cells covered by the placement
+         * {@code index}. The returned array must not be modified.
+         * 
+         * @param index the index of the placement.
+         * 
+         * @return the cell indices.
+         */
+        public int[] getCells(int index) {
+            return cells[index];
+        }
+        
+        /**
+         * Checks whether the mask of the placement {@code index} intersects
+         * {@code bitBoard}. Only the words the placement spans are read, so 
+         * the cost does not grow with the game field area.
+         * 
+         * @param index    the index of the placement.
+         * @param bitBoard the bitboard to check against.
+         * 
+         * @return {@code true} only if the placement covers a cell of 
+         *         {@code bitBoard}.
+         */
+        public boolean intersects(int index, long[] bitBoard) {
+            return BitBoard.intersects(masks[index], 
+                                       bitBoard, 
+                                       fromWords[index], 
+                                       toWords[index]);
+        }
+        
+        /**
+         * Adds the cells of the placement {@code index} to {@code target}.
+         * Only the words the placement spans are written.
+         * 
+         * @param index  the index of the placement.
+         * @param target the target bitboard.
+         */
+        public void addTo(int index, long[] target) {
+            BitBoard.or(masks[index], 
+                        target, 
+                        fromWords[index], 
+                        toWords[index]);
+        }
+        
+        /**
+         * Returns the {@code X}-coordinate of the placement {@code index}.
+         * 
+         * @param index the index of the placement.
+         * 
+         * @return the {@code X}-coordinate.
+         */
+        public int getX(int index) {
+            return xs[index];
+        }
+        
+        /**
+         * Returns the {@code Y}-coordinate of the placement {@code index}.
+         * 
+         * @param index the index of the placement.
+         * 
+         * @return the {@code Y}-coordinate.
+         */
+        public int getY(int index) {
+            return ys[index];
+        }
+        
+        /**
+         * Returns the orientation of the placement {@code index}.
+         * 
+         * @param index the index of the placement.
+         * 
+         * @return the orientation.
+         */
+        public Ship.Orientation getOrientation(int index) {
+            return index < horizontalCount ?
+                    Ship.Orientation.HORIZONTAL :
+                    Ship.Orientation.VERTICAL;
+        }
+        
+        private void load(Ship ship,
+                          int x,
+                          int y,
+                          int width,
+                          int height,
+                          int index) {
+            
+            ship.setLocation(x, y);
+            masks[index] = BitBoard.create(width, height);
+            BitBoard.loadShipMask(ship, width, masks[index]);
+            cells[index] = new int[length];
+            
+            int step = ship.getOrientation() == Ship.Orientation.HORIZONTAL ?
+                    1 :
+                    width;
+            
+            for (int i = 0; i < length; i++) {
+                cells[index][i] = y * width + x + i * step;
+            }
+            
+            fromWords[index] = BitBoard.getWordIndex(cells[index][0]);
+            toWords[index] = 
+                    BitBoard.getWordIndex(cells[index][length - 1]) + 1;
+            
+            xs[index] = x;
+            ys[index] = y;
+        }
+    }
+    
+    /**
+     * Maps the packed game field dimensions to the placement tables.
+     */
+    private static final Map<Long, PlacementTable> TABLES =
+            new ConcurrentHashMap<>();
+    
+    /**
+     * The width of the game field.
+     */
+    private final int width;
+    
+    /**
+     * The height of the game field.
+     */
+    private final int height;
+    
+    /**
+     * Maps each ship length to its placements. Computed lazily.
+     */
+    private final AtomicReferenceArray<Placements> placementsByLength;
+    
+    private PlacementTable(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.placementsByLength =
+                new AtomicReferenceArray<>(Math.max(width, height) + 1);
+    }
+    
+    /**
+     * Returns the shared placement table for the game fields of size
+     * {@code width x height}.
+     * 
+     * @param width  the width of the game field.
+     * @param height the height of the game field.
+     * 
+     * @return the placement table.
+     */
+    public static PlacementTable of(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException(
+                    "Bad game field dimensions: width = "
+                            + width
+                            + ", height = "
+                            + height);
+        }
+        
+        return TABLES.computeIfAbsent(
+                ((long) width << Integer.SIZE) | height,
+                (key) -> new PlacementTable(width, height));
+    }
+    
+    /**
+     * Returns the shared placement table for the game field
+     * {@code gameField}.
+     * 
+     * @param gameField the game field.
+     * 
+     * @return the placement table.
+     */
+    public static PlacementTable of(GameField gameField) {
+        return of(gameField.getWidth(), gameField.getHeight());
+    }
+    
+    /**
+     * Returns all the placements of a ship of length {@code length}.
+     * 
+     * @param length the length of the ship.
+     * 
+     * @return the placements.
+     */
+    public Placements getPlacements(int length) {
+        Placements placements = placementsByLength.get(length);
+        
+        if (placements == null) {
+            // Racing threads compute equal tables, keep the first one:
+            placementsByLength.compareAndSet(
+                    length,
+                    null,
+                    new Placements(length, width, height));
+            
+            placements = placementsByLength.get(length);
+        }
+        
+        return placements;
+    }
+    
+    /**
+     * Computes the placements of all the ship lengths up to
+     * {@code maximumLength}. Call this at startup in order not to pay the
+     * computation during the first shot.
+     * 
+     * @param maximumLength the maximum ship length.
+     */
+    public void precompute(int maximumLength) {
+        for (int length = 1; length <= maximumLength; length++) {
+            getPlacements(length);
+        }
+    }
+    
+    public int getWidth() {
+        return width;
+    }
+    
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,752 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class implements the exact counting of the fleet arrangements by
+ * broken-profile dynamic programming. The game field is swept cell by cell in
+ * row-major order. The state at the frontier holds, for each column, the
+ * number of cells a vertical ship crossing the frontier still needs below it,
+ * the number of cells the horizontal ship in progress still needs to the
+ * right, and the multiset of the ship lengths used so far. Each cell is either
+ * continued by a ship in progress, left empty, or starts a new ship of an
+ * unused length. The number of states depends on the fleet and on the width
+ * of the game field but not on the number of arrangements, so the counting
+ * takes polynomial time for a fixed fleet even when the arrangements run into
+ * the billions.
+ * <p>
+ * The coverage of a cell is the sum over the transitions covering the cell of
+ * the number of ways to reach the source state times the number of ways to
+ * complete from the target state. The forward counts are stored at the start
+ * of each row only, and the counts within a row are recomputed during the
+ * backward sweep.
+ * <p>
+ * Equal length ships are started by length, so each arrangement is counted
+ * once. The counts written to the frequency counter matrix are scaled to be
+ * identical to the ones of {@link FleetEnumerator}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+final class ProfileFleetCounter {
+    
+    /**
+     * This class implements an open addressing hash table mapping the
+     * non-negative state keys to counts.
+     */
+    private static final class StateTable {
+        
+        /**
+         * Marks a free slot.
+         */
+        private static final long NO_KEY = -1L;
+        
+        /**
+         * The maximum load factor in percents.
+         */
+        private static final int MAXIMUM_LOAD_PERCENTAGE = 50;
+        
+        private long[] keys;
+        private long[] values;
+        private int size;
+        
+        /**
+         * Constructs an empty table with room for {@code expectedSize} states
+         * without growing.
+         * 
+         * @param expectedSize the expected number of states.
+         */
+        StateTable(int expectedSize) {
+            int capacity = 16;
+            
+            while (100L * expectedSize > 
+                    (long) MAXIMUM_LOAD_PERCENTAGE * capacity) {
+                capacity *= 2;
+            }
+            
+            this.keys = new long[capacity];
+            this.values = new long[capacity];
+            Arrays.fill(keys, NO_KEY);
+        }
+        
+        /**
+         * Adds {@code value} to the count of the state {@code key}.
+         * 
+         * @param key   the state.
+         * @param value the amount to add.
+         */
+        void add(long key, long value) {
+            if (100L * (size + 1) >
+                    (long) MAXIMUM_LOAD_PERCENTAGE * keys.length) {
+                grow();
+            }
+            
+            int slot = findSlot(keys, key);
+            
+            if (keys[slot] == NO_KEY) {
+                keys[slot] = key;
+                size++;
+            }
+            
+            values[slot] += value;
+        }
+        
+        /**
+         * Returns the count of the state {@code key}, or zero if absent.
+         * 
+         * @param key the state.
+         * 
+         * @return the count.
+         */
+        long get(long key) {
+            int slot = findSlot(keys, key);
+            return keys[slot] == NO_KEY ? 0L : values[slot];
+        }
+        
+        int size() {
+            return size;
+        }
+        
+        int capacity() {
+            return keys.length;
+        }
+        
+        long getKey(int slot) {
+            return keys[slot];
+        }
+        
+        long getValue(int slot) {
+            return values[slot];
+        }
+        
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            
+            keys = new long[2 * oldKeys.length];
+            values = new long[2 * oldKeys.length];
+            Arrays.fill(keys, NO_KEY);
+            
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != NO_KEY) {
+                    int slot = findSlot(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+        
+        private static int findSlot(long[] keys, long key) {
+            int mask = keys.length - 1;
+            int slot = (int) (key * 0x9E3779B97F4A7C15L >>> 32) & mask;
+            
+            while (keys[slot] != NO_KEY && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            
+            return slot;
+        }
+    }
+    
+    /**
+     * The enumeration reaches every arrangement twice, once per orientation of
+     * the sentinel recursion level. Reproduce the same counts.
+     */
+    private static final int ENUMERATION_MULTIPLICITY = 2;
+    
+    /**
+     * The number of expanded states between two deadline checks.
+     */
+    private static final int DEADLINE_CHECK_PERIOD = 1 << 12;
+    
+    /**
+     * The width of the game field.
+     */
+    private final int width;
+    
+    /**
+     * The height of the game field.
+     */
+    private final int height;
+    
+    /**
+     * The cells no ship may occupy.
+     */
+    private final long[] closedCells;
+    
+    /**
+     * The cells some ship must occupy.
+     */
+    private final long[] requiredCells;
+    
+    /**
+     * The distinct ship lengths of the fleet in ascending order.
+     */
+    private final int[] groupLengths;
+    
+    /**
+     * The number of ships of each distinct length.
+     */
+    private final int[] groupSizes;
+    
+    /**
+     * The mixed radix place value of each distinct length in the used ships
+     * field of a state.
+     */
+    private final int[] groupStrides;
+    
+    /**
+     * The used ships field of the state in which all the ships are used.
+     */
+    private final int fullFleet;
+    
+    /**
+     * The number of times each arrangement is counted by the enumeration.
+     */
+    private final long arrangementWeight;
+    
+    /**
+     * The number of bits of the used ships field.
+     */
+    private final int usedShipsBits;
+    
+    /**
+     * The mask of the used ships field.
+     */
+    private final long usedShipsMask;
+    
+    /**
+     * The total length of the unused ships of each used ships field.
+     */
+    private final int[] unusedLengths;
+    
+    /**
+     * The number of the cells that are not closed at indices 
+     * {@code i, i + 1, ...} at index {@code i}.
+     */
+    private final int[] freeCellsAfter;
+    
+    /**
+     * The number of bits of a remaining cell count field.
+     */
+    private final int remainingBits;
+    
+    /**
+     * The target states of the transitions of the latest expanded state.
+     */
+    private final long[] nextStates;
+    
+    /**
+     * The multiplicities of the transitions of the latest expanded state.
+     */
+    private final long[] multiplicities;
+    
+    /**
+     * Whether the transitions of the latest expanded state cover the cell.
+     */
+    private final boolean[] covering;
+    
+    /**
+     * Indicates whether the counting is bounded by a deadline.
+     */
+    private boolean hasDeadline;
+    
+    /**
+     * The deadline in terms of {@link System#nanoTime()}.
+     */
+    private long deadlineNanos;
+    
+    /**
+     * The number of states to expand before the next deadline check.
+     */
+    private int statesUntilDeadlineCheck = DEADLINE_CHECK_PERIOD;
+    
+    /**
+     * Indicates whether the deadline has expired.
+     */
+    private boolean expired;
+    
+    /**
+     * The number of arrangements of the latest counting.
+     */
+    private long arrangements;
+    
+    /**
+     * Constructs this counter.
+     * 
+     * @param gameField      the game field.
+     * @param fleet          the sorted search fleet.
+     * @param hitConstrained whether the arrangements must cover the hit cells
+     *                       instead of avoiding them.
+     * 
+     * @throws IllegalArgumentException if the states of the game field and
+     *                                  the fleet do not fit into a
+     *                                  {@code long}. See 
+     *                                  {@link #fits(int, List)}.
+     */
+    ProfileFleetCounter(GameField gameField,
+                        List<Ship> fleet,
+                        boolean hitConstrained) {
+        
+        this.width = gameField.getWidth();
+        this.height = gameField.getHeight();
+        this.closedCells = gameField.getShotCells().clone();
+        this.requiredCells = BitBoard.create(width, height);
+        
+        if (hitConstrained) {
+            gameField.loadHitCells(requiredCells);
+            
+            for (int i = 0; i < closedCells.length; i++) {
+                closedCells[i] &= ~requiredCells[i];
+            }
+        }
+        
+        List<Integer> lengths = new ArrayList<>();
+        List<Integer> sizes = new ArrayList<>();
+        int[] fleetLengths = new int[fleet.size()];
+        int maximumLength = 1;
+        
+        for (int i = 0; i < fleet.size(); i++) {
+            int length = fleet.get(i).getLength();
+            fleetLengths[i] = length;
+            maximumLength = Math.max(maximumLength, length);
+            
+            if (i > 0 && lengths.get(lengths.size() - 1) == length) {
+                sizes.set(sizes.size() - 1, sizes.get(sizes.size() - 1) + 1);
+            } else {
+                lengths.add(length);
+                sizes.add(1);
+            }
+        }
+        
+        this.groupLengths = new int[lengths.size()];
+        this.groupSizes = new int[lengths.size()];
+        this.groupStrides = new int[lengths.size()];
+        
+        int stride = 1;
+        
+        for (int j = 0; j < groupLengths.length; j++) {
+            groupLengths[j] = lengths.get(j);
+            groupSizes[j] = sizes.get(j);
+            groupStrides[j] = stride;
+            stride *= groupSizes[j] + 1;
+        }
+        
+        this.fullFleet = stride - 1;
+        this.arrangementWeight =
+                ENUMERATION_MULTIPLICITY *
+                FleetEnumerator.computeArrangementWeight(fleetLengths);
+        
+        this.usedShipsBits = bitsFor(fullFleet);
+        this.usedShipsMask = (1L << usedShipsBits) - 1L;
+        this.unusedLengths = new int[fullFleet + 1];
+        
+        for (int usedShips = 0; usedShips <= fullFleet; usedShips++) {
+            for (int j = 0; j < groupLengths.length; j++) {
+                unusedLengths[usedShips] += 
+                        groupLengths[j] * 
+                        (groupSizes[j] - getUsedShips(usedShips, j));
+            }
+        }
+        
+        this.freeCellsAfter = new int[width * height + 1];
+        
+        for (int cellIndex = width * height - 1; cellIndex >= 0; cellIndex--) {
+            freeCellsAfter[cellIndex] = 
+                    freeCellsAfter[cellIndex + 1] + 
+                    (BitBoard.get(closedCells, cellIndex) ? 0 : 1);
+        }
+        
+        this.remainingBits = bitsFor(maximumLength - 1);
+        
+        if (getStateBits(width, fullFleet, maximumLength) >= Long.SIZE) {
+            throw new IllegalArgumentException(
+                    "The profile of a game field of width "
+                            + width
+                            + " does not fit into a long.");
+        }
+        
+        int maximumTransitions = 1 + 2 * groupLengths.length;
+        
+        this.nextStates = new long[maximumTransitions];
+        this.multiplicities = new long[maximumTransitions];
+        this.covering = new boolean[maximumTransitions];
+    }
+    
+    /**
+     * Checks whether the states of the profile counting of {@code fleet} on a
+     * game field of width {@code width} fit into a {@code long}. The state 
+     * holds a remaining length field per column, so the wide game fields 
+     * with long ships do not fit and must be counted otherwise.
+     * 
+     * @param width the width of the game field.
+     * @param fleet the search fleet in any order.
+     * 
+     * @return {@code true} only if the fleet may be counted by this class.
+     */
+    static boolean fits(int width, List<Ship> fleet) {
+        int maximumLength = 1;
+        
+        for (Ship ship : fleet) {
+            maximumLength = Math.max(maximumLength, ship.getLength());
+        }
+        
+        int[] groupSizes = new int[maximumLength + 1];
+        
+        for (Ship ship : fleet) {
+            groupSizes[ship.getLength()]++;
+        }
+        
+        long fullFleet = 1L;
+        
+        for (int groupSize : groupSizes) {
+            fullFleet *= groupSize + 1;
+            
+            if (fullFleet > Integer.MAX_VALUE) {
+                return false;
+            }
+        }
+        
+        return getStateBits(width, (int) fullFleet - 1, maximumLength) 
+                < Long.SIZE;
+    }
+    
+    /**
+     * Bounds the counting by a deadline. Once the deadline expires, the
+     * counting stops and nothing is printed.
+     * 
+     * @param deadlineNanos the deadline in terms of {@link System#nanoTime()}.
+     */
+    void setDeadline(long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadlineNanos = deadlineNanos;
+    }
+    
+    /**
+     * Returns {@code true} if the deadline expired before the counting
+     * completed.
+     * 
+     * @return {@code true} only if the counting was cut short.
+     */
+    boolean isExpired() {
+        return expired;
+    }
+    
+    /**
+     * Returns the number of arrangements found by the latest counting, each
+     * arrangement of the interchangeable equal length ships counted once.
+     * 
+     * @return the number of arrangements.
+     */
+    long getArrangements() {
+        return arrangements;
+    }
+    
+    /**
+     * Counts the arrangements and prints the cell coverage to
+     * {@code frequencyCounterMatrix}.
+     * 
+     * @param frequencyCounterMatrix the target frequency counter matrix.
+     */
+    void count(FrequencyCounterMatrix frequencyCounterMatrix) {
+        // The forward counts at the start of each row:
+        StateTable[] rowStarts = new StateTable[height];
+        StateTable forward = new StateTable(1);
+        forward.add(0L, 1L);
+        
+        for (int y = 0; y < height; y++) {
+            rowStarts[y] = forward;
+            
+            for (int x = 0; x < width; x++) {
+                forward = advance(forward, y * width + x);
+                
+                if (expired) {
+                    return;
+                }
+            }
+        }
+        
+        long finalState = fullFleet;
+        arrangements = forward.get(finalState);
+        
+        long[] coverage = new long[width * height];
+        StateTable backward = new StateTable(1);
+        backward.add(finalState, 1L);
+        
+        StateTable[] rowForward = new StateTable[width];
+        
+        for (int y = height - 1; y >= 0; y--) {
+            rowForward[0] = rowStarts[y];
+            
+            for (int x = 1; x < width; x++) {
+                rowForward[x] = advance(rowForward[x - 1], y * width + x - 1);
+                
+                if (expired) {
+                    return;
+                }
+            }
+            
+            for (int x = width - 1; x >= 0; x--) {
+                backward = retreat(rowForward[x],
+                                   backward,
+                                   y * width + x,
+                                   coverage);
+                
+                if (expired) {
+                    return;
+                }
+            }
+            
+            // The row is done, let its forward counts go:
+            rowStarts[y] = null;
+        }
+        
+        for (int cellIndex = 0; cellIndex < coverage.length; cellIndex++) {
+            frequencyCounterMatrix.incrementCell(
+                    cellIndex,
+                    coverage[cellIndex] * arrangementWeight);
+        }
+    }
+    
+    /**
+     * Computes the forward counts after the cell {@code cellIndex}.
+     * 
+     * @param forward   the forward counts before the cell.
+     * @param cellIndex the index of the cell.
+     * 
+     * @return the forward counts after the cell.
+     */
+    private StateTable advance(StateTable forward, int cellIndex) {
+        StateTable next = new StateTable(forward.size());
+        int freeCellsAfter = this.freeCellsAfter[cellIndex + 1];
+        
+        for (int slot = 0; slot < forward.capacity(); slot++) {
+            long state = forward.getKey(slot);
+            
+            if (state == StateTable.NO_KEY) {
+                continue;
+            }
+            
+            if (isDeadlineExpired()) {
+                return next;
+            }
+            
+            long count = forward.getValue(slot);
+            int transitions = expand(state, cellIndex);
+            
+            for (int t = 0; t < transitions; t++) {
+                // Drop the states whose unused ships cannot fit any more:
+                int usedShips = (int) (nextStates[t] & usedShipsMask);
+                
+                if (unusedLengths[usedShips] <= freeCellsAfter) {
+                    next.add(nextStates[t], count * multiplicities[t]);
+                }
+            }
+        }
+        
+        return next;
+    }
+    
+    /**
+     * Computes the backward counts before the cell {@code cellIndex}, that
+     * is, the number of completions of each state reachable before the cell,
+     * and adds the coverage of the cell to {@code coverage}.
+     * 
+     * @param forward   the forward counts before the cell.
+     * @param backward  the backward counts after the cell.
+     * @param cellIndex the index of the cell.
+     * @param coverage  the coverage counts of the cells.
+     * 
+     * @return the backward counts before the cell.
+     */
+    private StateTable retreat(StateTable forward,
+                               StateTable backward,
+                               int cellIndex,
+                               long[] coverage) {
+        
+        StateTable previous = new StateTable(forward.size());
+        
+        for (int slot = 0; slot < forward.capacity(); slot++) {
+            long state = forward.getKey(slot);
+            
+            if (state == StateTable.NO_KEY) {
+                continue;
+            }
+            
+            if (isDeadlineExpired()) {
+                return previous;
+            }
+            
+            int transitions = expand(state, cellIndex);
+            long completions = 0L;
+            long coveringCompletions = 0L;
+            
+            for (int t = 0; t < transitions; t++) {
+                long count = multiplicities[t] * backward.get(nextStates[t]);
+                completions += count;
+                
+                if (covering[t]) {
+                    coveringCompletions += count;
+                }
+            }
+            
+            if (completions != 0L) {
+                previous.add(state, completions);
+            }
+            
+            coverage[cellIndex] +=
+                    forward.getValue(slot) * coveringCompletions;
+        }
+        
+        return previous;
+    }
+    
+    /**
+     * Computes the transitions of the state {@code state} over the cell
+     * {@code cellIndex} to {@link #nextStates}, {@link #multiplicities} and
+     * {@link #covering}.
+     * 
+     * @param state     the state before the cell.
+     * @param cellIndex the index of the cell.
+     * 
+     * @return the number of transitions.
+     */
+    private int expand(long state, int cellIndex) {
+        int x = cellIndex % width;
+        int y = cellIndex / width;
+        boolean closed = BitBoard.get(closedCells, cellIndex);
+        int vertical = getRemaining(state, x + 1);
+        int horizontal = getRemaining(state, 0);
+        
+        if (vertical > 0 || horizontal > 0) {
+            // The cell continues a ship in progress:
+            if (closed || (vertical > 0 && horizontal > 0)) {
+                return 0;
+            }
+            
+            nextStates[0] = vertical > 0 ?
+                    setRemaining(state, x + 1, vertical - 1) :
+                    setRemaining(state, 0, horizontal - 1);
+            
+            multiplicities[0] = 1L;
+            covering[0] = true;
+            return 1;
+        }
+        
+        int transitions = 0;
+        
+        if (!BitBoard.get(requiredCells, cellIndex)) {
+            nextStates[transitions] = state;
+            multiplicities[transitions] = 1L;
+            covering[transitions++] = false;
+        }
+        
+        if (closed) {
+            return transitions;
+        }
+        
+        int usedShips = (int) (state & usedShipsMask);
+        
+        for (int j = 0; j < groupLengths.length; j++) {
+            if (getUsedShips(usedShips, j) == groupSizes[j]) {
+                continue;
+            }
+            
+            int length = groupLengths[j];
+            long usedState = state + groupStrides[j];
+            
+            if (length == 1) {
+                // The enumeration places a single cell ship in both
+                // orientations:
+                nextStates[transitions] = usedState;
+                multiplicities[transitions] = 2L;
+                covering[transitions++] = true;
+                continue;
+            }
+            
+            if (x + length <= width) {
+                nextStates[transitions] =
+                        setRemaining(usedState, 0, length - 1);
+                
+                multiplicities[transitions] = 1L;
+                covering[transitions++] = true;
+            }
+            
+            if (y + length <= height) {
+                nextStates[transitions] =
+                        setRemaining(usedState, x + 1, length - 1);
+                
+                multiplicities[transitions] = 1L;
+                covering[transitions++] = true;
+            }
+        }
+        
+        return transitions;
+    }
+    
+    /**
+     * Returns the remaining cell count field {@code field} of the state. The
+     * field {@code 0} belongs to the horizontal ship in progress and the
+     * field {@code x + 1} to the vertical ship in progress in the column
+     * {@code x}.
+     * 
+     * @param state the state.
+     * @param field the index of the field.
+     * 
+     * @return the number of the remaining cells.
+     */
+    private int getRemaining(long state, int field) {
+        int shift = usedShipsBits + field * remainingBits;
+        return (int) ((state >>> shift) & ((1L << remainingBits) - 1L));
+    }
+    
+    private long setRemaining(long state, int field, int remaining) {
+        int shift = usedShipsBits + field * remainingBits;
+        long mask = ((1L << remainingBits) - 1L) << shift;
+        return (state & ~mask) | ((long) remaining << shift);
+    }
+    
+    private int getUsedShips(int usedShips, int group) {
+        return (usedShips / groupStrides[group]) % (groupSizes[group] + 1);
+    }
+    
+    private boolean isDeadlineExpired() {
+        if (hasDeadline && --statesUntilDeadlineCheck == 0) {
+            statesUntilDeadlineCheck = DEADLINE_CHECK_PERIOD;
+            expired = System.nanoTime() - deadlineNanos >= 0L;
+        }
+        
+        return expired;
+    }
+    
+    /**
+     * Returns the number of bits of a state.
+     * 
+     * @param width         the width of the game field.
+     * @param fullFleet     the used ships field of the full fleet.
+     * @param maximumLength the length of the longest ship.
+     * 
+     * @return the number of bits of a state.
+     */
+    private static int getStateBits(int width, 
+                                    int fullFleet, 
+                                    int maximumLength) {
+        return bitsFor(fullFleet) + (width + 1) * bitsFor(maximumLength - 1);
+    }
+    
+    /**
+     * Returns the number of bits needed to represent the values
+     * {@code 0, ..., maximum}.
+     * 
+     * @param maximum the maximum value.
+     * 
+     * @return the number of bits, at least one.
+     */
+    private static int bitsFor(int maximum) {
+        return Math.max(1, 
+                        Integer.SIZE - Integer.numberOfLeadingZeros(maximum));
+    }
+}
@@ -0,0 +1,473 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class implements the counting of the fleet arrangements over a game
+ * field whose free cells fall apart into several disconnected regions. A ship
+ * lies within a single region, so an arrangement of the fleet is a choice of
+ * a sub-fleet for each region together with an arrangement of each sub-fleet
+ * within its region. Instead of enumerating the whole fleet jointly across
+ * all the regions, each region is enumerated once per sub-fleet, and the
+ * counts are combined by convolving the arrangement counts of the other
+ * regions over the sub-fleets. The cost is thus roughly the sum of the costs
+ * of the regions instead of their product.
+ * <p>
+ * A sub-fleet is a multiset of ship lengths, indexed in the mixed radix whose
+ * digit {@code j} is the number of ships of the {@code j}th distinct length.
+ * The sum of two sub-fleets is the sum of their indices whenever no digit
+ * overflows.
+ * <p>
+ * The regions too small to hold the shortest ship and without hits to cover
+ * take no part in the counting. The counts written to the frequency counter
+ * matrix are identical to the ones of {@link FleetEnumerator} over the whole
+ * fleet.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+final class RegionFleetCounter {
+    
+    /**
+     * The game field being searched.
+     */
+    private final GameField gameField;
+    
+    /**
+     * The placement table of the game field.
+     */
+    private final PlacementTable placementTable;
+    
+    /**
+     * Whether the search is constrained by the hit cells.
+     */
+    private final boolean hitConstrained;
+    
+    /**
+     * The statistics to add the search counts to.
+     */
+    private final SearchStatistics searchStatistics;
+    
+    /**
+     * The bitboards of the regions taking part in the counting.
+     */
+    private final List<long[]> regions;
+    
+    /**
+     * The distinct ship lengths of the fleet in ascending order.
+     */
+    private final int[] groupLengths;
+    
+    /**
+     * The number of ships of each distinct length.
+     */
+    private final int[] groupSizes;
+    
+    /**
+     * The mixed radix place value of each distinct length.
+     */
+    private final int[] groupStrides;
+    
+    /**
+     * The number of distinct sub-fleets, the empty and the full one included.
+     */
+    private final int subFleets;
+    
+    /**
+     * Indicates whether the counting is bounded by a deadline.
+     */
+    private boolean hasDeadline;
+    
+    /**
+     * The deadline in terms of {@link System#nanoTime()}.
+     */
+    private long deadlineNanos;
+    
+    /**
+     * Indicates whether the deadline has expired.
+     */
+    private boolean expired;
+    
+    /**
+     * Constructs this counter and finds the regions of the game field.
+     * 
+     * @param gameField        the game field.
+     * @param placementTable   the placement table of the game field.
+     * @param fleet            the sorted search fleet.
+     * @param hitConstrained   whether to constrain the search by the hit
+     *                         cells.
+     * @param searchStatistics the statistics to add the search counts to.
+     */
+    RegionFleetCounter(GameField gameField,
+                       PlacementTable placementTable,
+                       List<Ship> fleet,
+                       boolean hitConstrained,
+                       SearchStatistics searchStatistics) {
+        
+        this.gameField = gameField;
+        this.placementTable = placementTable;
+        this.hitConstrained = hitConstrained;
+        this.searchStatistics = searchStatistics;
+        
+        int groups = 0;
+        
+        for (int i = 0; i < fleet.size(); i++) {
+            if (i == 0 ||
+                    fleet.get(i).getLength() !=
+                    fleet.get(i - 1).getLength()) {
+                groups++;
+            }
+        }
+        
+        this.groupLengths = new int[groups];
+        this.groupSizes = new int[groups];
+        this.groupStrides = new int[groups];
+        
+        int group = -1;
+        
+        for (int i = 0; i < fleet.size(); i++) {
+            if (i == 0 ||
+                    fleet.get(i).getLength() !=
+                    fleet.get(i - 1).getLength()) {
+                groupLengths[++group] = fleet.get(i).getLength();
+            }
+            
+            groupSizes[group]++;
+        }
+        
+        int subFleets = 1;
+        
+        for (int j = 0; j < groups; j++) {
+            groupStrides[j] = subFleets;
+            subFleets *= groupSizes[j] + 1;
+        }
+        
+        this.subFleets = subFleets;
+        this.regions = findRegions();
+    }
+    
+    /**
+     * Returns the number of regions taking part in the counting. Unless there
+     * are at least two of them, there is nothing to gain from the
+     * decomposition.
+     * 
+     * @return the number of regions.
+     */
+    int getRegionCount() {
+        return regions.size();
+    }
+    
+    /**
+     * Bounds the counting by a deadline. Once the deadline expires, the
+     * counting stops and the combined counts are only partial.
+     * 
+     * @param deadlineNanos the deadline in terms of {@link System#nanoTime()}.
+     */
+    void setDeadline(long deadlineNanos) {
+        this.hasDeadline = true;
+        this.deadlineNanos = deadlineNanos;
+    }
+    
+    /**
+     * Returns {@code true} if the deadline expired before the counting
+     * completed.
+     * 
+     * @return {@code true} only if the counting was cut short.
+     */
+    boolean isExpired() {
+        return expired;
+    }
+    
+    /**
+     * Counts the arrangements and prints the cell coverage to
+     * {@code frequencyCounterMatrix}.
+     * 
+     * @param frequencyCounterMatrix the target frequency counter matrix.
+     */
+    void count(FrequencyCounterMatrix frequencyCounterMatrix) {
+        int regionCount = regions.size();
+        
+        // arrangements[r][s] is the number of arrangements of the sub-fleet s
+        // within the region r, and matrices[r][s] their cell coverage:
+        long[][] arrangements = new long[regionCount][];
+        FrequencyCounterMatrix[][] matrices =
+                new FrequencyCounterMatrix[regionCount][subFleets];
+        
+        for (int r = 0; r < regionCount; r++) {
+            arrangements[r] = countRegion(regions.get(r), matrices[r]);
+        }
+        
+        int fullFleet = subFleets - 1;
+        
+        for (int r = 0; r < regionCount; r++) {
+            long[] otherArrangements = new long[subFleets];
+            otherArrangements[0] = 1L;
+            
+            for (int other = 0; other < regionCount; other++) {
+                if (other != r) {
+                    otherArrangements = convolve(otherArrangements,
+                                                 arrangements[other]);
+                }
+            }
+            
+            for (int s = 1; s < subFleets; s++) {
+                long complementArrangements = otherArrangements[fullFleet - s];
+                
+                if (matrices[r][s] != null && complementArrangements != 0L) {
+                    // The enumerator weighs by the permutations within the
+                    // sub-fleet, the whole fleet permutes more:
+                    frequencyCounterMatrix.add(
+                            matrices[r][s],
+                            complementArrangements *
+                                    computePermutationRatio(s));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Enumerates each sub-fleet within the region {@code regionCells}.
+     * 
+     * @param regionCells the bitboard of the region.
+     * @param matrices    the array to store the cell coverage of each
+     *                    sub-fleet to.
+     * 
+     * @return the number of arrangements of each sub-fleet.
+     */
+    private long[] countRegion(long[] regionCells,
+                               FrequencyCounterMatrix[] matrices) {
+        
+        long[] arrangements = new long[subFleets];
+        long[] hitCells = new long[regionCells.length];
+        
+        if (hitConstrained) {
+            gameField.loadHitCells(hitCells);
+            
+            for (int i = 0; i < hitCells.length; i++) {
+                hitCells[i] &= regionCells[i];
+            }
+        }
+        
+        int regionSize = BitBoard.cardinality(regionCells);
+        int regionHits = BitBoard.cardinality(hitCells);
+        
+        // The empty sub-fleet fits only a region without hits to cover:
+        arrangements[0] = regionHits == 0 ? 1L : 0L;
+        
+        for (int s = 1; s < subFleets && !expired; s++) {
+            List<Ship> subFleet = createSubFleet(s);
+            int totalLength = 0;
+            
+            for (Ship ship : subFleet) {
+                totalLength += ship.getLength();
+            }
+            
+            if (totalLength > regionSize || totalLength < regionHits) {
+                continue;
+            }
+            
+            FleetEnumerator enumerator =
+                    new FleetEnumerator(
+                            gameField,
+                            placementTable,
+                            subFleet,
+                            new FrequencyCounterMatrix(
+                                    gameField.getWidth(),
+                                    gameField.getHeight()));
+            
+            if (hitConstrained) {
+                enumerator.constrainByHits();
+            }
+            
+            enumerator.restrictToRegion(regionCells);
+            
+            if (hasDeadline) {
+                enumerator.setDeadline(deadlineNanos);
+            }
+            
+            enumerator.enumerate(0);
+            enumerator.addSearchCountsTo(searchStatistics);
+            expired = enumerator.isExpired();
+            
+            if (enumerator.getConfigurations() != 0L) {
+                arrangements[s] = enumerator.getConfigurations();
+                matrices[s] = enumerator.getFrequencyCounterMatrix();
+            }
+        }
+        
+        return arrangements;
+    }
+    
+    /**
+     * Creates the ships of the sub-fleet {@code subFleet} sorted by length.
+     * 
+     * @param subFleet the index of the sub-fleet.
+     * 
+     * @return the ships of the sub-fleet.
+     */
+    private List<Ship> createSubFleet(int subFleet) {
+        List<Ship> ships = new ArrayList<>();
+        
+        for (int j = 0; j < groupLengths.length; j++) {
+            for (int i = 0; i < getDigit(subFleet, j); i++) {
+                ships.add(new Ship(groupLengths[j],
+                                   Ship.Orientation.HORIZONTAL));
+            }
+        }
+        
+        return ships;
+    }
+    
+    /**
+     * Computes the convolution of the two input sub-fleet count vectors: the
+     * entry {@code u} of the result is the sum of the products
+     * {@code a[s] * b[t]} over all the sub-fleets {@code s} and {@code t}
+     * making up {@code u}.
+     * 
+     * @param a the first count vector.
+     * @param b the second count vector.
+     * 
+     * @return the convolution.
+     */
+    private long[] convolve(long[] a, long[] b) {
+        long[] result = new long[subFleets];
+        
+        for (int s = 0; s < subFleets; s++) {
+            if (a[s] == 0L) {
+                continue;
+            }
+            
+            for (int t = 0; s + t < subFleets; t++) {
+                if (b[t] != 0L && fitTogether(s, t)) {
+                    result[s + t] += a[s] * b[t];
+                }
+            }
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Checks whether the sub-fleets {@code s} and {@code t} together take at
+     * most the ships of the whole fleet.
+     * 
+     * @param s the first sub-fleet.
+     * @param t the second sub-fleet.
+     * 
+     * @return {@code true} only if no length is taken too many times.
+     */
+    private boolean fitTogether(int s, int t) {
+        for (int j = 0; j < groupSizes.length; j++) {
+            if (getDigit(s, j) + getDigit(t, j) > groupSizes[j]) {
+                return false;
+            }
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Computes the product of {@code m! / c!} over the distinct lengths, where
+     * {@code m} is the number of ships of the length in the fleet and
+     * {@code c} in the sub-fleet {@code subFleet}.
+     * 
+     * @param subFleet the index of the sub-fleet.
+     * 
+     * @return the ratio of the permutation counts.
+     */
+    private long computePermutationRatio(int subFleet) {
+        long ratio = 1L;
+        
+        for (int j = 0; j < groupSizes.length; j++) {
+            for (int k = getDigit(subFleet, j) + 1; k <= groupSizes[j]; k++) {
+                ratio *= k;
+            }
+        }
+        
+        return ratio;
+    }
+    
+    private int getDigit(int subFleet, int group) {
+        return (subFleet / groupStrides[group]) % (groupSizes[group] + 1);
+    }
+    
+    /**
+     * Finds the connected regions of the cells the ships may occupy, leaving
+     * out the regions that could not take part in any arrangement.
+     * 
+     * @return the bitboards of the regions.
+     */
+    private List<long[]> findRegions() {
+        int width = gameField.getWidth();
+        int height = gameField.getHeight();
+        long[] visited = gameField.getShotCells().clone();
+        long[] hitCells = BitBoard.create(width, height);
+        
+        if (hitConstrained) {
+            gameField.loadHitCells(hitCells);
+            
+            // The hit cells are free for the ships to cover:
+            for (int i = 0; i < visited.length; i++) {
+                visited[i] &= ~hitCells[i];
+            }
+        }
+        
+        int shortestLength =
+                groupLengths.length == 0 ? 0 : groupLengths[0];
+        
+        List<long[]> regions = new ArrayList<>();
+        int[] stack = new int[width * height];
+        
+        for (int cellIndex = 0; cellIndex < width * height; cellIndex++) {
+            if (BitBoard.get(visited, cellIndex)) {
+                continue;
+            }
+            
+            long[] region = BitBoard.create(width, height);
+            int size = 0;
+            int stackSize = 0;
+            
+            BitBoard.set(visited, cellIndex);
+            stack[stackSize++] = cellIndex;
+            
+            while (stackSize > 0) {
+                int current = stack[--stackSize];
+                int x = current % width;
+                int y = current / width;
+                
+                BitBoard.set(region, current);
+                size++;
+                
+                if (x > 0 && !BitBoard.get(visited, current - 1)) {
+                    BitBoard.set(visited, current - 1);
+                    stack[stackSize++] = current - 1;
+                }
+                
+                if (x < width - 1 && !BitBoard.get(visited, current + 1)) {
+                    BitBoard.set(visited, current + 1);
+                    stack[stackSize++] = current + 1;
+                }
+                
+                if (y > 0 && !BitBoard.get(visited, current - width)) {
+                    BitBoard.set(visited, current - width);
+                    stack[stackSize++] = current - width;
+                }
+                
+                if (y < height - 1 &&
+                        !BitBoard.get(visited, current + width)) {
+                    BitBoard.set(visited, current + width);
+                    stack[stackSize++] = current + width;
+                }
+            }
+            
+            if (size >= shortestLength ||
+                    BitBoard.intersects(region, hitCells)) {
+                regions.add(region);
+            }
+        }
+        
+        return regions;
+    }
+}
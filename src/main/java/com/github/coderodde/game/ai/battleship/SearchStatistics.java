@@ -0,0 +1,483 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class collects the search statistics of one or more bots. The search 
+ * counts its nodes and rejections in plain local fields and adds them here 
+ * once per search, so the statistics are cheap enough to leave on. The 
+ * counters are thread-safe and may be shared by the bots of concurrent games.
+ * <p>
+ * The statistics can be pulled by {@link #snapshot()} or exposed as a 
+ * platform MBean by {@link #register(String)}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class SearchStatistics implements SearchStatisticsMXBean {
+    
+    /**
+     * The domain of the object names of the registered statistics.
+     */
+    public static final String JMX_DOMAIN = 
+            "com.github.coderodde.game.ai.battleship";
+    
+    /**
+     * This class holds the values of the counters at one point in time. The 
+     * counters are read one by one, so a snapshot taken during a search may 
+     * mix the counts before and after the search.
+     */
+    public static final class Snapshot {
+        
+        /**
+         * The number of completed searches.
+         */
+        private final long searches;
+        
+        /**
+         * The number of nodes visited.
+         */
+        private final long nodes;
+        
+        /**
+         * The number of placements rejected for occupying a closed cell.
+         */
+        private final long closedCellRejections;
+        
+        /**
+         * The number of placements rejected for overlapping an earlier ship.
+         */
+        private final long overlapRejections;
+        
+        /**
+         * The number of placements rejected because the remaining ships could 
+         * not fit.
+         */
+        private final long feasibilityRejections;
+        
+        /**
+         * The number of complete configurations.
+         */
+        private final long configurations;
+        
+        /**
+         * The number of searches answered by a cache or an opening book.
+         */
+        private final long cacheHits;
+        
+        /**
+         * The number of misses handled by updating the counts incrementally.
+         */
+        private final long incrementalUpdates;
+        
+        /**
+         * The total wall time of the searches in nanoseconds.
+         */
+        private final long totalSearchNanos;
+        
+        /**
+         * The maximum wall time of a search in nanoseconds.
+         */
+        private final long maximumSearchNanos;
+        
+        /**
+         * The wall time of the latest search in nanoseconds.
+         */
+        private final long lastSearchNanos;
+        
+        private Snapshot(SearchStatistics statistics) {
+            this.searches = statistics.getSearches();
+            this.nodes = statistics.getNodes();
+            this.closedCellRejections = statistics.getClosedCellRejections();
+            this.overlapRejections = statistics.getOverlapRejections();
+            this.feasibilityRejections = 
+                    statistics.getFeasibilityRejections();
+            this.configurations = statistics.getConfigurations();
+            this.cacheHits = statistics.getCacheHits();
+            this.incrementalUpdates = statistics.getIncrementalUpdates();
+            this.totalSearchNanos = statistics.getTotalSearchNanos();
+            this.maximumSearchNanos = statistics.getMaximumSearchNanos();
+            this.lastSearchNanos = statistics.getLastSearchNanos();
+        }
+        
+        /**
+         * Returns the number of completed searches.
+         * 
+         * @return the number of completed searches.
+         */
+        public long getSearches() {
+            return searches;
+        }
+        
+        /**
+         * Returns the number of nodes visited.
+         * 
+         * @return the number of nodes visited.
+         */
+        public long getNodes() {
+            return nodes;
+        }
+        
+        /**
+         * Returns the number of placements rejected for occupying a closed 
+         * cell.
+         * 
+         * @return the number of placements rejected for occupying a closed 
+         *         cell.
+         */
+        public long getClosedCellRejections() {
+            return closedCellRejections;
+        }
+        
+        /**
+         * Returns the number of placements rejected for overlapping an earlier 
+         * ship.
+         * 
+         * @return the number of placements rejected for overlapping an earlier 
+         *         ship.
+         */
+        public long getOverlapRejections() {
+            return overlapRejections;
+        }
+        
+        /**
+         * Returns the number of placements rejected because the remaining 
+         * ships could not fit.
+         * 
+         * @return the number of placements rejected because the remaining 
+         *         ships could not fit.
+         */
+        public long getFeasibilityRejections() {
+            return feasibilityRejections;
+        }
+        
+        /**
+         * Returns the number of complete configurations.
+         * 
+         * @return the number of complete configurations.
+         */
+        public long getConfigurations() {
+            return configurations;
+        }
+        
+        /**
+         * Returns the number of searches answered by a cache or an opening 
+         * book.
+         * 
+         * @return the number of searches answered by a cache or an opening 
+         *         book.
+         */
+        public long getCacheHits() {
+            return cacheHits;
+        }
+        
+        /**
+         * Returns the number of misses handled by updating the counts 
+         * incrementally.
+         * 
+         * @return the number of misses handled by updating the counts 
+         *         incrementally.
+         */
+        public long getIncrementalUpdates() {
+            return incrementalUpdates;
+        }
+        
+        /**
+         * Returns the total wall time of the searches in nanoseconds.
+         * 
+         * @return the total wall time of the searches in nanoseconds.
+         */
+        public long getTotalSearchNanos() {
+            return totalSearchNanos;
+        }
+        
+        /**
+         * Returns the maximum wall time of a search in nanoseconds.
+         * 
+         * @return the maximum wall time of a search in nanoseconds.
+         */
+        public long getMaximumSearchNanos() {
+            return maximumSearchNanos;
+        }
+        
+        /**
+         * Returns the wall time of the latest search in nanoseconds.
+         * 
+         * @return the wall time of the latest search in nanoseconds.
+         */
+        public long getLastSearchNanos() {
+            return lastSearchNanos;
+        }
+        
+        /**
+         * Returns the mean wall time of a search in nanoseconds, or zero if 
+         * there were no searches.
+         * 
+         * @return the mean search time.
+         */
+        public long getMeanSearchNanos() {
+            return searches == 0L ? 0L : totalSearchNanos / searches;
+        }
+        
+        @Override
+        public String toString() {
+            return "[searches = " + searches 
+                    + ", nodes = " + nodes
+                    + ", closed cell rejections = " + closedCellRejections
+                    + ", overlap rejections = " + overlapRejections
+                    + ", feasibility rejections = " + feasibilityRejections
+                    + ", configurations = " + configurations
+                    + ", cache hits = " + cacheHits
+                    + ", incremental updates = " + incrementalUpdates
+                    + ", mean search = " + getMeanSearchNanos() + " ns"
+                    + ", maximum search = " + maximumSearchNanos + " ns]";
+        }
+    }
+    
+    /**
+     * The number of completed searches.
+     */
+    private final LongAdder searches = new LongAdder();
+    
+    /**
+     * The number of nodes visited.
+     */
+    private final LongAdder nodes = new LongAdder();
+    
+    /**
+     * The number of placements rejected for occupying a closed cell.
+     */
+    private final LongAdder closedCellRejections = new LongAdder();
+    
+    /**
+     * The number of placements rejected for overlapping an earlier ship.
+     */
+    private final LongAdder overlapRejections = new LongAdder();
+    
+    /**
+     * The number of placements rejected because the remaining ships could not 
+     * fit.
+     */
+    private final LongAdder feasibilityRejections = new LongAdder();
+    
+    /**
+     * The number of complete configurations.
+     */
+    private final LongAdder configurations = new LongAdder();
+    
+    /**
+     * The number of searches answered by a cache or an opening book.
+     */
+    private final LongAdder cacheHits = new LongAdder();
+    
+    /**
+     * The number of misses handled by updating the counts incrementally.
+     */
+    private final LongAdder incrementalUpdates = new LongAdder();
+    
+    /**
+     * The total wall time of the searches in nanoseconds.
+     */
+    private final LongAdder totalSearchNanos = new LongAdder();
+    
+    /**
+     * The maximum wall time of a search in nanoseconds.
+     */
+    private final LongAccumulator maximumSearchNanos = 
+            new LongAccumulator(Math::max, 0L);
+    
+    /**
+     * The wall time of the latest search. Written by any searching thread.
+     */
+    private volatile long lastSearchNanos;
+    
+    /**
+     * The name this object is registered under, or {@code null} if not 
+     * registered.
+     */
+    private ObjectName objectName;
+    
+    /**
+     * Records a completed shot location computation.
+     * 
+     * @param durationNanos the wall time of the search in nanoseconds.
+     */
+    void recordSearch(long durationNanos) {
+        searches.increment();
+        totalSearchNanos.add(durationNanos);
+        maximumSearchNanos.accumulate(durationNanos);
+        lastSearchNanos = durationNanos;
+    }
+    
+    /**
+     * Adds the counts of one enumeration.
+     * 
+     * @param nodes                 the number of nodes visited.
+     * @param closedCellRejections  the number of placements rejected for 
+     *                              occupying a closed cell.
+     * @param overlapRejections     the number of placements rejected for 
+     *                              overlapping an earlier ship.
+     * @param feasibilityRejections the number of placements rejected because
+     *                              the remaining ships could not fit.
+     * @param configurations        the number of complete configurations.
+     */
+    void addSearchCounts(long nodes, 
+                         long closedCellRejections,
+                         long overlapRejections,
+                         long feasibilityRejections,
+                         long configurations) {
+        this.nodes.add(nodes);
+        this.closedCellRejections.add(closedCellRejections);
+        this.overlapRejections.add(overlapRejections);
+        this.feasibilityRejections.add(feasibilityRejections);
+        this.configurations.add(configurations);
+    }
+    
+    /**
+     * Records a search answered by a cache or an opening book.
+     */
+    void recordCacheHit() {
+        cacheHits.increment();
+    }
+    
+    /**
+     * Records a miss handled by updating the counts incrementally.
+     */
+    void recordIncrementalUpdate() {
+        incrementalUpdates.increment();
+    }
+    
+    /**
+     * Returns the current values of all the counters.
+     * 
+     * @return a snapshot of the counters.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+    
+    /**
+     * Registers this object in the platform MBean server under the name 
+     * {@code com.github.coderodde.game.ai.battleship:type=SearchStatistics,
+     * name=<name>}.
+     * 
+     * @param name the value of the {@code name} key of the object name.
+     * 
+     * @return the object name.
+     * 
+     * @throws JMException if the registration fails.
+     */
+    public synchronized ObjectName register(String name) throws JMException {
+        if (objectName != null) {
+            throw new IllegalStateException(
+                    "Already registered as " + objectName + ".");
+        }
+        
+        ObjectName registeredName = 
+                new ObjectName(JMX_DOMAIN + 
+                               ":type=SearchStatistics,name=" + 
+                               ObjectName.quote(name));
+        
+        ManagementFactory.getPlatformMBeanServer()
+                         .registerMBean(this, registeredName);
+        
+        objectName = registeredName;
+        return registeredName;
+    }
+    
+    /**
+     * Unregisters this object from the platform MBean server. Does nothing if
+     * not registered.
+     * 
+     * @throws JMException if the unregistration fails.
+     */
+    public synchronized void unregister() throws JMException {
+        if (objectName == null) {
+            return;
+        }
+        
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+        
+        objectName = null;
+    }
+    
+    @Override
+    public long getSearches() {
+        return searches.sum();
+    }
+    
+    @Override
+    public long getNodes() {
+        return nodes.sum();
+    }
+    
+    @Override
+    public long getClosedCellRejections() {
+        return closedCellRejections.sum();
+    }
+    
+    @Override
+    public long getOverlapRejections() {
+        return overlapRejections.sum();
+    }
+    
+    @Override
+    public long getFeasibilityRejections() {
+        return feasibilityRejections.sum();
+    }
+    
+    @Override
+    public long getConfigurations() {
+        return configurations.sum();
+    }
+    
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+    
+    @Override
+    public long getIncrementalUpdates() {
+        return incrementalUpdates.sum();
+    }
+    
+    @Override
+    public long getTotalSearchNanos() {
+        return totalSearchNanos.sum();
+    }
+    
+    @Override
+    public long getMaximumSearchNanos() {
+        return maximumSearchNanos.get();
+    }
+    
+    @Override
+    public long getLastSearchNanos() {
+        return lastSearchNanos;
+    }
+    
+    @Override
+    public void reset() {
+        searches.reset();
+        nodes.reset();
+        closedCellRejections.reset();
+        overlapRejections.reset();
+        feasibilityRejections.reset();
+        configurations.reset();
+        cacheHits.reset();
+        incrementalUpdates.reset();
+        totalSearchNanos.reset();
+        maximumSearchNanos.reset();
+        lastSearchNanos = 0L;
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.coderodde.game.ai.battleship;
+
+/**
+ * This interface defines the management view of {@link SearchStatistics}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public interface SearchStatisticsMXBean {
+    
+    /**
+     * Returns the number of shot location computations.
+     * 
+     * @return the number of searches.
+     */
+    public long getSearches();
+    
+    /**
+     * Returns the number of search nodes visited.
+     * 
+     * @return the number of nodes.
+     */
+    public long getNodes();
+    
+    /**
+     * Returns the number of placements rejected for occupying a closed cell.
+     * 
+     * @return the number of closed cell rejections.
+     */
+    public long getClosedCellRejections();
+    
+    /**
+     * Returns the number of placements rejected for overlapping a ship placed
+     * earlier.
+     * 
+     * @return the number of overlap rejections.
+     */
+    public long getOverlapRejections();
+    
+    /**
+     * Returns the number of placements rejected because the remaining ships 
+     * could no longer fit on the game field.
+     * 
+     * @return the number of feasibility rejections.
+     */
+    public long getFeasibilityRejections();
+    
+    /**
+     * Returns the number of complete fleet configurations counted.
+     * 
+     * @return the number of configurations.
+     */
+    public long getConfigurations();
+    
+    /**
+     * Returns the number of searches answered by a cache or an opening book.
+     * 
+     * @return the number of cache hits.
+     */
+    public long getCacheHits();
+    
+    /**
+     * Returns the number of misses handled by updating the counts 
+     * incrementally.
+     * 
+     * @return the number of incremental updates.
+     */
+    public long getIncrementalUpdates();
+    
+    /**
+     * Returns the total wall time of the searches in nanoseconds.
+     * 
+     * @return the total search time.
+     */
+    public long getTotalSearchNanos();
+    
+    /**
+     * Returns the wall time of the longest search in nanoseconds.
+     * 
+     * @return the maximum search time.
+     */
+    public long getMaximumSearchNanos();
+    
+    /**
+     * Returns the wall time of the latest search in nanoseconds.
+     * 
+     * @return the latest search time.
+     */
+    public long getLastSearchNanos();
+    
+    /**
+     * Resets all the counters to zero.
+     */
+    public void reset();
+}
@@ -152,27 +152,33 @@ public final class Ship implements Comparable<Ship> {
         return compartments;
     }
     
+    /**
+     * Checks whether this ship and {@code ship} share a cell. A ship is a 
+     * rectangle of cells that is one cell thick, so two ships share a cell if
+     * and only if their rectangles intersect on both axes.
+     * 
+     * @param ship the other ship.
+     * 
+     * @return {@code true} only if the two ships overlap.
+     */
     public boolean overlap(Ship ship) {
-        switch (getOrientation()) {
-            case HORIZONTAL:
-                switch (ship.getOrientation()) {
-                    case HORIZONTAL:
-                        return overlapHorzHorz(this, ship);
-                        
-                    case VERTICAL:
-                        return overlapHorzVert(this, ship);
-                }
-            case VERTICAL:
-                switch (ship.getOrientation()) {
-                    case HORIZONTAL:
-                        return overlapVertHorz(this, ship);
-                        
-                    case VERTICAL:
-                        return overlapVertVert(this, ship);
-                }
-        }
-        
-        throw new IllegalStateException("Should not get here.");
+        return x < ship.x + ship.getWidth() && 
+               ship.x < x + getWidth() &&
+               y < ship.y + ship.getHeight() && 
+               ship.y < y + getHeight();
+    }
+    
+    /**
+     * Checks whether this ship occupies the cell {@code (x, y)}.
+     * 
+     * @param x the {@code X}-coordinate of the cell.
+     * @param y the {@code Y}-coordinate of the cell.
+     * 
+     * @return {@code true} only if the cell belongs to this ship.
+     */
+    public boolean occupies(int x, int y) {
+        return this.x <= x && x < this.x + getWidth() &&
+               this.y <= y && y < this.y + getHeight();
     }
     
     public boolean overlapsAny(List<Ship> fleet) {
@@ -185,26 +191,26 @@ public final class Ship implements Comparable<Ship> {
         return false;
     }
     
+    /**
+     * Checks whether the two ships overlap by testing each cell of the 
+     * shorter ship against the longer one. Unlike {@link #overlap(Ship)}, 
+     * this walks the cells one by one.
+     * 
+     * @param ship1 the first ship.
+     * @param ship2 the second ship.
+     * 
+     * @return {@code true} only if the two ships share a cell.
+     */
     public static boolean compartmentsOverlap(Ship ship1, Ship ship2) {
-        Set<ShipCompartment> shipCompartments1 = 
-                ship1.convertToShipCompartments();
+        Ship shipSmall = ship1.length < ship2.length ? ship1 : ship2;
+        Ship shipLarge = shipSmall == ship1 ? ship2 : ship1;
         
-        Set<ShipCompartment> shipCompartments2 = 
-                ship2.convertToShipCompartments();
+        int dx = shipSmall.orientation == Orientation.HORIZONTAL ? 1 : 0;
+        int dy = 1 - dx;
         
-        Set<ShipCompartment> shipCompartmentsSmall;
-        Set<ShipCompartment> shipCompartmentsLarge;
-        
-        if (shipCompartments1.size() < shipCompartments2.size()) {
-            shipCompartmentsSmall = shipCompartments1;
-            shipCompartmentsLarge = shipCompartments2;
-        } else {
-            shipCompartmentsSmall = shipCompartments2;
-            shipCompartmentsLarge = shipCompartments1;            
-        }
-        
-        for (ShipCompartment shipCompartment : shipCompartmentsSmall) {
-            if (shipCompartmentsLarge.contains(shipCompartment)) {
+        for (int i = 0; i < shipSmall.length; i++) {
+            if (shipLarge.occupies(shipSmall.x + i * dx, 
+                                   shipSmall.y + i * dy)) {
                 return true;
             }
         }
@@ -212,76 +218,22 @@ public final class Ship implements Comparable<Ship> {
         return false;
     }
     
-    private static boolean overlapHorzHorz(Ship ship1, Ship ship2) {
-        if (ship1.getY() != ship2.getY()) {
-            return false;
-        }
-        
-        if (ship1.getX() + ship1.getLength() <= ship2.getX()) {
-            return false;
-        }
-        
-        if (ship2.getX() + ship2.getLength() <= ship1.getX()) {
-            return false;
-        }
-        
-        return true;
-    }
-    
     /**
-     * Checks whether the two input ships overlap. 
-     * 
-     * @param shipHorz the first ship; horizontal orientation.
-     * @param shipVert the second ship; vertical orientation.
+     * Returns the number of columns this ship spans.
      * 
-     * @return {@code true} only if the two ships overlap.
+     * @return the width of this ship.
      */
-    private static boolean overlapHorzVert(Ship shipHorz, Ship shipVert) {
-        if (shipHorz.getY() < shipVert.getY()) {
-            return false;
-        }
-        
-        if (shipHorz.getY() >= shipVert.getY() + shipVert.getLength()) {
-            return false;
-        }
-        
-        if (shipHorz.getX() > shipVert.getX()) {
-            return false;
-        }
-        
-        if (shipHorz.getX() + shipHorz.getLength() <= shipVert.getX()) {
-            return false;
-        }
-        
-        return true;
+    private int getWidth() {
+        return orientation == Orientation.HORIZONTAL ? length : 1;
     }
     
     /**
-     * Checks whether the two input ships overlap.
+     * Returns the number of rows this ship spans.
      * 
-     * @param shipVert the ship with the vertical orientation.
-     * @param shipHorz the ship with the horizontal orientation.
-     * 
-     * @return {@code true} only if the two input ships overlap.
+     * @return the height of this ship.
      */
-    private static boolean overlapVertHorz(Ship shipVert, Ship shipHorz) {
-        return overlapHorzVert(shipHorz, shipVert);
-    }
-    
-    private static boolean overlapVertVert(Ship ship1, Ship ship2) {
-        if (ship1.getX() != ship2.getX()) {
-            return false;
-        }
-        
-        if (ship1.getY() + ship1.getLength() <= ship2.getY()) {
-            return false;
-        }
-        
-        if (ship2.getY() + ship2.getLength() <= ship1.getY()) {
-            return false;
-        }
-        
-        return true;
+    private int getHeight() {
+        return orientation == Orientation.HORIZONTAL ? 1 : length;
     }
     
     private void loadCompartmentsVertical(Set<ShipCompartment> compartments) {
@@ -0,0 +1,284 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class implements a thread-safe bounded cache of the frequency counter
+ * matrices of the game field states. It is meant to be shared by all the bots
+ * playing on the same game field size with the same fleet, so that a state 
+ * repeated across the games is counted only once. The states are keyed by 
+ * their Zobrist hashes and verified against their shot cells and their 
+ * standing hit cells.
+ * <p>
+ * The cache is split into independently locked stripes selected by the key, 
+ * each evicting its least recently used entry when full, so concurrent 
+ * lookups of different states rarely contend.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class ShotCache {
+    
+    /**
+     * The default maximum number of entries.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+    
+    /**
+     * The default number of stripes.
+     */
+    public static final int DEFAULT_STRIPES = 16;
+    
+    /**
+     * This class holds a cached state.
+     */
+    private static final class Entry {
+        
+        /**
+         * The shot cells of the state. Guards against hash collisions.
+         */
+        final long[] shotCells;
+        
+        /**
+         * The hit cells of the ships still standing. Tells apart the states 
+         * with the same shots whose sunk ships cover different hits.
+         */
+        final long[] hitCells;
+        
+        /**
+         * The counters of the frequency counter matrix, indexed by the cell
+         * index.
+         */
+        final long[] counters;
+        
+        Entry(long[] shotCells, long[] hitCells, long[] counters) {
+            this.shotCells = shotCells;
+            this.hitCells = hitCells;
+            this.counters = counters;
+        }
+    }
+    
+    /**
+     * This class implements a stripe of the cache.
+     */
+    private final class Stripe extends LinkedHashMap<Long, Entry> {
+        
+        /**
+         * The stripes are never serialized, yet {@link LinkedHashMap} is 
+         * serializable.
+         */
+        private static final long serialVersionUID = 1L;
+        
+        /**
+         * The maximum number of entries in this stripe.
+         */
+        private final int capacity;
+        
+        Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+        
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            
+            return false;
+        }
+    }
+    
+    /**
+     * The stripes.
+     */
+    private final Stripe[] stripes;
+    
+    /**
+     * The maximum number of entries.
+     */
+    private final int capacity;
+    
+    /**
+     * The number of successful lookups.
+     */
+    private final LongAdder hits = new LongAdder();
+    
+    /**
+     * The number of failed lookups.
+     */
+    private final LongAdder misses = new LongAdder();
+    
+    /**
+     * The number of evicted entries.
+     */
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Constructs this cache with the default capacity and stripes.
+     */
+    public ShotCache() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Constructs this cache with the default number of stripes.
+     * 
+     * @param capacity the maximum number of entries.
+     */
+    public ShotCache(int capacity) {
+        this(capacity, DEFAULT_STRIPES);
+    }
+    
+    /**
+     * Constructs this cache.
+     * 
+     * @param capacity the maximum number of entries.
+     * @param stripes  the number of independently locked stripes. Rounded up
+     *                 to a power of two.
+     */
+    public ShotCache(int capacity, int stripes) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "Capacity must be positive, was " + capacity + ".");
+        }
+        
+        if (stripes < 1) {
+            throw new IllegalArgumentException(
+                    "Number of stripes must be positive, was " + stripes + 
+                    ".");
+        }
+        
+        int stripeCount = Integer.highestOneBit(stripes);
+        
+        if (stripeCount < stripes) {
+            stripeCount <<= 1;
+        }
+        
+        stripeCount = Math.min(stripeCount, Integer.highestOneBit(capacity));
+        
+        this.capacity = capacity;
+        this.stripes = new Stripe[stripeCount];
+        
+        for (int i = 0; i < stripeCount; i++) {
+            // Spread the capacity so that the stripes sum up to it:
+            this.stripes[i] = 
+                    new Stripe(capacity / stripeCount + 
+                               (i < capacity % stripeCount ? 1 : 0));
+        }
+    }
+    
+    /**
+     * Loads the counters of the state {@code key} to 
+     * {@code frequencyCounterMatrix} if cached.
+     * 
+     * @param key                    the state key.
+     * @param shotCells              the shot cells of the state.
+     * @param hitCells               the standing hit cells of the state.
+     * @param frequencyCounterMatrix the target frequency counter matrix.
+     * 
+     * @return {@code true} only if the state was cached.
+     */
+    boolean load(long key, 
+                 long[] shotCells, 
+                 long[] hitCells,
+                 FrequencyCounterMatrix frequencyCounterMatrix) {
+        
+        Stripe stripe = getStripe(key);
+        Entry entry;
+        
+        synchronized (stripe) {
+            entry = stripe.get(key);
+        }
+        
+        if (entry == null || 
+                !Arrays.equals(entry.shotCells, shotCells) ||
+                !Arrays.equals(entry.hitCells, hitCells)) {
+            misses.increment();
+            return false;
+        }
+        
+        hits.increment();
+        frequencyCounterMatrix.load(entry.counters);
+        return true;
+    }
+    
+    /**
+     * Caches the counters of {@code frequencyCounterMatrix} for the state 
+     * {@code key}.
+     * 
+     * @param key                    the state key.
+     * @param shotCells              the shot cells of the state.
+     * @param hitCells               the standing hit cells of the state.
+     * @param frequencyCounterMatrix the counted frequency counter matrix.
+     */
+    void store(long key, 
+               long[] shotCells, 
+               long[] hitCells,
+               FrequencyCounterMatrix frequencyCounterMatrix) {
+        
+        Entry entry = new Entry(shotCells.clone(), 
+                                hitCells.clone(),
+                                frequencyCounterMatrix.toArray());
+        
+        Stripe stripe = getStripe(key);
+        
+        synchronized (stripe) {
+            stripe.put(key, entry);
+        }
+    }
+    
+    /**
+     * Removes all the entries. The counters are kept.
+     */
+    public void clear() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+    
+    /**
+     * Returns the number of cached states.
+     * 
+     * @return the number of entries.
+     */
+    public int size() {
+        int size = 0;
+        
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        
+        return size;
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public long getHits() {
+        return hits.sum();
+    }
+    
+    public long getMisses() {
+        return misses.sum();
+    }
+    
+    public long getEvictions() {
+        return evictions.sum();
+    }
+    
+    private Stripe getStripe(long key) {
+        // The low bits of the Zobrist hash are as random as the high ones:
+        return stripes[(int) key & (stripes.length - 1)];
+    }
+}
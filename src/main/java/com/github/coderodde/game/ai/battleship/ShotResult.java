@@ -0,0 +1,54 @@
+package com.github.coderodde.game.ai.battleship;
+
+/**
+ * This class holds the result of a deadline-bounded shot computation.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class ShotResult {
+    
+    /**
+     * The coordinates of the chosen shot.
+     */
+    private final MatrixCoordinates shotLocation;
+    
+    /**
+     * Indicates whether the search completed before the deadline.
+     */
+    private final boolean complete;
+    
+    public ShotResult(MatrixCoordinates shotLocation, boolean complete) {
+        this.shotLocation = shotLocation;
+        this.complete = complete;
+    }
+    
+    /**
+     * Returns the coordinates of the chosen shot.
+     * 
+     * @return the shot coordinates.
+     */
+    public MatrixCoordinates getShotLocation() {
+        return shotLocation;
+    }
+    
+    /**
+     * Returns {@code true} if the search completed before the deadline. 
+     * Otherwise, the shot is the best one found so far.
+     * 
+     * @return {@code true} only if the search completed.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+    
+    @Override
+    public String toString() {
+        return "[ShotResult; shotLocation = " 
+                + shotLocation 
+                + ", complete = " 
+                + complete 
+                + "]";
+    }
+}
@@ -0,0 +1,531 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * This class implements a round-robin tournament between Battleship AI bots.
+ * Every pair of entrants plays the same number of matches. In a match, each
+ * bot shoots at the fleet of the other on its own random game field, the bots
+ * take turns, and the first bot to shoot all the cells of the opposing fleet 
+ * wins. The first mover alternates from match to match. A match in which 
+ * neither bot wins within {@code 2 * width * height} shots is a draw. A bot 
+ * throwing an exception forfeits the match.
+ * <p>
+ * Each match runs in its own virtual thread, so thousands of concurrent 
+ * matches do not need thousands of platform threads. The bot computations 
+ * themselves are CPU bound; a semaphore bounds the number of bot moves 
+ * computed at the same time, by default to the number of available 
+ * processors. A match waiting for its turn to compute parks its virtual 
+ * thread and releases the carrier thread.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class Tournament {
+    
+    /**
+     * This class holds the results of a tournament.
+     */
+    public static final class Results {
+        
+        /**
+         * The names of the entrants.
+         */
+        private final List<String> names;
+        
+        /**
+         * The number of wins of entrant {@code i} against entrant {@code j} 
+         * at index {@code i * n + j}.
+         */
+        private final AtomicLongArray wins;
+        
+        /**
+         * The number of draws between entrant {@code i} and entrant 
+         * {@code j} at index {@code i * n + j}. Symmetric.
+         */
+        private final AtomicLongArray draws;
+        
+        /**
+         * The number of matches entrant {@code i} forfeited.
+         */
+        private final AtomicLongArray forfeits;
+        
+        /**
+         * The total number of shots entrant {@code i} needed in its wins, 
+         * excluding the wins by forfeit.
+         */
+        private final AtomicLongArray winningShots;
+        
+        /**
+         * The number of wins of entrant {@code i}, excluding the wins by 
+         * forfeit.
+         */
+        private final AtomicLongArray shootingWins;
+        
+        private Results(List<String> names) {
+            int n = names.size();
+            this.names = names;
+            this.wins = new AtomicLongArray(n * n);
+            this.draws = new AtomicLongArray(n * n);
+            this.forfeits = new AtomicLongArray(n);
+            this.winningShots = new AtomicLongArray(n);
+            this.shootingWins = new AtomicLongArray(n);
+        }
+        
+        /**
+         * Returns the names of the entrants in the order of registration.
+         * 
+         * @return the entrant names.
+         */
+        public List<String> getNames() {
+            return names;
+        }
+        
+        /**
+         * Returns the number of matches entrant {@code winner} won against 
+         * entrant {@code loser}.
+         * 
+         * @param winner the index of the winning entrant.
+         * @param loser  the index of the losing entrant.
+         * 
+         * @return the number of wins.
+         */
+        public long getWins(int winner, int loser) {
+            return wins.get(winner * names.size() + loser);
+        }
+        
+        /**
+         * Returns the total number of wins of entrant {@code entrant}.
+         * 
+         * @param entrant the index of the entrant.
+         * 
+         * @return the number of wins.
+         */
+        public long getWins(int entrant) {
+            long total = 0L;
+            
+            for (int opponent = 0; opponent < names.size(); opponent++) {
+                total += getWins(entrant, opponent);
+            }
+            
+            return total;
+        }
+        
+        /**
+         * Returns the total number of losses of entrant {@code entrant}.
+         * 
+         * @param entrant the index of the entrant.
+         * 
+         * @return the number of losses.
+         */
+        public long getLosses(int entrant) {
+            long total = 0L;
+            
+            for (int opponent = 0; opponent < names.size(); opponent++) {
+                total += getWins(opponent, entrant);
+            }
+            
+            return total;
+        }
+        
+        /**
+         * Returns the total number of draws of entrant {@code entrant}.
+         * 
+         * @param entrant the index of the entrant.
+         * 
+         * @return the number of draws.
+         */
+        public long getDraws(int entrant) {
+            long total = 0L;
+            
+            for (int opponent = 0; opponent < names.size(); opponent++) {
+                total += draws.get(entrant * names.size() + opponent);
+            }
+            
+            return total;
+        }
+        
+        /**
+         * Returns the number of matches entrant {@code entrant} lost by 
+         * throwing an exception. These are included in the losses.
+         * 
+         * @param entrant the index of the entrant.
+         * 
+         * @return the number of forfeits.
+         */
+        public long getForfeits(int entrant) {
+            return forfeits.get(entrant);
+        }
+        
+        /**
+         * Returns the mean number of shots entrant {@code entrant} needed to
+         * win a match, or zero if it never won. The wins by forfeit are not
+         * included.
+         * 
+         * @param entrant the index of the entrant.
+         * 
+         * @return the mean number of winning shots.
+         */
+        public double getMeanWinningShots(int entrant) {
+            long wins = shootingWins.get(entrant);
+            return wins == 0L ? 0.0 : (double) winningShots.get(entrant) / wins;
+        }
+        
+        /**
+         * Returns the results table. The entrants are listed in the order of
+         * registration. The columns are the matches played, wins, losses, 
+         * draws, forfeits, win rate, the mean shots per win and the wins 
+         * against each entrant.
+         * 
+         * @return the results table.
+         */
+        @Override
+        public String toString() {
+            int nameWidth = "Bot".length();
+            
+            for (String name : names) {
+                nameWidth = Math.max(nameWidth, name.length());
+            }
+            
+            StringBuilder sb = new StringBuilder();
+            String nameFormat = "%-" + nameWidth + "s";
+            
+            sb.append(String.format(nameFormat, "Bot"))
+              .append(String.format(" %8s %8s %8s %8s %8s %8s %8s", 
+                                    "Played", 
+                                    "Won", 
+                                    "Lost", 
+                                    "Drawn", 
+                                    "Forfeit",
+                                    "Win %", 
+                                    "Shots"));
+            
+            for (int j = 0; j < names.size(); j++) {
+                sb.append(String.format(" %8s", "vs #" + (j + 1)));
+            }
+            
+            for (int i = 0; i < names.size(); i++) {
+                long won = getWins(i);
+                long lost = getLosses(i);
+                long drawn = getDraws(i);
+                long played = won + lost + drawn;
+                
+                sb.append("\n")
+                  .append(String.format(nameFormat, names.get(i)))
+                  .append(String.format(" %8d %8d %8d %8d %8d %8.1f %8.2f", 
+                                        played,
+                                        won,
+                                        lost,
+                                        drawn,
+                                        getForfeits(i),
+                                        played == 0L ? 
+                                                0.0 : 
+                                                100.0 * won / played,
+                                        getMeanWinningShots(i)));
+                
+                for (int j = 0; j < names.size(); j++) {
+                    sb.append(i == j ? 
+                              String.format(" %8s", "-") :
+                              String.format(" %8d", getWins(i, j)));
+                }
+            }
+            
+            return sb.toString();
+        }
+        
+        private void recordWin(int winner, int loser, int shots) {
+            wins.incrementAndGet(winner * names.size() + loser);
+            winningShots.addAndGet(winner, shots);
+            shootingWins.incrementAndGet(winner);
+        }
+        
+        private void recordForfeit(int winner, int loser) {
+            wins.incrementAndGet(winner * names.size() + loser);
+            forfeits.incrementAndGet(loser);
+        }
+        
+        private void recordDraw(int entrant1, int entrant2) {
+            draws.incrementAndGet(entrant1 * names.size() + entrant2);
+            draws.incrementAndGet(entrant2 * names.size() + entrant1);
+        }
+    }
+    
+    /**
+     * The names of the entrants.
+     */
+    private final List<String> names = new ArrayList<>();
+    
+    /**
+     * The bot factories of the entrants.
+     */
+    private final List<Function<GameField, BattleshipAIBot>> botFactories = 
+            new ArrayList<>();
+    
+    /**
+     * The width of the game fields.
+     */
+    private final int width;
+    
+    /**
+     * The height of the game fields.
+     */
+    private final int height;
+    
+    /**
+     * The lengths of the ships of each fleet.
+     */
+    private final int[] fleet;
+    
+    /**
+     * The seed of the game fields.
+     */
+    private final long seed;
+    
+    /**
+     * Bounds the number of bot moves computed concurrently.
+     */
+    private final Semaphore computeSlots;
+    
+    /**
+     * Constructs this tournament computing at most one bot move per available
+     * processor at a time.
+     * 
+     * @param width  the width of the game fields.
+     * @param height the height of the game fields.
+     * @param fleet  the lengths of the ships of each fleet.
+     * @param seed   the seed of the game fields.
+     */
+    public Tournament(int width, int height, int[] fleet, long seed) {
+        this(width, 
+             height, 
+             fleet, 
+             seed, 
+             Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * Constructs this tournament.
+     * 
+     * @param width        the width of the game fields.
+     * @param height       the height of the game fields.
+     * @param fleet        the lengths of the ships of each fleet.
+     * @param seed         the seed of the game fields.
+     * @param computeSlots the maximum number of bot moves computed at the 
+     *                     same time.
+     */
+    public Tournament(int width, 
+                      int height, 
+                      int[] fleet, 
+                      long seed, 
+                      int computeSlots) {
+        if (computeSlots < 1) {
+            throw new IllegalArgumentException(
+                    "Bad number of compute slots: " + computeSlots);
+        }
+        
+        GameSimulator.checkFleet(width, height, fleet);
+        
+        this.width = width;
+        this.height = height;
+        this.fleet = fleet.clone();
+        this.seed = seed;
+        this.computeSlots = new Semaphore(computeSlots);
+    }
+    
+    /**
+     * Registers an entrant.
+     * 
+     * @param name       the name of the entrant.
+     * @param botFactory creates a bot shooting at the given game field.
+     */
+    public void addEntrant(String name, 
+                           Function<GameField, BattleshipAIBot> botFactory) {
+        names.add(name);
+        botFactories.add(botFactory);
+    }
+    
+    /**
+     * Plays {@code matchesPerPairing} matches between each pair of the 
+     * entrants.
+     * 
+     * @param matchesPerPairing the number of matches per pair of entrants.
+     * 
+     * @return the results of the tournament.
+     * 
+     * @throws InterruptedException if interrupted while waiting for the 
+     *                              matches.
+     */
+    public Results run(int matchesPerPairing) throws InterruptedException {
+        Results results = new Results(List.copyOf(names));
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Future<?>> matches = new ArrayList<>();
+        
+        try (ExecutorService executor = 
+                Executors.newVirtualThreadPerTaskExecutor()) {
+            
+            for (int i = 0; i < names.size(); i++) {
+                for (int j = i + 1; j < names.size(); j++) {
+                    for (int k = 0; k < matchesPerPairing; k++) {
+                        // Alternate the first mover:
+                        int first = k % 2 == 0 ? i : j;
+                        int second = k % 2 == 0 ? j : i;
+                        long matchSeed = random.nextLong();
+                        
+                        matches.add(executor.submit(
+                                () -> playMatch(first, 
+                                                second, 
+                                                matchSeed, 
+                                                results)));
+                    }
+                }
+            }
+            
+            for (Future<?> match : matches) {
+                match.get();
+            }
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("A match failed.", ex.getCause());
+        }
+        
+        return results;
+    }
+    
+    private Void playMatch(int first, 
+                           int second, 
+                           long matchSeed, 
+                           Results results) throws InterruptedException {
+        
+        SplittableRandom random = new SplittableRandom(matchSeed);
+        
+        // The game field of each entrant holds the fleet it shoots at:
+        GameField gameField1 = 
+                GameSimulator.createRandomGameField(width, 
+                                                    height, 
+                                                    fleet, 
+                                                    random);
+        
+        GameField gameField2 = 
+                GameSimulator.createRandomGameField(width, 
+                                                    height, 
+                                                    fleet, 
+                                                    random);
+        
+        BattleshipAIBot bot1 = createBot(first, gameField1);
+        
+        if (bot1 == null) {
+            results.recordForfeit(second, first);
+            return null;
+        }
+        
+        BattleshipAIBot bot2 = createBot(second, gameField2);
+        
+        if (bot2 == null) {
+            results.recordForfeit(first, second);
+            return null;
+        }
+        
+        GameSession session1 = new GameSession(gameField1, bot1);
+        GameSession session2 = new GameSession(gameField2, bot2);
+        
+        int maximumShots = 2 * width * height;
+        
+        while (!isOver(session1, maximumShots) || 
+               !isOver(session2, maximumShots)) {
+            
+            if (!move(session1, maximumShots)) {
+                results.recordForfeit(second, first);
+                return null;
+            }
+            
+            if (session1.isWon()) {
+                results.recordWin(first, second, session1.getShots());
+                return null;
+            }
+            
+            if (!move(session2, maximumShots)) {
+                results.recordForfeit(first, second);
+                return null;
+            }
+            
+            if (session2.isWon()) {
+                results.recordWin(second, first, session2.getShots());
+                return null;
+            }
+        }
+        
+        results.recordDraw(first, second);
+        return null;
+    }
+    
+    /**
+     * Creates a bot of the entrant {@code entrant}.
+     * 
+     * @param entrant   the index of the entrant.
+     * @param gameField the game field the bot shoots at.
+     * 
+     * @return the bot, or {@code null} if the bot factory failed.
+     */
+    private BattleshipAIBot createBot(int entrant, GameField gameField) 
+            throws InterruptedException {
+        
+        computeSlots.acquire();
+        
+        try {
+            return botFactories.get(entrant).apply(gameField);
+        } catch (RuntimeException ex) {
+            return null;
+        } finally {
+            computeSlots.release();
+        }
+    }
+    
+    /**
+     * Checks whether the session {@code session} may make no more moves, 
+     * either because the bot gave up or because it used up its shots.
+     * 
+     * @param session      the session to check.
+     * @param maximumShots the maximum number of shots of a session.
+     * 
+     * @return {@code true} only if the session is over.
+     */
+    private static boolean isOver(GameSession session, int maximumShots) {
+        return session.isAbandoned() || session.getShots() >= maximumShots;
+    }
+    
+    /**
+     * Makes one move in the session {@code session} unless it is over.
+     * 
+     * @param session      the session to move in.
+     * @param maximumShots the maximum number of shots of a session.
+     * 
+     * @return {@code false} if the bot failed.
+     */
+    private boolean move(GameSession session, int maximumShots) 
+            throws InterruptedException {
+        
+        if (isOver(session, maximumShots)) {
+            return true;
+        }
+        
+        computeSlots.acquire();
+        
+        try {
+            session.move();
+            return true;
+        } catch (RuntimeException ex) {
+            return false;
+        } finally {
+            computeSlots.release();
+        }
+    }
+}
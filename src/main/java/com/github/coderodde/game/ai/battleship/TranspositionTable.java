@@ -0,0 +1,206 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class implements a bounded transposition table for the memoized fleet
+ * counting. It maps a subproblem, that is, the multiset of the remaining ship
+ * lengths together with the blocked cells, to the number of the arrangements
+ * of the remaining ships and the number of times each cell is covered by them.
+ * When the table is full, the least recently used entry is evicted.
+ * <p>
+ * A table may be reused over all the shots of a game and over games of the
+ * same game field size, but it is not thread-safe.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+public final class TranspositionTable {
+    
+    /**
+     * The default maximum number of entries.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+    
+    /**
+     * This class implements the subproblem key.
+     */
+    static final class Key {
+        
+        /**
+         * The remaining ship lengths, the smallest allowed placement index of
+         * the first remaining ship and the blocked cell bitboard packed into
+         * one array.
+         */
+        private final long[] data;
+        
+        /**
+         * The cached hash code.
+         */
+        private final int hashCode;
+        
+        Key(int[] lengths,
+            int fromShipIndex,
+            int minimumPlacementIndex,
+            long[] blockedCells) {
+            
+            int remainingShips = lengths.length - fromShipIndex;
+            
+            this.data = new long[remainingShips + 1 + blockedCells.length];
+            
+            for (int i = 0; i < remainingShips; i++) {
+                data[i] = lengths[fromShipIndex + i];
+            }
+            
+            data[remainingShips] = minimumPlacementIndex;
+            
+            System.arraycopy(blockedCells,
+                             0,
+                             data,
+                             remainingShips + 1,
+                             blockedCells.length);
+            
+            this.hashCode = Arrays.hashCode(data);
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            
+            return hashCode == other.hashCode &&
+                   Arrays.equals(data, other.data);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+    
+    /**
+     * This class holds the solution of a subproblem.
+     */
+    static final class Entry {
+        
+        /**
+         * The number of arrangements of the remaining ships.
+         */
+        final long arrangements;
+        
+        /**
+         * The number of arrangements covering each cell, indexed by the cell
+         * index.
+         */
+        final long[] coverage;
+        
+        Entry(long arrangements, long[] coverage) {
+            this.arrangements = arrangements;
+            this.coverage = coverage;
+        }
+    }
+    
+    /**
+     * The actual storage in access order.
+     */
+    private final LinkedHashMap<Key, Entry> map;
+    
+    /**
+     * The maximum number of entries.
+     */
+    private final int capacity;
+    
+    /**
+     * The number of successful lookups.
+     */
+    private long hits;
+    
+    /**
+     * The number of failed lookups.
+     */
+    private long misses;
+    
+    /**
+     * The number of evicted entries.
+     */
+    private long evictions;
+    
+    /**
+     * Constructs this transposition table with the default capacity.
+     */
+    public TranspositionTable() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    /**
+     * Constructs this transposition table.
+     * 
+     * @param capacity the maximum number of entries.
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                    "Capacity must be positive, was " + capacity + ".");
+        }
+        
+        this.capacity = capacity;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > TranspositionTable.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                
+                return false;
+            }
+        };
+    }
+    
+    Entry get(Key key) {
+        Entry entry = map.get(key);
+        
+        if (entry == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        
+        return entry;
+    }
+    
+    void put(Key key, Entry entry) {
+        map.put(key, entry);
+    }
+    
+    /**
+     * Removes all the entries.
+     */
+    public void clear() {
+        map.clear();
+    }
+    
+    public int size() {
+        return map.size();
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public long getEvictions() {
+        return evictions;
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.coderodde.game.ai.battleship;
+
+/**
+ * This class provides the pseudo-random keys of the Zobrist hashing of the
+ * game field knowledge states. A state hash is the XOR of the keys of the 
+ * shot cells, each keyed by the outcome of the shot, and the keys of the 
+ * remaining fleet, where the {@code k}th ship of length {@code L} contributes 
+ * the key of the pair {@code (L, k)}. This makes the fleet part depend only 
+ * on the multiset of the ship lengths. The keys are computed by hashing their
+ * indices, so they do not depend on the game field size and need no tables.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.6 (Oct 17, 2026)
+ * @since 1.6 (Oct 17, 2026)
+ */
+final class Zobrist {
+    
+    /**
+     * The key space of the missed cells.
+     */
+    private static final long MISS = 1L;
+    
+    /**
+     * The key space of the hit cells.
+     */
+    private static final long HIT = 2L;
+    
+    /**
+     * The key space of the ships.
+     */
+    private static final long SHIP = 3L;
+    
+    /**
+     * The key space of the game field dimensions.
+     */
+    private static final long DIMENSIONS = 4L;
+    
+    /**
+     * The key space of the hit cells of the ships still standing.
+     */
+    private static final long STANDING_HIT = 5L;
+    
+    private Zobrist() {
+        
+    }
+    
+    /**
+     * Returns the key of the shot cell {@code cellIndex}.
+     * 
+     * @param cellIndex the index of the cell.
+     * @param hit       whether the shot hit a ship.
+     * 
+     * @return the key of the shot.
+     */
+    static long shotKey(int cellIndex, boolean hit) {
+        return key(hit ? HIT : MISS, cellIndex);
+    }
+    
+    /**
+     * Returns the key of the {@code ordinal}th ship of length {@code length}.
+     * 
+     * @param length  the length of the ship.
+     * @param ordinal the number of ships of length {@code length}, counting 
+     *                this one.
+     * 
+     * @return the key of the ship.
+     */
+    static long shipKey(int length, int ordinal) {
+        return key(SHIP, ((long) length << Integer.SIZE) | ordinal);
+    }
+    
+    /**
+     * Returns the initial hash of an empty game field of size 
+     * {@code width x height}.
+     * 
+     * @param width  the width of the game field.
+     * @param height the height of the game field.
+     * 
+     * @return the hash of the empty game field.
+     */
+    static long emptyFieldKey(int width, int height) {
+        return key(DIMENSIONS, ((long) width << Integer.SIZE) | height);
+    }
+    
+    /**
+     * Returns the combined key of the hit cells {@code hitCells} of the ships 
+     * still standing. The shot keys do not tell which hits belong to the 
+     * sunk ships, so the states that differ only in that have equal hashes 
+     * unless this key is mixed in.
+     * 
+     * @param hitCells the bitboard of the standing hit cells.
+     * 
+     * @return the key of the standing hit cells.
+     */
+    static long standingHitsKey(long[] hitCells) {
+        long key = 0L;
+        
+        for (int i = 0; i < hitCells.length; i++) {
+            long word = hitCells[i];
+            
+            while (word != 0L) {
+                int cellIndex = 
+                        i * Long.SIZE + Long.numberOfTrailingZeros(word);
+                
+                key ^= key(STANDING_HIT, cellIndex);
+                word &= word - 1L;
+            }
+        }
+        
+        return key;
+    }
+    
+    /**
+     * Mixes the key space and the index by the SplitMix64 finalizer.
+     */
+    private static long key(long space, long index) {
+        long z = (space * 0x9E3779B97F4A7C15L) ^ (index + 0x632BE59BD9B4E019L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -1,5 +1,9 @@
 package com.github.coderodde.game.ai.battleship;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Test;
 import static org.junit.Assert.*;
 
@@ -107,4 +111,615 @@ public class BruteforceBattleshipAIBotTest {
         assertEquals(0, frequencyCounterMatrix.getCounter(1, 0));
         assertEquals(2, frequencyCounterMatrix.getCounter(1, 1));
     }
+    
+    @Test
+    public void parallelSearchMatchesSequentialSearch() {
+        GameField gameField = createGameField(6, 5, 2, 3, 3);
+        gameField.shoot(1, 1);
+        gameField.shoot(4, 2);
+        gameField.shoot(2, 4);
+        
+        BruteforceBattleshipAIBot sequentialBot = 
+                new BruteforceBattleshipAIBot(gameField, 0);
+        
+        BruteforceBattleshipAIBot parallelBot = 
+                new BruteforceBattleshipAIBot(gameField, 
+                                              0, 
+                                              ForkJoinPool.commonPool());
+        
+        sequentialBot.computeNextShotLocation();
+        parallelBot.computeNextShotLocation();
+        
+        assertSameCounters(sequentialBot.getFrequencyCounterMatrix(),
+                           parallelBot.getFrequencyCounterMatrix(),
+                           gameField);
+    }
+    
+    @Test
+    public void equalLengthShipsCountAllPermutations() {
+        GameField gameField = createGameField(5, 4, 2, 2, 2);
+        gameField.shoot(2, 1);
+        gameField.shoot(0, 3);
+        
+        BruteforceBattleshipAIBot bot = 
+                new BruteforceBattleshipAIBot(gameField, 0);
+        
+        bot.computeNextShotLocation();
+        
+        long[][] expected = countNaively(gameField);
+        
+        for (int y = 0; y < gameField.getHeight(); y++) {
+            for (int x = 0; x < gameField.getWidth(); x++) {
+                assertEquals(expected[y][x], 
+                             bot.getFrequencyCounterMatrix().getCounter(x, y));
+            }
+        }
+    }
+    
+    @Test
+    public void largeGameFieldsSpanningManyWords() {
+        int[][] sizes = { { 20, 20 }, { 17, 9 }, { 9, 17 }, { 32, 4 } };
+        
+        for (int[] size : sizes) {
+            GameField gameField = createGameField(size[0], size[1], 2, 3);
+            int cells = size[0] * size[1];
+            
+            // Shoot the cells around the word boundaries:
+            for (int cellIndex = 63; cellIndex < cells; cellIndex += 64) {
+                shootIfEmpty(gameField, cellIndex);
+                shootIfEmpty(gameField, cellIndex + 1);
+            }
+            
+            shootIfEmpty(gameField, cells - 1);
+            
+            BruteforceBattleshipAIBot bot = 
+                    new BruteforceBattleshipAIBot(gameField, 0);
+            
+            bot.computeNextShotLocation();
+            
+            long[][] expected = countNaively(gameField);
+            
+            for (int y = 0; y < gameField.getHeight(); y++) {
+                for (int x = 0; x < gameField.getWidth(); x++) {
+                    long expectedCount = 
+                            gameField.getCellState(x, y) == 
+                            GameField.GameFieldCellState.SHOT ? 
+                            0L : 
+                            expected[y][x];
+                    
+                    assertEquals(expectedCount, 
+                                 bot.getFrequencyCounterMatrix()
+                                    .getCounter(x, y));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void memoizedCountingMatchesEnumeration() {
+        GameField gameField = createGameField(6, 5, 2, 2, 3, 3);
+        gameField.shoot(1, 1);
+        gameField.shoot(4, 2);
+        
+        BruteforceBattleshipAIBot enumeratingBot = 
+                new BruteforceBattleshipAIBot(gameField, 0);
+        
+        enumeratingBot.computeNextShotLocation();
+        
+        for (int capacity : new int[]{ 64, 100_000 }) {
+            BruteforceBattleshipAIBot memoizingBot = 
+                    new BruteforceBattleshipAIBot(gameField, 0);
+            
+            TranspositionTable transpositionTable = 
+                    new TranspositionTable(capacity);
+            
+            memoizingBot.setTranspositionTable(transpositionTable);
+            memoizingBot.computeNextShotLocation();
+            
+            assertSameCounters(enumeratingBot.getFrequencyCounterMatrix(),
+                               memoizingBot.getFrequencyCounterMatrix(),
+                               gameField);
+            
+            if (capacity == 64) {
+                assertTrue(transpositionTable.getEvictions() > 0);
+                assertEquals(64, transpositionTable.size());
+            } else {
+                assertTrue(transpositionTable.getHits() > 0);
+            }
+        }
+    }
+    
+    @Test
+    public void profileCountingMatchesEnumeration() {
+        GameField[] gameFields = {
+            createGameField(6, 5, 2, 2, 3, 3),
+            createGameField(5, 7, 1, 2, 4),
+            createGameField(7, 4, 1, 1, 3),
+        };
+        
+        for (GameField gameField : gameFields) {
+            gameField.shoot(1, 0);
+            gameField.shoot(4, 2);
+            gameField.shoot(2, 3);
+            
+            for (boolean hitConstrained : new boolean[]{ false, true }) {
+                BruteforceBattleshipAIBot enumeratingBot = 
+                        new BruteforceBattleshipAIBot(gameField, 0);
+                
+                BruteforceBattleshipAIBot profileBot = 
+                        new BruteforceBattleshipAIBot(gameField, 0);
+                
+                enumeratingBot.setHitConstrainedSearch(hitConstrained);
+                profileBot.setHitConstrainedSearch(hitConstrained);
+                profileBot.setProfileCounting(true);
+                
+                enumeratingBot.computeNextShotLocation();
+                profileBot.computeNextShotLocation();
+                
+                assertSameCounters(enumeratingBot.getFrequencyCounterMatrix(),
+                                   profileBot.getFrequencyCounterMatrix(),
+                                   gameField);
+            }
+        }
+    }
+    
+    @Test
+    public void profileCountingHandlesLargeFleets() {
+        GameField gameField = createGameField(10, 10, 2, 3, 3, 4, 5);
+        ProfileFleetCounter counter = 
+                new ProfileFleetCounter(gameField, 
+                                        gameField.getSearchFleet(), 
+                                        false);
+        
+        FrequencyCounterMatrix frequencyCounterMatrix = 
+                new FrequencyCounterMatrix(10, 10);
+        
+        counter.count(frequencyCounterMatrix);
+        
+        // Far too many arrangements to enumerate:
+        assertTrue(counter.getArrangements() > 1_000_000_000L);
+        
+        // The counts are symmetric under the reflections of the field:
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 10; x++) {
+                long count = frequencyCounterMatrix.getCounter(x, y);
+                
+                assertTrue(count > 0L);
+                assertEquals(count, 
+                             frequencyCounterMatrix.getCounter(9 - x, y));
+                assertEquals(count, 
+                             frequencyCounterMatrix.getCounter(y, x));
+            }
+        }
+    }
+    
+    @Test
+    public void profileCountingFallsBackOnWideFields() {
+        GameField gameField1 = createGameField(20, 20, 2, 5);
+        GameField gameField2 = createGameField(20, 20, 2, 5);
+        gameField1.shoot(7, 7);
+        gameField2.shoot(7, 7);
+        
+        assertFalse(ProfileFleetCounter.fits(20, gameField1.getSearchFleet()));
+        assertTrue(ProfileFleetCounter.fits(19, gameField1.getSearchFleet()));
+        
+        BruteforceBattleshipAIBot enumeratingBot = 
+                new BruteforceBattleshipAIBot(gameField1, 0);
+        
+        BruteforceBattleshipAIBot profileBot = 
+                new BruteforceBattleshipAIBot(gameField2, 0);
+        
+        profileBot.setProfileCounting(true);
+        
+        enumeratingBot.computeNextShotLocation();
+        profileBot.computeNextShotLocation();
+        
+        assertSameCounters(enumeratingBot.getFrequencyCounterMatrix(),
+                           profileBot.getFrequencyCounterMatrix(),
+                           gameField1);
+    }
+    
+    @Test
+    public void profileCountingHonoursDeadline() {
+        GameField gameField = createGameField(10, 10, 2, 3, 3, 4, 5);
+        BruteforceBattleshipAIBot bot = 
+                new BruteforceBattleshipAIBot(gameField, 0);
+        
+        bot.setProfileCounting(true);
+        
+        long startNanos = System.nanoTime();
+        ShotResult shotResult = 
+                bot.computeNextShotLocation(Duration.ofMillis(20L));
+        
+        assertFalse(shotResult.isComplete());
+        assertTrue(System.nanoTime() - startNanos < 1_000_000_000L);
+    }
+    
+    @Test
+    public void deadlineBoundedSearch() {
+        GameField gameField = createGameField(10, 10, 2, 3, 3, 4, 5);
+        gameField.shoot(0, 0);
+        
+        BruteforceBattleshipAIBot bot = 
+                new BruteforceBattleshipAIBot(gameField, 0);
+        
+        ShotResult shotResult = 
+                bot.computeNextShotLocation(Duration.ofMillis(20L));
+        
+        assertFalse(shotResult.isComplete());
+        
+        MatrixCoordinates mc = shotResult.getShotLocation();
+        assertEquals(GameField.GameFieldCellState.CLEAR, 
+                     gameField.getCellState(mc.x, mc.y));
+        
+        shotResult = bot.computeNextShotLocation(Duration.ZERO);
+        assertFalse(shotResult.isComplete());
+        assertNotNull(shotResult.getShotLocation());
+        
+        gameField = createGameField(3, 2, 2, 3);
+        bot = new BruteforceBattleshipAIBot(gameField, 
+                                            0, 
+                                            ForkJoinPool.commonPool());
+        
+        shotResult = bot.computeNextShotLocation(Duration.ofSeconds(10L));
+        assertTrue(shotResult.isComplete());
+        assertEquals(8, bot.getFrequencyCounterMatrix().getCounter(1, 0));
+    }
+    
+    @Test
+    public void missUpdatesCountersIncrementally() {
+        GameField gameField = createGameField(6, 5, 2, 2, 3);
+        gameField.shoot(5, 1);
+        
+        BruteforceBattleshipAIBot bot = 
+                new BruteforceBattleshipAIBot(gameField, 0);
+        
+        bot.computeNextShotLocation();
+        
+        int[][] misses = { { 3, 3 }, { 5, 4 }, { 4, 0 }, { 1, 4 } };
+        
+        for (int[] miss : misses) {
+            bot.shoot(new MatrixCoordinates(miss[0], miss[1]));
+            MatrixCoordinates mc = bot.computeNextShotLocation();
+            
+            long[][] expected = countNaively(gameField);
+            
+            for (int y = 0; y < gameField.getHeight(); y++) {
+                for (int x = 0; x < gameField.getWidth(); x++) {
+                    assertEquals(expected[y][x], 
+                                 bot.getFrequencyCounterMatrix()
+                                    .getCounter(x, y));
+                }
+            }
+            
+            assertEquals(maximum(expected), 
+                         expected[mc.y][mc.x]);
+        }
+    }
+    
+    @Test
+    public void hitConstrainedSearchCoversHits() {
+        GameField gameField = createGameField(6, 5, 2, 3, 3);
+        gameField.shoot(1, 0);
+        gameField.shoot(4, 3);
+        gameField.shoot(2, 2);
+        gameField.shoot(0, 4);
+        
+        long[][] expected = countNaivelyConstrainedByHits(gameField);
+        
+        for (ForkJoinPool pool : new ForkJoinPool[]{ 
+                null, 
+                ForkJoinPool.commonPool() }) {
+            
+            BruteforceBattleshipAIBot bot = 
+                    new BruteforceBattleshipAIBot(gameField, 0, pool);
+            
+            bot.setHitConstrainedSearch(true);
+            
+            MatrixCoordinates mc = bot.computeNextShotLocation();
+            
+            for (int y = 0; y < gameField.getHeight(); y++) {
+                for (int x = 0; x < gameField.getWidth(); x++) {
+                    assertEquals(expected[y][x], 
+                                 bot.getFrequencyCounterMatrix()
+                                    .getCounter(x, y));
+                }
+            }
+            
+            assertEquals(maximum(expected), expected[mc.y][mc.x]);
+        }
+    }
+    
+    @Test
+    public void disconnectedRegionsAreCountedSeparately() {
+        for (boolean hitConstrained : new boolean[]{ false, true }) {
+            GameField gameField = createGameField(7, 5, 2, 2, 3);
+            
+            // A wall splits the field in two halves and a single cell:
+            for (int y = 0; y < gameField.getHeight(); y++) {
+                gameField.shoot(3, y);
+            }
+            
+            gameField.shoot(5, 4);
+            gameField.shoot(6, 3);
+            
+            if (hitConstrained) {
+                gameField.shoot(0, 0);
+            }
+            
+            long[][] expected = hitConstrained ? 
+                    countNaivelyConstrainedByHits(gameField) :
+                    countNaively(gameField);
+            
+            BruteforceBattleshipAIBot bot = 
+                    new BruteforceBattleshipAIBot(gameField, 0);
+            
+            bot.setHitConstrainedSearch(hitConstrained);
+            bot.computeNextShotLocation();
+            
+            for (int y = 0; y < gameField.getHeight(); y++) {
+                for (int x = 0; x < gameField.getWidth(); x++) {
+                    assertEquals(expected[y][x], 
+                                 bot.getFrequencyCounterMatrix()
+                                    .getCounter(x, y));
+                }
+            }
+            
+            // The joint enumeration visits more nodes:
+            FleetEnumerator enumerator = 
+                    new FleetEnumerator(
+                            gameField, 
+                            PlacementTable.of(gameField), 
+                            FleetEnumerator.copyFleet(
+                                    gameField.getSearchFleet()), 
+                            new FrequencyCounterMatrix(7, 5));
+            
+            if (hitConstrained) {
+                enumerator.constrainByHits();
+            }
+            
+            SearchStatistics statistics = new SearchStatistics();
+            enumerator.enumerate(0);
+            enumerator.addSearchCountsTo(statistics);
+            
+            assertTrue(bot.getSearchStatistics().getNodes() < 
+                       statistics.getNodes());
+        }
+    }
+    
+    @Test
+    public void hitConstrainedSearchPlaysWholeGame() {
+        GameField gameField = createGameField(5, 5, 2, 3);
+        BruteforceBattleshipAIBot bot = 
+                new BruteforceBattleshipAIBot(gameField, 0);
+        
+        bot.setHitConstrainedSearch(true);
+        
+        int shots = 0;
+        
+        try {
+            while (true) {
+                MatrixCoordinates mc = bot.computeNextShotLocation();
+                
+                assertEquals(GameField.GameFieldCellState.CLEAR,
+                             gameField.getCellState(mc.x, mc.y));
+                
+                shots++;
+                bot.shoot(mc);
+            }
+        } catch (OpponentFleetDestroyedException ex) {
+            
+        }
+        
+        assertTrue(gameField.gameOver());
+        assertTrue(shots < 25);
+    }
+    
+    private static long maximum(long[][] counts) {
+        long maximum = Long.MIN_VALUE;
+        
+        for (long[] row : counts) {
+            for (long count : row) {
+                maximum = Math.max(maximum, count);
+            }
+        }
+        
+        return maximum;
+    }
+    
+    /**
+     * Counts the cell coverage over all the ordered arrangements of the search
+     * fleet by plain recursion. Each arrangement is counted twice, just like
+     * the bot does.
+     */
+    static long[][] countNaively(GameField gameField) {
+        long[][] counts = new long[gameField.getHeight()][gameField.getWidth()];
+        List<Ship> fleet = new ArrayList<>();
+        
+        for (Ship ship : gameField.getSearchFleet()) {
+            fleet.add(new Ship(ship));
+        }
+        
+        countNaively(gameField, fleet, 0, counts);
+        return counts;
+    }
+    
+    private static void countNaively(GameField gameField, 
+                                     List<Ship> fleet, 
+                                     int shipIndex, 
+                                     long[][] counts) {
+        if (shipIndex == fleet.size()) {
+            for (Ship ship : fleet) {
+                for (int i = 0; i < ship.getLength(); i++) {
+                    if (ship.getOrientation() == Ship.Orientation.HORIZONTAL) {
+                        counts[ship.getY()][ship.getX() + i] += 2;
+                    } else {
+                        counts[ship.getY() + i][ship.getX()] += 2;
+                    }
+                }
+            }
+            
+            return;
+        }
+        
+        Ship ship = fleet.get(shipIndex);
+        
+        for (Ship.Orientation orientation : Ship.Orientation.values()) {
+            ship.setOrientation(orientation);
+            
+            int maxX = gameField.getWidth();
+            int maxY = gameField.getHeight();
+            
+            if (orientation == Ship.Orientation.HORIZONTAL) {
+                maxX -= ship.getLength() - 1;
+            } else {
+                maxY -= ship.getLength() - 1;
+            }
+            
+            for (int x = 0; x < maxX; x++) {
+                for (int y = 0; y < maxY; y++) {
+                    ship.setLocation(x, y);
+                    
+                    if (!gameField.shipOccupiesClosedCell(ship) && 
+                        !ship.overlapsAny(fleet.subList(0, shipIndex))) {
+                        countNaively(gameField, fleet, shipIndex + 1, counts);
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Counts the coverage of the unshot cells over all the ordered 
+     * arrangements of the search fleet that avoid the missed cells and cover
+     * all the hit cells. Each arrangement is counted twice.
+     */
+    static long[][] countNaivelyConstrainedByHits(GameField gameField) {
+        long[][] counts = new long[gameField.getHeight()][gameField.getWidth()];
+        List<Ship> fleet = new ArrayList<>();
+        
+        for (Ship ship : gameField.getSearchFleet()) {
+            fleet.add(new Ship(ship));
+        }
+        
+        countNaivelyConstrainedByHits(gameField, fleet, 0, counts);
+        return counts;
+    }
+    
+    private static void countNaivelyConstrainedByHits(GameField gameField, 
+                                                      List<Ship> fleet, 
+                                                      int shipIndex, 
+                                                      long[][] counts) {
+        if (shipIndex == fleet.size()) {
+            boolean[][] covered = 
+                    new boolean[gameField.getHeight()][gameField.getWidth()];
+            
+            for (Ship ship : fleet) {
+                for (Ship.ShipCompartment compartment : 
+                        ship.convertToShipCompartments()) {
+                    covered[compartment.y][compartment.x] = true;
+                }
+            }
+            
+            for (int y = 0; y < gameField.getHeight(); y++) {
+                for (int x = 0; x < gameField.getWidth(); x++) {
+                    if (isHit(gameField, x, y) && !covered[y][x]) {
+                        return;
+                    }
+                }
+            }
+            
+            for (int y = 0; y < gameField.getHeight(); y++) {
+                for (int x = 0; x < gameField.getWidth(); x++) {
+                    if (covered[y][x] && 
+                            gameField.getCellState(x, y) == 
+                            GameField.GameFieldCellState.CLEAR) {
+                        counts[y][x] += 2;
+                    }
+                }
+            }
+            
+            return;
+        }
+        
+        Ship ship = fleet.get(shipIndex);
+        
+        for (Ship.Orientation orientation : Ship.Orientation.values()) {
+            ship.setOrientation(orientation);
+            
+            int maxX = gameField.getWidth();
+            int maxY = gameField.getHeight();
+            
+            if (orientation == Ship.Orientation.HORIZONTAL) {
+                maxX -= ship.getLength() - 1;
+            } else {
+                maxY -= ship.getLength() - 1;
+            }
+            
+            for (int x = 0; x < maxX; x++) {
+                for (int y = 0; y < maxY; y++) {
+                    ship.setLocation(x, y);
+                    
+                    if (!coversMiss(gameField, ship) && 
+                        !ship.overlapsAny(fleet.subList(0, shipIndex))) {
+                        countNaivelyConstrainedByHits(gameField, 
+                                                      fleet, 
+                                                      shipIndex + 1, 
+                                                      counts);
+                    }
+                }
+            }
+        }
+    }
+    
+    private static boolean isHit(GameField gameField, int x, int y) {
+        return gameField.getCellState(x, y) == 
+               GameField.GameFieldCellState.SHOT && 
+               gameField.getShipAt(x, y) != null;
+    }
+    
+    private static boolean coversMiss(GameField gameField, Ship ship) {
+        for (Ship.ShipCompartment compartment : 
+                ship.convertToShipCompartments()) {
+            
+            if (gameField.getCellState(compartment.x, compartment.y) == 
+                    GameField.GameFieldCellState.SHOT && 
+                    !isHit(gameField, compartment.x, compartment.y)) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    private static void shootIfEmpty(GameField gameField, int cellIndex) {
+        if (cellIndex < gameField.getWidth() * gameField.getHeight() && 
+                gameField.getShipAt(cellIndex) == null) {
+            gameField.shoot(cellIndex);
+        }
+    }
+    
+    static GameField createGameField(int width, int height, int... lengths) {
+        GameField gameField = new GameField(width, height);
+        
+        for (int y = 0; y < lengths.length; y++) {
+            Ship ship = new Ship(lengths[y], Ship.Orientation.HORIZONTAL);
+            ship.setY(y);
+            gameField.addShip(ship);
+        }
+        
+        return gameField;
+    }
+    
+    static void assertSameCounters(FrequencyCounterMatrix expected,
+                                   FrequencyCounterMatrix actual,
+                                   GameField gameField) {
+        
+        for (int y = 0; y < gameField.getHeight(); y++) {
+            for (int x = 0; x < gameField.getWidth(); x++) {
+                assertEquals(expected.getCounter(x, y),
+                             actual.getCounter(x, y));
+            }
+        }
+    }
 }
@@ -0,0 +1,74 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class FrequencyCounterMatrixTest {
+    
+    @Test
+    public void countersDoNotOverflowInt() {
+        FrequencyCounterMatrix matrix = new FrequencyCounterMatrix(3, 2);
+        Ship ship = new Ship(2, Ship.Orientation.VERTICAL);
+        ship.setLocation(1, 0);
+        
+        matrix.incrementShip(ship, Integer.MAX_VALUE);
+        matrix.incrementShip(ship, Integer.MAX_VALUE);
+        
+        assertEquals(2L * Integer.MAX_VALUE, matrix.getCounter(1, 0));
+        assertEquals(2L * Integer.MAX_VALUE, matrix.getCounter(1, 1));
+        assertEquals(0L, matrix.getCounter(0, 1));
+        assertEquals(2L * Integer.MAX_VALUE, matrix.getMaximumCount());
+    }
+    
+    @Test
+    public void getMaximumMatrixCounterBreaksTiesAmongBestCells() {
+        FrequencyCounterMatrix matrix = new FrequencyCounterMatrix(4, 3);
+        matrix.increment(0, 0, 5L);
+        matrix.increment(3, 2, 5L);
+        matrix.increment(2, 1, 4L);
+        
+        Set<MatrixCoordinates> seen = new HashSet<>();
+        
+        for (int i = 0; i < 200; i++) {
+            MatrixCoordinates mc = matrix.getMaximumMatrixCounter();
+            assertEquals(5L, matrix.getCounter(mc.x, mc.y));
+            seen.add(mc);
+        }
+        
+        assertEquals(2, seen.size());
+        
+        matrix.clear();
+        assertEquals(0L, matrix.getMaximumCount());
+    }
+    
+    @Test
+    public void cellIndexApiMatchesCoordinateApi() {
+        FrequencyCounterMatrix matrix = new FrequencyCounterMatrix(4, 3);
+        matrix.incrementCell(2 * 4 + 1);
+        matrix.incrementCell(2 * 4 + 1, 6L);
+        matrix.increment(3, 0, 2L);
+        
+        assertEquals(7L, matrix.getCounter(1, 2));
+        assertEquals(7L, matrix.getCounter(2 * 4 + 1));
+        assertEquals(2L, matrix.getCounter(3));
+        assertEquals(2 * 4 + 1, matrix.getMaximumCellIndex());
+        
+        Ship ship = new Ship(3, Ship.Orientation.VERTICAL);
+        ship.setLocation(3, 0);
+        matrix.incrementShipExcept(ship, 1 * 4 + 3);
+        
+        assertEquals(3L, matrix.getCounter(3, 0));
+        assertEquals(0L, matrix.getCounter(3, 1));
+        assertEquals(1L, matrix.getCounter(3, 2));
+        
+        long[] excludedCells = BitBoard.create(4, 3);
+        BitBoard.set(excludedCells, 0 * 4 + 3);
+        matrix.incrementWithExclusion(ship, excludedCells);
+        
+        assertEquals(3L, matrix.getCounter(3, 0));
+        assertEquals(1L, matrix.getCounter(3, 1));
+        assertEquals(2L, matrix.getCounter(3, 2));
+    }
+}
@@ -0,0 +1,247 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class GameFieldTest {
+    
+    @Test
+    public void testShipOccupiesClosedCell() {
+        Random random = new Random(13L);
+        GameField gameField = new GameField(11, 7);
+        
+        for (int i = 0; i < 20; i++) {
+            gameField.shoot(random.nextInt(gameField.getWidth()),
+                            random.nextInt(gameField.getHeight()));
+        }
+        
+        for (int length = 1; length <= 5; length++) {
+            Ship ship = new Ship(length, Ship.Orientation.HORIZONTAL);
+            
+            for (int y = 0; y < gameField.getHeight(); y++) {
+                for (int x = 0; x + length <= gameField.getWidth(); x++) {
+                    ship.setLocation(x, y);
+                    assertEquals(occupiesClosedCell(gameField, ship),
+                                 gameField.shipOccupiesClosedCell(ship));
+                }
+            }
+            
+            ship.setOrientation(Ship.Orientation.VERTICAL);
+            
+            for (int y = 0; y + length <= gameField.getHeight(); y++) {
+                for (int x = 0; x < gameField.getWidth(); x++) {
+                    ship.setLocation(x, y);
+                    assertEquals(occupiesClosedCell(gameField, ship),
+                                 gameField.shipOccupiesClosedCell(ship));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void testShipOccupiesAnotherShip() {
+        GameField gameField = new GameField(5, 5);
+        Ship ship = new Ship(3, Ship.Orientation.VERTICAL);
+        ship.setLocation(2, 1);
+        gameField.addShip(ship);
+        
+        Ship probe = new Ship(2, Ship.Orientation.HORIZONTAL);
+        probe.setLocation(1, 3);
+        assertTrue(gameField.shipOccupiesAnotherShip(probe));
+        
+        probe.setLocation(3, 3);
+        assertFalse(gameField.shipOccupiesAnotherShip(probe));
+        
+        gameField.removeShip(gameField.getShipAt(2, 1));
+        probe.setLocation(1, 3);
+        assertFalse(gameField.shipOccupiesAnotherShip(probe));
+    }
+    
+    @Test
+    public void testShipIsDestroyed() {
+        GameField gameField = new GameField(4, 4);
+        Ship ship = new Ship(2, Ship.Orientation.VERTICAL);
+        ship.setLocation(3, 2);
+        gameField.addShip(ship);
+        
+        gameField.shoot(3, 2);
+        assertFalse(gameField.shipIsDestroyed(gameField.getShipAt(3, 2)));
+        
+        gameField.shoot(3, 3);
+        assertTrue(gameField.shipIsDestroyed(gameField.getShipAt(3, 2)));
+        assertEquals(GameField.GameFieldCellState.SHOT,
+                     gameField.getCellState(3, 3));
+        
+        assertEquals(GameField.GameFieldCellState.CLEAR,
+                     gameField.getCellState(2, 3));
+    }
+    
+    @Test
+    public void testCellIndexApi() {
+        GameField gameField = createGameField();
+        int cellIndex = gameField.getCellIndex(1, 2);
+        
+        assertEquals(2 * 5 + 1, cellIndex);
+        assertSame(gameField.getShipAt(1, 2), gameField.getShipAt(cellIndex));
+        assertNull(gameField.getShipAt(gameField.getCellIndex(4, 3)));
+        
+        MatrixCoordinates mc = gameField.getMatrixCoordinates(cellIndex);
+        assertEquals(1, mc.x);
+        assertEquals(2, mc.y);
+        assertEquals(cellIndex, gameField.getCellIndex(mc));
+        
+        GameField other = createGameField();
+        other.shoot(1, 2);
+        gameField.shoot(cellIndex);
+        
+        assertTrue(gameField.isShot(cellIndex));
+        assertEquals(GameField.GameFieldCellState.SHOT, 
+                     gameField.getCellState(cellIndex));
+        assertEquals(GameField.GameFieldCellState.CLEAR, 
+                     gameField.getCellState(cellIndex + 1));
+        assertEquals(other.getZobristHash(), gameField.getZobristHash());
+    }
+    
+    @Test
+    public void testZobristHash() {
+        GameField gameField1 = createGameField();
+        GameField gameField2 = createGameField();
+        
+        assertEquals(gameField1.getZobristHash(), gameField2.getZobristHash());
+        
+        gameField1.shoot(4, 4);
+        gameField1.shoot(1, 0);
+        gameField1.shoot(1, 0);
+        gameField2.shoot(1, 0);
+        gameField2.shoot(4, 4);
+        
+        assertEquals(gameField1.getZobristHash(), gameField2.getZobristHash());
+        
+        // A hit and a miss at the same cell differ:
+        GameField gameField3 = createGameField();
+        GameField gameField4 = new GameField(5, 5);
+        gameField4.addShip(createShip(2, 3, 0));
+        gameField4.addShip(createShip(2, 0, 2));
+        gameField4.addShip(createShip(3, 0, 4));
+        gameField3.shoot(0, 0);
+        gameField4.shoot(0, 0);
+        
+        assertNotEquals(gameField3.getZobristHash(), 
+                        gameField4.getZobristHash());
+        
+        // Removing either of two equal length ships gives the same hash:
+        long hash = gameField1.getZobristHash();
+        gameField1.removeShip(gameField1.getShipAt(0, 0));
+        gameField2.removeShip(gameField2.getShipAt(0, 2));
+        
+        assertNotEquals(hash, gameField1.getZobristHash());
+        assertEquals(gameField1.getZobristHash(), gameField2.getZobristHash());
+    }
+    
+    @Test
+    public void testPushAndPopShot() {
+        GameField gameField = createGameField();
+        gameField.shoot(4, 4);
+        
+        long hash = gameField.getZobristHash();
+        long[] shotCells = gameField.getShotCells().clone();
+        
+        gameField.pushShot(gameField.getCellIndex(0, 0));
+        gameField.pushShot(gameField.getCellIndex(4, 4));
+        gameField.pushShot(gameField.getCellIndex(3, 1));
+        
+        assertEquals(3, gameField.getPushedShots());
+        assertTrue(gameField.isShot(gameField.getCellIndex(0, 0)));
+        assertNotEquals(hash, gameField.getZobristHash());
+        
+        assertEquals(gameField.getCellIndex(3, 1), gameField.popShot());
+        assertEquals(gameField.getCellIndex(4, 4), gameField.popShot());
+        assertEquals(gameField.getCellIndex(0, 0), gameField.popShot());
+        
+        assertEquals(0, gameField.getPushedShots());
+        assertEquals(hash, gameField.getZobristHash());
+        assertArrayEquals(shotCells, gameField.getShotCells());
+        assertTrue(gameField.isShot(gameField.getCellIndex(4, 4)));
+        
+        try {
+            gameField.popShot();
+            fail("Popping an empty shot stack should throw.");
+        } catch (IllegalStateException ex) {
+            
+        }
+    }
+    
+    @Test
+    public void testSnapshotAndRestore() {
+        GameField gameField = createGameField();
+        gameField.pushShot(gameField.getCellIndex(2, 2));
+        
+        GameField.Snapshot snapshot = gameField.snapshot();
+        long hash = gameField.getZobristHash();
+        
+        gameField.shoot(0, 0);
+        gameField.shoot(1, 0);
+        gameField.removeShip(gameField.getShipAt(0, 0));
+        gameField.pushShot(gameField.getCellIndex(4, 0));
+        
+        assertEquals(2, gameField.getSearchFleet().size());
+        assertNull(gameField.getShipAt(0, 0));
+        
+        gameField.restore(snapshot);
+        
+        assertEquals(hash, gameField.getZobristHash());
+        assertEquals(3, gameField.getSearchFleet().size());
+        assertNotNull(gameField.getShipAt(0, 0));
+        assertFalse(gameField.isShot(gameField.getCellIndex(0, 0)));
+        assertEquals(1, gameField.getPushedShots());
+        
+        // The restored state equals the state built from scratch:
+        GameField expected = createGameField();
+        expected.shoot(2, 2);
+        assertEquals(expected.getZobristHash(), gameField.getZobristHash());
+        assertArrayEquals(expected.getShotCells(), gameField.getShotCells());
+        
+        assertEquals(gameField.getCellIndex(2, 2), gameField.popShot());
+        assertEquals(createGameField().getZobristHash(), 
+                     gameField.getZobristHash());
+        
+        // The snapshot may be restored again:
+        gameField.restore(snapshot);
+        assertEquals(hash, gameField.getZobristHash());
+    }
+    
+    private static GameField createGameField() {
+        GameField gameField = new GameField(5, 5);
+        gameField.addShip(createShip(2, 0, 0));
+        gameField.addShip(createShip(2, 0, 2));
+        gameField.addShip(createShip(3, 0, 4));
+        return gameField;
+    }
+    
+    private static Ship createShip(int length, int x, int y) {
+        Ship ship = new Ship(length, Ship.Orientation.HORIZONTAL);
+        ship.setLocation(x, y);
+        return ship;
+    }
+    
+    private static boolean occupiesClosedCell(GameField gameField, Ship ship) {
+        for (int i = 0; i < ship.getLength(); i++) {
+            int x = ship.getX();
+            int y = ship.getY();
+            
+            if (ship.getOrientation() == Ship.Orientation.HORIZONTAL) {
+                x += i;
+            } else {
+                y += i;
+            }
+            
+            if (gameField.getCellState(x, y) ==
+                    GameField.GameFieldCellState.SHOT) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+}
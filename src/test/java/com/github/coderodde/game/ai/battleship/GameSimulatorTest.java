@@ -0,0 +1,145 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.SplittableRandom;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class GameSimulatorTest {
+    
+    @Test
+    public void playsAllGames() {
+        GameSimulator simulator = 
+                new GameSimulator(6, 
+                                  6, 
+                                  new int[]{ 2, 3 }, 
+                                  (gameField) -> {
+                                      BruteforceBattleshipAIBot bot = 
+                                              new BruteforceBattleshipAIBot(
+                                                      gameField, 0);
+                                      
+                                      bot.setHitConstrainedSearch(true);
+                                      return bot;
+                                  },
+                                  13L,
+                                  4);
+        
+        GameSimulator.Statistics statistics = simulator.run(200);
+        
+        assertEquals(200L, statistics.getGames());
+        assertEquals(0L, statistics.getUnfinishedGames());
+        
+        long won = 0L;
+        
+        for (long count : statistics.getShotsHistogram()) {
+            won += count;
+        }
+        
+        assertEquals(200L, won);
+        assertTrue(statistics.getMeanShots() >= 5.0);
+        assertTrue(statistics.getMeanShots() < 36.0);
+        assertTrue(statistics.getShotsPercentile(50.0) <= 
+                   statistics.getShotsPercentile(99.0));
+        
+        assertTrue(statistics.getMoveNanosPercentile(50.0) <= 
+                   statistics.getMoveNanosPercentile(99.0));
+        
+        assertTrue(statistics.getMoveNanosPercentile(99.0) <= 
+                   statistics.getMaximumMoveNanos());
+        
+        assertTrue(statistics.getGamesPerSecond() > 0.0);
+    }
+    
+    @Test
+    public void randomGameFieldsAreReproducible() {
+        int[] fleet = { 2, 3, 3, 4, 5 };
+        
+        GameField gameField1 = 
+                GameSimulator.createRandomGameField(
+                        10, 10, fleet, new SplittableRandom(7L));
+        
+        GameField gameField2 = 
+                GameSimulator.createRandomGameField(
+                        10, 10, fleet, new SplittableRandom(7L));
+        
+        int occupied = 0;
+        
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 10; x++) {
+                assertEquals(gameField1.getShipAt(x, y) == null,
+                             gameField2.getShipAt(x, y) == null);
+                
+                if (gameField1.getShipAt(x, y) != null) {
+                    occupied++;
+                }
+            }
+        }
+        
+        assertEquals(17, occupied);
+    }
+    
+    @Test
+    public void randomGameFieldsFitNarrowFields() {
+        int[] fleet = { 4, 2, 3, 3 };
+        SplittableRandom random = new SplittableRandom(11L);
+        
+        for (int i = 0; i < 100; i++) {
+            GameField gameField = 
+                    GameSimulator.createRandomGameField(3, 7, fleet, random);
+            
+            assertEquals(4, gameField.getSearchFleet().size());
+            
+            for (Ship ship : gameField.getSearchFleet()) {
+                if (ship.getLength() == 4) {
+                    assertEquals(Ship.Orientation.VERTICAL, 
+                                 ship.getOrientation());
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void rejectsFleetsThatDoNotFit() {
+        SplittableRandom random = new SplittableRandom(13L);
+        
+        try {
+            GameSimulator.createRandomGameField(3, 7, new int[]{ 8 }, random);
+            fail("A ship longer than both sides should be rejected.");
+        } catch (IllegalArgumentException ex) {
+            
+        }
+        
+        try {
+            GameSimulator.createRandomGameField(3, 3, 
+                                                new int[]{ 3, 3, 2, 2 }, 
+                                                random);
+            fail("A fleet larger than the game field should be rejected.");
+        } catch (IllegalArgumentException ex) {
+            
+        }
+        
+        try {
+            new Tournament(3, 7, new int[]{ 8 }, 13L);
+            fail("A tournament should reject a fleet that does not fit.");
+        } catch (IllegalArgumentException ex) {
+            
+        }
+    }
+    
+    @Test
+    public void latencyHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        
+        for (long value = 1L; value <= 1000L; value++) {
+            histogram.record(value * 1000L);
+        }
+        
+        assertEquals(1000L, histogram.getCount());
+        assertEquals(1_000_000L, histogram.getMaximum());
+        
+        long p50 = histogram.getPercentile(50.0);
+        long p99 = histogram.getPercentile(99.0);
+        
+        assertTrue(p50 >= 500_000L && p50 <= 500_000L * 17 / 16);
+        assertTrue(p99 >= 990_000L && p99 <= 1_000_000L);
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MonteCarloBattleshipAIBotTest {
+    
+    @Test
+    public void estimateApproachesExactCoverage() {
+        GameField gameField = 
+                BruteforceBattleshipAIBotTest.createGameField(5, 5, 2, 3);
+        
+        gameField.shoot(2, 2);
+        gameField.shoot(0, 4);
+        
+        long[][] exact = BruteforceBattleshipAIBotTest.countNaively(gameField);
+        long total = 0L;
+        
+        for (long[] row : exact) {
+            for (long count : row) {
+                total += count;
+            }
+        }
+        
+        // Each arrangement covers 2 + 3 cells:
+        double arrangements = total / 5.0;
+        
+        MonteCarloBattleshipAIBot bot = 
+                new MonteCarloBattleshipAIBot(gameField, 
+                                              200_000L, 
+                                              4, 
+                                              new SplittableRandom(1L));
+        
+        bot.computeNextShotLocation();
+        
+        MonteCarloBattleshipAIBot.Estimate estimate = bot.getEstimate();
+        assertEquals(200_000L, estimate.getSamples());
+        assertTrue(estimate.getAttempts() >= estimate.getSamples());
+        assertTrue(estimate.getConfidenceHalfWidth() < 0.01);
+        
+        for (int y = 0; y < gameField.getHeight(); y++) {
+            for (int x = 0; x < gameField.getWidth(); x++) {
+                double expected = exact[y][x] / arrangements;
+                double actual = 
+                        (double) bot.getFrequencyCounterMatrix()
+                                    .getCounter(x, y) / estimate.getSamples();
+                
+                assertEquals(expected, actual, 0.01);
+            }
+        }
+    }
+    
+    @Test
+    public void samplesCoverStandingHits() {
+        GameField gameField = 
+                BruteforceBattleshipAIBotTest.createGameField(5, 5, 2, 3);
+        
+        MonteCarloBattleshipAIBot bot = 
+                new MonteCarloBattleshipAIBot(gameField, 
+                                              200_000L, 
+                                              4, 
+                                              new SplittableRandom(3L));
+        
+        // A miss and a hit on the standing length 2 ship:
+        bot.shoot(new MatrixCoordinates(2, 2));
+        bot.shoot(new MatrixCoordinates(0, 0));
+        
+        long[][] exact = 
+                BruteforceBattleshipAIBotTest
+                        .countNaivelyConstrainedByHits(gameField);
+        
+        long total = 0L;
+        
+        for (long[] row : exact) {
+            for (long count : row) {
+                total += count;
+            }
+        }
+        
+        // Each arrangement covers the hit cell and 4 unshot cells:
+        double arrangements = total / 4.0;
+        MatrixCoordinates mc = bot.computeNextShotLocation();
+        MonteCarloBattleshipAIBot.Estimate estimate = bot.getEstimate();
+        
+        assertEquals(200_000L, estimate.getSamples());
+        assertTrue(mc.x + mc.y == 1);
+        
+        for (int y = 0; y < gameField.getHeight(); y++) {
+            for (int x = 0; x < gameField.getWidth(); x++) {
+                double expected = exact[y][x] / arrangements;
+
+                double actual = 
+                        (double) bot.getFrequencyCounterMatrix()
+                                    .getCounter(x, y) / estimate.getSamples();
+                
+                assertEquals(expected, actual, 0.01);
+            }
+        }
+    }
+    
+    @Test
+    public void timeBudgetIsRespected() {
+        GameField gameField = 
+                BruteforceBattleshipAIBotTest.createGameField(10, 10, 
+                                                              2, 3, 3, 4, 5);
+        
+        MonteCarloBattleshipAIBot bot = 
+                new MonteCarloBattleshipAIBot(gameField, 
+                                              Duration.ofMillis(50L), 
+                                              2, 
+                                              new SplittableRandom(2L));
+        
+        MatrixCoordinates mc = bot.computeNextShotLocation();
+        
+        assertNotNull(mc);
+        assertTrue(bot.getEstimate().getSamples() > 0L);
+        assertTrue(bot.getEstimate().getDurationNanos() < 1_000_000_000L);
+    }
+}
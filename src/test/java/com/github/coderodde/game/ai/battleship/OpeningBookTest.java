@@ -0,0 +1,70 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class OpeningBookTest {
+    
+    @Test
+    public void bookMatchesSearch() throws IOException {
+        Path path = Files.createTempFile("opening-book", ".bin");
+        
+        try {
+            int records = 
+                    OpeningBook.build(path, 5, 4, new int[]{ 3, 2 }, 3, null);
+            
+            OpeningBook book = OpeningBook.open(path);
+            
+            assertEquals(records, book.size());
+            assertTrue(book.size() >= 3);
+            assertArrayEquals(new int[]{ 2, 3 }, book.getFleet());
+            
+            GameField gameField = 
+                    BruteforceBattleshipAIBotTest.createGameField(5, 4, 2, 3);
+            
+            BruteforceBattleshipAIBot bookBot = 
+                    new BruteforceBattleshipAIBot(gameField, 0);
+            
+            bookBot.setOpeningBook(book);
+            
+            for (int depth = 0; depth < 3; depth++) {
+                assertTrue(book.load(gameField, 
+                                     new FrequencyCounterMatrix(5, 4)));
+                
+                MatrixCoordinates mc = bookBot.computeNextShotLocation();
+                
+                BruteforceBattleshipAIBot searchBot = 
+                        new BruteforceBattleshipAIBot(gameField, 0);
+                
+                searchBot.computeNextShotLocation();
+                
+                BruteforceBattleshipAIBotTest.assertSameCounters(
+                        searchBot.getFrequencyCounterMatrix(), 
+                        bookBot.getFrequencyCounterMatrix(), 
+                        gameField);
+                
+                // The book holds only the misses, so stop following the book
+                // line once the best shot would hit:
+                if (gameField.getShipAt(mc) != null) {
+                    break;
+                }
+                
+                bookBot.shoot(mc);
+            }
+            
+            gameField.shoot(4, 3);
+            gameField.shoot(0, 3);
+            gameField.shoot(4, 0);
+            
+            assertFalse(book.load(gameField, new FrequencyCounterMatrix(5, 4)));
+            assertFalse(book.load(
+                    BruteforceBattleshipAIBotTest.createGameField(5, 4, 2, 2), 
+                    new FrequencyCounterMatrix(5, 4)));
+        } finally {
+            Files.delete(path);
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SearchStatisticsTest {
+    
+    @Test
+    public void countsSingleShipConfigurations() {
+        GameField gameField = 
+                BruteforceBattleshipAIBotTest.createGameField(3, 3, 2);
+        
+        gameField.shoot(1, 1);
+        
+        BruteforceBattleshipAIBot bot = 
+                new BruteforceBattleshipAIBot(gameField, 0);
+        
+        bot.computeNextShotLocation();
+        
+        SearchStatistics.Snapshot snapshot = 
+                bot.getSearchStatistics().snapshot();
+        
+        // 12 placements, 4 of which cover the shot center cell:
+        assertEquals(1L, snapshot.getSearches());
+        assertEquals(8L, snapshot.getConfigurations());
+        assertEquals(4L, snapshot.getClosedCellRejections());
+        assertEquals(0L, snapshot.getOverlapRejections());
+        assertEquals(1L + 8L, snapshot.getNodes());
+        assertTrue(snapshot.getMaximumSearchNanos() > 0L);
+        assertEquals(snapshot.getTotalSearchNanos(), 
+                     snapshot.getMeanSearchNanos());
+    }
+    
+    @Test
+    public void prunesArrangementsTheLongestShipCannotComplete() {
+        GameField gameField = 
+                BruteforceBattleshipAIBotTest.createGameField(4, 4, 2, 4);
+        
+        // Only the top row and the left column may hold the long ship:
+        gameField.shoot(1, 1);
+        gameField.shoot(2, 2);
+        gameField.shoot(3, 3);
+        
+        // Place the short ship first so that the long one must fit later:
+        SearchStatistics statistics = new SearchStatistics();
+        FleetEnumerator enumerator = createEnumerator(gameField);
+        enumerator.setDynamicShipOrdering(false);
+        enumerator.enumerate(0);
+        enumerator.addSearchCountsTo(statistics);
+        
+        long[][] expected = 
+                BruteforceBattleshipAIBotTest.countNaively(gameField);
+        
+        for (int y = 0; y < gameField.getHeight(); y++) {
+            for (int x = 0; x < gameField.getWidth(); x++) {
+                if (!gameField.isShot(gameField.getCellIndex(x, y))) {
+                    assertEquals(expected[y][x], 
+                                 enumerator.getFrequencyCounterMatrix()
+                                           .getCounter(x, y));
+                }
+            }
+        }
+        
+        assertTrue(statistics.getFeasibilityRejections() > 0L);
+        assertTrue(statistics.getConfigurations() > 0L);
+    }
+    
+    @Test
+    public void dynamicShipOrderingVisitsFewerNodes() {
+        GameField gameField = 
+                BruteforceBattleshipAIBotTest.createGameField(6, 6, 2, 3, 3, 4);
+        
+        gameField.shoot(1, 4);
+        gameField.shoot(3, 5);
+        gameField.shoot(4, 2);
+        gameField.shoot(5, 5);
+        
+        SearchStatistics staticStatistics = new SearchStatistics();
+        SearchStatistics dynamicStatistics = new SearchStatistics();
+        FleetEnumerator staticEnumerator = createEnumerator(gameField);
+        FleetEnumerator dynamicEnumerator = createEnumerator(gameField);
+        
+        staticEnumerator.setDynamicShipOrdering(false);
+        staticEnumerator.enumerate(0);
+        dynamicEnumerator.enumerate(0);
+        staticEnumerator.addSearchCountsTo(staticStatistics);
+        dynamicEnumerator.addSearchCountsTo(dynamicStatistics);
+        
+        BruteforceBattleshipAIBotTest.assertSameCounters(
+                staticEnumerator.getFrequencyCounterMatrix(), 
+                dynamicEnumerator.getFrequencyCounterMatrix(), 
+                gameField);
+        
+        assertEquals(staticStatistics.getConfigurations(), 
+                     dynamicStatistics.getConfigurations());
+        
+        assertTrue(dynamicStatistics.getNodes() < 
+                   staticStatistics.getNodes());
+    }
+    
+    @Test
+    public void parallelSearchCountsEqualSequential() {
+        GameField gameField1 = 
+                BruteforceBattleshipAIBotTest.createGameField(6, 5, 2, 3, 3);
+        
+        GameField gameField2 = 
+                BruteforceBattleshipAIBotTest.createGameField(6, 5, 2, 3, 3);
+        
+        gameField1.shoot(2, 2);
+        gameField2.shoot(2, 2);
+        
+        BruteforceBattleshipAIBot sequentialBot = 
+                new BruteforceBattleshipAIBot(gameField1, 0);
+        
+        BruteforceBattleshipAIBot parallelBot = 
+                new BruteforceBattleshipAIBot(gameField2, 
+                                              0, 
+                                              new ForkJoinPool(3));
+        
+        sequentialBot.computeNextShotLocation();
+        parallelBot.computeNextShotLocation();
+        
+        SearchStatistics statistics1 = sequentialBot.getSearchStatistics();
+        SearchStatistics statistics2 = parallelBot.getSearchStatistics();
+        
+        assertTrue(statistics1.getOverlapRejections() > 0L);
+        assertEquals(statistics1.getNodes(), statistics2.getNodes());
+        assertEquals(statistics1.getConfigurations(), 
+                     statistics2.getConfigurations());
+        
+        assertEquals(statistics1.getClosedCellRejections(), 
+                     statistics2.getClosedCellRejections());
+        
+        assertEquals(statistics1.getOverlapRejections(), 
+                     statistics2.getOverlapRejections());
+        
+        // A miss updates the counts without a search:
+        sequentialBot.shoot(new MatrixCoordinates(5, 4));
+        sequentialBot.computeNextShotLocation();
+        
+        assertEquals(1L, statistics1.getIncrementalUpdates());
+        assertEquals(2L, statistics1.getSearches());
+    }
+    
+    @Test
+    public void skipsIncrementalUpdateOutsidePlainEnumeration() {
+        GameField gameField1 = 
+                BruteforceBattleshipAIBotTest.createGameField(6, 5, 2, 3, 3);
+        
+        GameField gameField2 = 
+                BruteforceBattleshipAIBotTest.createGameField(6, 5, 2, 3, 3);
+        
+        GameField gameField3 = 
+                BruteforceBattleshipAIBotTest.createGameField(6, 5, 2, 3, 3);
+        
+        BruteforceBattleshipAIBot deadlineBot = 
+                new BruteforceBattleshipAIBot(gameField1, 0);
+        
+        BruteforceBattleshipAIBot memoizingBot = 
+                new BruteforceBattleshipAIBot(gameField2, 0);
+        
+        memoizingBot.setTranspositionTable(new TranspositionTable(1 << 10));
+        
+        BruteforceBattleshipAIBot profileBot = 
+                new BruteforceBattleshipAIBot(gameField3, 0);
+        
+        profileBot.setProfileCounting(true);
+        
+        assertTrue(deadlineBot.computeNextShotLocation(
+                Duration.ofSeconds(10L)).isComplete());
+        
+        memoizingBot.computeNextShotLocation();
+        profileBot.computeNextShotLocation();
+        
+        deadlineBot.shoot(new MatrixCoordinates(5, 4));
+        memoizingBot.shoot(new MatrixCoordinates(5, 4));
+        profileBot.shoot(new MatrixCoordinates(5, 4));
+        
+        assertEquals(0L, deadlineBot.getSearchStatistics()
+                                    .getIncrementalUpdates());
+        
+        assertEquals(0L, memoizingBot.getSearchStatistics()
+                                     .getIncrementalUpdates());
+        
+        assertEquals(0L, profileBot.getSearchStatistics()
+                                   .getIncrementalUpdates());
+}
+    
+    @Test
+    public void registersPlatformMBean() throws JMException {
+        SearchStatistics statistics = new SearchStatistics();
+        ObjectName objectName = statistics.register("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        
+        try {
+            statistics.recordSearch(42L);
+            statistics.recordCacheHit();
+            
+            assertEquals(1L, server.getAttribute(objectName, "Searches"));
+            assertEquals(1L, server.getAttribute(objectName, "CacheHits"));
+            assertEquals(42L, 
+                         server.getAttribute(objectName, 
+                                             "MaximumSearchNanos"));
+            
+            server.invoke(objectName, "reset", null, null);
+            assertEquals(0L, statistics.getSearches());
+        } finally {
+            statistics.unregister();
+        }
+        
+        assertFalse(server.isRegistered(objectName));
+    }
+    
+    private static FleetEnumerator createEnumerator(GameField gameField) {
+        return new FleetEnumerator(
+                gameField, 
+                PlacementTable.of(gameField), 
+                FleetEnumerator.copyFleet(gameField.getSearchFleet()), 
+                new FrequencyCounterMatrix(gameField.getWidth(), 
+                                           gameField.getHeight()));
+    }
+}
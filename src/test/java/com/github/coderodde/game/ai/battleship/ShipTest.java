@@ -17,6 +17,21 @@ public class ShipTest {
         }
     }
     
+    @Test
+    public void testOccupies() {
+        Ship ship = new Ship(3, Ship.Orientation.VERTICAL);
+        ship.setLocation(2, 1);
+        
+        for (int x = 0; x < 5; x++) {
+            for (int y = 0; y < 5; y++) {
+                assertEquals(
+                        ship.convertToShipCompartments()
+                            .contains(new Ship.ShipCompartment(x, y)),
+                        ship.occupies(x, y));
+            }
+        }
+    }
+    
     private static void overlapHH(int length1, int length2) {
         Ship ship1= new Ship(length1, Ship.Orientation.HORIZONTAL);
         Ship ship2 = new Ship(length2, Ship.Orientation.HORIZONTAL);
@@ -0,0 +1,181 @@
+package com.github.coderodde.game.ai.battleship;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ShotCacheTest {
+    
+    @Test
+    public void botsShareCountedStates() {
+        ShotCache shotCache = new ShotCache();
+        
+        GameField gameField1 = 
+                BruteforceBattleshipAIBotTest.createGameField(6, 5, 2, 3, 3);
+        
+        GameField gameField2 = 
+                BruteforceBattleshipAIBotTest.createGameField(6, 5, 2, 3, 3);
+        
+        gameField1.shoot(4, 4);
+        gameField2.shoot(4, 4);
+        
+        BruteforceBattleshipAIBot bot1 = 
+                new BruteforceBattleshipAIBot(gameField1, 0);
+        
+        BruteforceBattleshipAIBot bot2 = 
+                new BruteforceBattleshipAIBot(gameField2, 0);
+        
+        bot1.setShotCache(shotCache);
+        bot2.setShotCache(shotCache);
+        
+        bot1.computeNextShotLocation();
+        
+        assertEquals(0L, shotCache.getHits());
+        assertEquals(1L, shotCache.getMisses());
+        assertEquals(1, shotCache.size());
+        
+        bot2.computeNextShotLocation();
+        
+        assertEquals(1L, shotCache.getHits());
+        
+        BruteforceBattleshipAIBotTest.assertSameCounters(
+                bot1.getFrequencyCounterMatrix(), 
+                bot2.getFrequencyCounterMatrix(), 
+                gameField1);
+        
+        // A different state is not served from the cache:
+        gameField2.shoot(5, 4);
+        bot2.computeNextShotLocation();
+        
+        assertEquals(1L, shotCache.getHits());
+        assertEquals(2, shotCache.size());
+    }
+    
+    @Test
+    public void tellsApartStandingHitCells() {
+        ShotCache shotCache = new ShotCache();
+        
+        // The hits (0, 0), (1, 0) and (2, 0) sink the length 2 ship either 
+        // at the left or at the right end, leaving the other end standing:
+        GameField gameField1 = createGameField(0, 2);
+        GameField gameField2 = createGameField(1, 0);
+        GameField gameField3 = createGameField(1, 0);
+        
+        BruteforceBattleshipAIBot bot1 = createBot(gameField1);
+        BruteforceBattleshipAIBot bot2 = createBot(gameField2);
+        BruteforceBattleshipAIBot bot3 = createBot(gameField3);
+        
+        bot1.setShotCache(shotCache);
+        bot2.setShotCache(shotCache);
+        
+        bot1.computeNextShotLocation();
+        bot2.computeNextShotLocation();
+        bot3.computeNextShotLocation();
+        
+        assertEquals(gameField1.getZobristHash(), gameField2.getZobristHash());
+        assertEquals(0L, shotCache.getHits());
+        assertEquals(2, shotCache.size());
+        
+        BruteforceBattleshipAIBotTest.assertSameCounters(
+                bot3.getFrequencyCounterMatrix(), 
+                bot2.getFrequencyCounterMatrix(), 
+                gameField2);
+    }
+    
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        ShotCache shotCache = new ShotCache(4, 2);
+        FrequencyCounterMatrix matrix = new FrequencyCounterMatrix(2, 2);
+        long[] shotCells = BitBoard.create(2, 2);
+        long[] hitCells = BitBoard.create(2, 2);
+        
+        for (long key = 0L; key < 10L; key++) {
+            shotCache.store(key, shotCells, hitCells, matrix);
+        }
+        
+        assertEquals(4, shotCache.size());
+        assertEquals(6L, shotCache.getEvictions());
+        assertTrue(shotCache.load(9L, shotCells, hitCells, matrix));
+        assertFalse(shotCache.load(0L, shotCells, hitCells, matrix));
+        
+        // A colliding key with different standing hit cells is a miss:
+        BitBoard.set(hitCells, 3);
+        assertFalse(shotCache.load(9L, shotCells, hitCells, matrix));
+        
+        // A colliding key with different shot cells is a miss:
+        BitBoard.clear(hitCells, 3);
+        BitBoard.set(shotCells, 3);
+        assertFalse(shotCache.load(9L, shotCells, hitCells, matrix));
+        assertEquals(3L, shotCache.getMisses());
+    }
+    
+    @Test
+    public void concurrentAccess() 
+            throws InterruptedException, ExecutionException {
+        
+        ShotCache shotCache = new ShotCache(64);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                FrequencyCounterMatrix matrix = 
+                        new FrequencyCounterMatrix(4, 4);
+                
+                long[] shotCells = BitBoard.create(4, 4);
+                long[] hitCells = BitBoard.create(4, 4);
+                
+                for (long key = 0L; key < 10_000L; key++) {
+                    if (!shotCache.load(key % 100L, 
+                                        shotCells, 
+                                        hitCells, 
+                                        matrix)) {
+                        shotCache.store(key % 100L, 
+                                        shotCells, 
+                                        hitCells, 
+                                        matrix);
+                    }
+                }
+            }));
+        }
+        
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        
+        executor.shutdown();
+        
+        assertEquals(80_000L, shotCache.getHits() + shotCache.getMisses());
+        assertTrue(shotCache.size() <= 64);
+    }
+    
+    private static GameField createGameField(int shortShipX, 
+                                             int longShipX) {
+        GameField gameField = new GameField(5, 5);
+        Ship shortShip = new Ship(2, Ship.Orientation.HORIZONTAL);
+        Ship longShip = new Ship(3, Ship.Orientation.VERTICAL);
+        shortShip.setLocation(shortShipX, 0);
+        longShip.setLocation(longShipX, 0);
+        gameField.addShip(shortShip);
+        gameField.addShip(longShip);
+        return gameField;
+    }
+    
+    private static BruteforceBattleshipAIBot createBot(GameField gameField) {
+        BruteforceBattleshipAIBot bot = 
+                new BruteforceBattleshipAIBot(gameField, 0);
+        
+        bot.setHitConstrainedSearch(true);
+        
+        for (int x = 0; x < 3; x++) {
+            bot.shoot(new MatrixCoordinates(x, 0));
+        }
+        
+        return bot;
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.coderodde.game.ai.battleship;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class TournamentTest {
+    
+    @Test
+    public void roundRobin() throws InterruptedException {
+        Tournament tournament = new Tournament(5, 5, new int[]{ 2, 3 }, 13L, 2);
+        
+        tournament.addEntrant("Random", RandomBattleshipAIBot::new);
+        tournament.addEntrant("Bruteforce", (gameField) -> {
+            BruteforceBattleshipAIBot bot = 
+                    new BruteforceBattleshipAIBot(gameField, 0);
+            
+            bot.setHitConstrainedSearch(true);
+            return bot;
+        });
+        
+        tournament.addEntrant("MonteCarlo", 
+                              (gameField) -> 
+                                      new MonteCarloBattleshipAIBot(gameField, 
+                                                                    500L));
+        
+        Tournament.Results results = tournament.run(10);
+        
+        for (int entrant = 0; entrant < 3; entrant++) {
+            assertEquals(20L, 
+                         results.getWins(entrant) + 
+                         results.getLosses(entrant) + 
+                         results.getDraws(entrant));
+        }
+        
+        assertEquals(0L, results.getWins(0, 1));
+        assertTrue(results.getWins(1) > 0L);
+        assertTrue(results.getMeanWinningShots(1) >= 5.0);
+        
+        String table = results.toString();
+        
+        assertTrue(table.contains("Bruteforce"));
+        assertEquals(4, table.split("\n").length);
+    }
+    
+    @Test(timeout = 10_000L)
+    public void drawsOnceBothSessionsAreOver() throws InterruptedException {
+        Tournament tournament = new Tournament(4, 4, new int[]{ 2 }, 17L, 1);
+        
+        // Gives up on the first move:
+        tournament.addEntrant("Quitter", (gameField) -> new BattleshipAIBot() {
+            @Override
+            public MatrixCoordinates computeNextShotLocation() {
+                return null;
+            }
+            
+            @Override
+            public void shoot(MatrixCoordinates matrixCoordinates) {
+                
+            }
+        });
+        
+        // Keeps shooting the same cell:
+        tournament.addEntrant("Stubborn", (gameField) -> new BattleshipAIBot() {
+            @Override
+            public MatrixCoordinates computeNextShotLocation() {
+                return new MatrixCoordinates(0, 0);
+            }
+            
+            @Override
+            public void shoot(MatrixCoordinates matrixCoordinates) {
+                gameField.shoot(matrixCoordinates.x, matrixCoordinates.y);
+            }
+        });
+        
+        Tournament.Results results = tournament.run(4);
+        
+        assertEquals(4L, results.getDraws(0));
+        assertEquals(4L, results.getDraws(1));
+    }
+}